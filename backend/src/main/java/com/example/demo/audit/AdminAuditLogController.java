@@ -1,7 +1,10 @@
 package com.example.demo.audit;
 
 import com.example.demo.auth.AuthService;
+import com.example.demo.config.WorkloadExecutorConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,12 +13,16 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeParseException;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/admin/audit-logs")
@@ -23,10 +30,16 @@ public class AdminAuditLogController {
 
     private final AuthService authService;
     private final AuditLogService auditLogService;
+    private final Executor reportExecutor;
 
-    public AdminAuditLogController(AuthService authService, AuditLogService auditLogService) {
+    public AdminAuditLogController(
+            AuthService authService,
+            AuditLogService auditLogService,
+            @Qualifier(WorkloadExecutorConfig.REPORT_EXECUTOR) Executor reportExecutor
+    ) {
         this.authService = authService;
         this.auditLogService = auditLogService;
+        this.reportExecutor = reportExecutor;
     }
 
     @GetMapping
@@ -67,8 +80,12 @@ public class AdminAuditLogController {
         );
     }
 
+    /**
+     * Builds the export on the report pool so large exports do not hold request threads; when the pool is
+     * saturated the request is turned away with 503.
+     */
     @GetMapping(value = "/export.csv", produces = "text/csv")
-    public ResponseEntity<String> exportCsv(
+    public CompletableFuture<ResponseEntity<String>> exportCsv(
             @RequestHeader(value = "Authorization", required = false) String authorization,
             @RequestParam(value = "action", required = false) String action,
             @RequestParam(value = "entityType", required = false) String entityType,
@@ -81,12 +98,18 @@ public class AdminAuditLogController {
         authService.requireAdmin(authorization);
         LocalDateTime fromTime = parseDateTime(from);
         LocalDateTime toTime = parseDateTime(to);
-        List<AuditLog> logs = auditLogService.search(action, entityType, entityId, actorMemberId, fromTime, toTime, limit);
-        String filename = "audit-logs-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv";
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(new MediaType("text", "csv"))
-                .body(toCsv(logs));
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                List<AuditLog> logs = auditLogService.search(action, entityType, entityId, actorMemberId, fromTime, toTime, limit);
+                String filename = "audit-logs-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv";
+                return ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                        .contentType(new MediaType("text", "csv"))
+                        .body(toCsv(logs));
+            }, reportExecutor);
+        } catch (RejectedExecutionException ex) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Report workers are busy, please retry later");
+        }
     }
 
     private String toCsv(List<AuditLog> logs) {
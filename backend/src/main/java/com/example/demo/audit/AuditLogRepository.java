@@ -6,5 +6,4 @@ import java.time.LocalDateTime;
 
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     long countByCreatedAtBefore(LocalDateTime cutoff);
-    long deleteByCreatedAtBefore(LocalDateTime cutoff);
 }
@@ -1,6 +1,9 @@
 package com.example.demo.audit;
 
 import com.example.demo.auth.Member;
+import com.example.demo.retention.RetentionEngine;
+import com.example.demo.retention.RetentionPolicies;
+import com.example.demo.retention.RetentionPolicy;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -10,6 +13,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -17,18 +21,25 @@ import java.util.List;
 public class AuditLogService {
 
     private static final String TRACE_ID_MDC_KEY = "traceId";
+    private static final long MANUAL_PURGE_BUDGET_SECONDS = 300;
 
     private final AuditLogRepository repository;
     private final ObjectMapper objectMapper;
+    private final RetentionEngine retentionEngine;
+    private final RetentionPolicy retentionPolicy;
     private final int retentionDays;
 
     public AuditLogService(
             AuditLogRepository repository,
             ObjectMapper objectMapper,
+            RetentionEngine retentionEngine,
+            RetentionPolicies retentionPolicies,
             @Value("${app.audit.retention-days:180}") int retentionDays
     ) {
         this.repository = repository;
         this.objectMapper = objectMapper;
+        this.retentionEngine = retentionEngine;
+        this.retentionPolicy = retentionPolicies.find(RetentionPolicies.AUDIT_LOGS).orElseThrow();
         this.retentionDays = retentionDays;
     }
 
@@ -124,18 +135,24 @@ public class AuditLogService {
         return trimmed.isEmpty() ? null : trimmed;
     }
 
-    @Transactional
     public PurgeResult purgeByRetentionDays() {
         return purgeOlderThanDays(retentionDays);
     }
 
-    @Transactional
+    /**
+     * Runs the audit retention policy once with {@code days}, in the engine's short chunked transactions
+     * rather than one DELETE over the whole range.
+     */
     public PurgeResult purgeOlderThanDays(int days) {
         int safeDays = Math.max(days, 1);
         LocalDateTime cutoff = LocalDateTime.now().minusDays(safeDays);
         long candidates = repository.countByCreatedAtBefore(cutoff);
-        long deleted = repository.deleteByCreatedAtBefore(cutoff);
-        return new PurgeResult(cutoff, candidates, deleted);
+        RetentionEngine.RetentionReport report = retentionEngine.purge(
+                retentionPolicy.withKeepDays(safeDays),
+                Instant.now().plusSeconds(MANUAL_PURGE_BUDGET_SECONDS),
+                false
+        );
+        return new PurgeResult(report.cutoff(), candidates, report.deletedCount());
     }
 
     public int getRetentionDays() {
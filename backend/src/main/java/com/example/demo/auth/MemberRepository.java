@@ -1,6 +1,8 @@
 package com.example.demo.auth;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
 import java.util.List;
@@ -14,4 +16,13 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     boolean existsByEmail(String email);
 
     List<Member> findByRoleIn(Collection<MemberRole> roles);
+
+    @Query("select m.id as id, m.employeeId as employeeId from Member m where m.employeeId in :employeeIds")
+    List<MemberKey> findKeysByEmployeeIdIn(@Param("employeeIds") Collection<String> employeeIds);
+
+    interface MemberKey {
+        Long getId();
+
+        String getEmployeeId();
+    }
 }
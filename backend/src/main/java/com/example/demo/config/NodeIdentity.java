@@ -0,0 +1,41 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+/**
+ * Stable id for this application instance, used to tag rows a node has claimed. Defaults to
+ * host + pid + a random suffix so restarted processes never reuse a previous owner id.
+ */
+@Component
+public class NodeIdentity {
+
+    private final String id;
+
+    public NodeIdentity(@Value("${app.node-id:}") String configuredId) {
+        String trimmed = configuredId == null ? "" : configuredId.trim();
+        this.id = trimmed.isEmpty() ? generateId() : trimmed;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    private static String generateId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown-host";
+        }
+        long pid = ManagementFactory.getRuntimeMXBean().getPid();
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        String value = host + "-" + pid + "-" + suffix;
+        return value.length() <= 120 ? value : value.substring(value.length() - 120);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.config;
+
+import com.example.demo.auth.AuthTokenService;
+import com.example.demo.auth.Member;
+import com.example.demo.auth.MemberRole;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.Principal;
+
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+
+    private final AuthTokenService authTokenService;
+
+    public StompAuthChannelInterceptor(AuthTokenService authTokenService) {
+        this.authTokenService = authTokenService;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+        try {
+            Member member = authTokenService.requireMemberByAuthorizationHeader(
+                    accessor.getFirstNativeHeader(AUTHORIZATION_HEADER)
+            );
+            accessor.setUser(new MemberPrincipal(String.valueOf(member.getId()), member.getRole()));
+        } catch (ResponseStatusException ex) {
+            throw new MessagingException(message, "Unauthorized");
+        }
+        return message;
+    }
+
+    /**
+     * STOMP session principal. The name is the member id so user destinations
+     * ({@code /user/{memberId}/queue/...}) resolve without another lookup; the role lets role-targeted
+     * pushes pick sessions from the user registry.
+     */
+    public record MemberPrincipal(String name, MemberRole role) implements Principal {
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo.config;
+
+import com.example.demo.email.EmailProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * One named, bounded pool per background workload so a slow job in one cannot starve the others. Scheduled
+ * methods pick their scheduler with {@code @Scheduled(scheduler = ...)}; anything without one runs on
+ * {@code taskScheduler}. Spring Boot binds every pool here to the {@code executor.*} meters (active, queued,
+ * pool size, completed) tagged with the bean name. On shutdown each pool stops taking work and waits up to
+ * the drain timeout for running tasks.
+ */
+@Configuration
+public class WorkloadExecutorConfig {
+
+    public static final String DEFAULT_SCHEDULER = "taskScheduler";
+    public static final String EMAIL_SCHEDULER = "emailTaskScheduler";
+    public static final String RETENTION_SCHEDULER = "retentionTaskScheduler";
+    public static final String EMAIL_DISPATCH_EXECUTOR = "emailDispatchExecutor";
+    public static final String REALTIME_EXECUTOR = "realtimeExecutor";
+    public static final String REPORT_EXECUTOR = "reportExecutor";
+
+    private final int drainTimeoutSeconds;
+
+    public WorkloadExecutorConfig(@Value("${app.executor.drain-timeout-seconds:30}") int drainTimeoutSeconds) {
+        this.drainTimeoutSeconds = Math.max(drainTimeoutSeconds, 0);
+    }
+
+    @Bean(name = DEFAULT_SCHEDULER)
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${app.executor.default-scheduler.pool-size:2}") int poolSize) {
+        return scheduler("scheduler-", poolSize);
+    }
+
+    @Bean(name = EMAIL_SCHEDULER)
+    public ThreadPoolTaskScheduler emailTaskScheduler(@Value("${app.executor.email-scheduler.pool-size:2}") int poolSize) {
+        return scheduler("email-scheduler-", poolSize);
+    }
+
+    @Bean(name = RETENTION_SCHEDULER)
+    public ThreadPoolTaskScheduler retentionTaskScheduler(@Value("${app.executor.retention.pool-size:1}") int poolSize) {
+        return scheduler("retention-", poolSize);
+    }
+
+    /**
+     * Sized to the provider's in-flight cap, since extra threads would only queue on the send throttle. A full
+     * queue runs the batch on the worker thread instead of dropping claimed jobs.
+     */
+    @Bean(name = EMAIL_DISPATCH_EXECUTOR)
+    public ThreadPoolTaskExecutor emailDispatchExecutor(
+            EmailProvider emailProvider,
+            @Value("${app.email.dispatch-concurrency:4}") int dispatchConcurrency,
+            @Value("${app.email.worker-batch-size:50}") int workerBatchSize
+    ) {
+        int poolSize = Math.max(1, Math.min(dispatchConcurrency, emailProvider.limits().maxConcurrency()));
+        return executor("email-dispatch-", poolSize, poolSize, Math.max(workerBatchSize, 1));
+    }
+
+    /**
+     * WebSocket pushes run here after commit so request threads never wait on fan-out. A full queue falls back
+     * to the caller, which slows the publisher down rather than losing events.
+     */
+    @Bean(name = REALTIME_EXECUTOR)
+    public ThreadPoolTaskExecutor realtimeExecutor(
+            @Value("${app.executor.realtime.pool-size:2}") int poolSize,
+            @Value("${app.executor.realtime.queue-capacity:1000}") int queueCapacity
+    ) {
+        return executor("realtime-", poolSize, poolSize, queueCapacity);
+    }
+
+    /**
+     * Exports and other on-demand reports. The queue is short on purpose: a request that cannot be queued is
+     * rejected instead of piling up behind long exports.
+     */
+    @Bean(name = REPORT_EXECUTOR)
+    public ThreadPoolTaskExecutor reportExecutor(
+            @Value("${app.executor.reports.pool-size:2}") int poolSize,
+            @Value("${app.executor.reports.queue-capacity:20}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = executor("report-", poolSize, poolSize, queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    private ThreadPoolTaskScheduler scheduler(String threadNamePrefix, int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix(threadNamePrefix);
+        scheduler.setPoolSize(Math.max(poolSize, 1));
+        scheduler.setRemoveOnCancelPolicy(true);
+        // Only runs already in progress are drained; triggers waiting for their next fire time are dropped.
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(drainTimeoutSeconds);
+        return scheduler;
+    }
+
+    private ThreadPoolTaskExecutor executor(String threadNamePrefix, int coreSize, int maxSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(Math.max(coreSize, 1));
+        executor.setMaxPoolSize(Math.max(maxSize, Math.max(coreSize, 1)));
+        executor.setQueueCapacity(Math.max(queueCapacity, 0));
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(drainTimeoutSeconds);
+        return executor;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.demo.email;
+
+import com.example.demo.audit.AuditLogService;
+import com.example.demo.auth.AuthService;
+import com.example.demo.auth.Member;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/email-provider/circuit")
+public class AdminEmailCircuitController {
+
+    private final AuthService authService;
+    private final EmailCircuitBreaker circuitBreaker;
+    private final AuditLogService auditLogService;
+
+    public AdminEmailCircuitController(
+            AuthService authService,
+            EmailCircuitBreaker circuitBreaker,
+            AuditLogService auditLogService
+    ) {
+        this.authService = authService;
+        this.circuitBreaker = circuitBreaker;
+        this.auditLogService = auditLogService;
+    }
+
+    @GetMapping
+    public EmailCircuitBreaker.Snapshot status(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        authService.requireAdmin(authorization);
+        return circuitBreaker.snapshot();
+    }
+
+    /**
+     * Closes the circuit immediately, e.g. after the provider confirmed an incident is over.
+     */
+    @PostMapping("/reset")
+    public EmailCircuitBreaker.Snapshot reset(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        Member admin = authService.requireAdmin(authorization);
+        EmailCircuitBreaker.Snapshot before = circuitBreaker.snapshot();
+        circuitBreaker.reset();
+        auditLogService.record(
+                admin,
+                "EMAIL_CIRCUIT_RESET",
+                "EMAIL_PROVIDER",
+                null,
+                "{\"state\":\"" + before.state() + "\"}",
+                "{\"state\":\"" + EmailCircuitBreaker.State.CLOSED + "\"}",
+                null
+        );
+        return circuitBreaker.snapshot();
+    }
+}
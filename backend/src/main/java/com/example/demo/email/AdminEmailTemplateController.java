@@ -0,0 +1,72 @@
+package com.example.demo.email;
+
+import com.example.demo.audit.AuditLogService;
+import com.example.demo.auth.AuthService;
+import com.example.demo.auth.Member;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+@RestController
+@RequestMapping("/api/admin/email-templates")
+public class AdminEmailTemplateController {
+
+    private final AuthService authService;
+    private final EmailTemplateRegistry templateRegistry;
+    private final AuditLogService auditLogService;
+
+    public AdminEmailTemplateController(
+            AuthService authService,
+            EmailTemplateRegistry templateRegistry,
+            AuditLogService auditLogService
+    ) {
+        this.authService = authService;
+        this.templateRegistry = templateRegistry;
+        this.auditLogService = auditLogService;
+    }
+
+    @GetMapping
+    public TemplateListResponse list(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        authService.requireAdmin(authorization);
+        return new TemplateListResponse(templateRegistry.version(), templateRegistry.templateIds());
+    }
+
+    /**
+     * Recompiles every template from {@code app.email.template-location}. If any file is missing or invalid
+     * the currently loaded templates stay in place.
+     */
+    @PostMapping("/reload")
+    public ReloadResponse reload(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        Member admin = authService.requireAdmin(authorization);
+        EmailTemplateRegistry.ReloadResult result;
+        try {
+            result = templateRegistry.reload();
+        } catch (IllegalStateException | IllegalArgumentException ex) {
+            throw new ResponseStatusException(UNPROCESSABLE_ENTITY, ex.getMessage());
+        }
+        auditLogService.record(
+                admin,
+                "EMAIL_TEMPLATES_RELOAD",
+                "EMAIL_TEMPLATE",
+                null,
+                null,
+                null,
+                "{\"version\":" + result.version() + ",\"templateCount\":" + result.templateCount() + "}"
+        );
+        return new ReloadResponse(result.version(), result.templateCount(), result.loadedAt());
+    }
+
+    public record TemplateListResponse(long version, List<String> templates) {
+    }
+
+    public record ReloadResponse(long version, int templateCount, LocalDateTime loadedAt) {
+    }
+}
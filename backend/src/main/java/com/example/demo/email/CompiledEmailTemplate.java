@@ -0,0 +1,83 @@
+package com.example.demo.email;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template body parsed once into alternating literal and {@code {{variable}}} segments, so rendering is a
+ * single append loop with no scanning, formatting or intermediate strings.
+ */
+final class CompiledEmailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] literals;
+    private final String[] variables;
+
+    private CompiledEmailTemplate(String[] literals, String[] variables) {
+        this.literals = literals;
+        this.variables = variables;
+    }
+
+    /**
+     * Segment {@code i} is {@code literals[i]} followed by the value of {@code variables[i]}; the final
+     * literal has no variable after it. Unclosed braces are kept as literal text.
+     */
+    static CompiledEmailTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int cursor = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, cursor);
+            int close = open < 0 ? -1 : source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) break;
+            String name = source.substring(open + OPEN.length(), close).trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Empty template variable at offset " + open);
+            }
+            literals.add(source.substring(cursor, open));
+            variables.add(name);
+            cursor = close + CLOSE.length();
+        }
+        literals.add(source.substring(cursor));
+        return new CompiledEmailTemplate(literals.toArray(String[]::new), variables.toArray(String[]::new));
+    }
+
+    void renderTo(StringBuilder out, Map<String, String> values, boolean escapeHtml) {
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+            String value = values.get(variables[i]);
+            if (value == null) continue;
+            if (escapeHtml) {
+                appendEscaped(out, value);
+            } else {
+                out.append(value);
+            }
+        }
+        out.append(literals[variables.length]);
+    }
+
+    List<String> variables() {
+        return List.of(variables);
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String entity = switch (value.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (entity == null) continue;
+            out.append(value, start, i).append(entity);
+            start = i + 1;
+        }
+        out.append(value, start, value.length());
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.demo.email;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Circuit breaker in front of the active {@link EmailProvider}. It opens when the failure rate over the last
+ * {@code window-size} sends reaches the threshold (or when the provider asks for a {@code Retry-After} pause),
+ * stops sends for the open duration, then lets a few trial sends through before closing again. Failures the
+ * provider marks as {@link EmailSendResult#rejected() rejected} are recorded as successes: the provider answered.
+ */
+@Component
+public class EmailCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(EmailCircuitBreaker.class);
+
+    private final String providerName;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final Duration openDuration;
+    private final int halfOpenTrialCalls;
+    private final Clock clock;
+
+    private final boolean[] outcomes;
+    private int outcomeCursor;
+    private int recordedCalls;
+    private int failedCalls;
+
+    private volatile State state = State.CLOSED;
+    private Instant openUntil = Instant.EPOCH;
+    private Instant stateSince;
+    private int trialPermits;
+    private int trialSuccesses;
+    private String lastError;
+
+    private final Map<State, Counter> transitions = new EnumMap<>(State.class);
+    private final Counter rejectedSends;
+
+    @Autowired
+    public EmailCircuitBreaker(
+            EmailProvider emailProvider,
+            MeterRegistry meterRegistry,
+            @Value("${app.email.circuit.window-size:20}") int windowSize,
+            @Value("${app.email.circuit.minimum-calls:10}") int minimumCalls,
+            @Value("${app.email.circuit.failure-rate-threshold:50}") int failureRateThreshold,
+            @Value("${app.email.circuit.open-duration-ms:30000}") long openDurationMs,
+            @Value("${app.email.circuit.half-open-trial-calls:3}") int halfOpenTrialCalls
+    ) {
+        this(emailProvider.providerName(), meterRegistry, windowSize, minimumCalls, failureRateThreshold,
+                Duration.ofMillis(Math.max(openDurationMs, 1000)), halfOpenTrialCalls, Clock.systemUTC());
+    }
+
+    EmailCircuitBreaker(
+            String providerName,
+            MeterRegistry meterRegistry,
+            int windowSize,
+            int minimumCalls,
+            int failureRateThreshold,
+            Duration openDuration,
+            int halfOpenTrialCalls,
+            Clock clock
+    ) {
+        this.providerName = providerName;
+        this.windowSize = Math.max(windowSize, 1);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.windowSize));
+        this.failureRateThreshold = Math.max(1, Math.min(failureRateThreshold, 100));
+        this.openDuration = openDuration;
+        this.halfOpenTrialCalls = Math.max(halfOpenTrialCalls, 1);
+        this.clock = clock;
+        this.outcomes = new boolean[this.windowSize];
+        this.stateSince = clock.instant();
+
+        Gauge.builder("email.provider.circuit.state", this, breaker -> breaker.state.ordinal())
+                .description("Email provider circuit state: 0 closed, 1 open, 2 half-open")
+                .tag("provider", providerName)
+                .register(meterRegistry);
+        for (State target : State.values()) {
+            transitions.put(target, Counter.builder("email.provider.circuit.transitions")
+                    .description("Email provider circuit state changes")
+                    .tag("provider", providerName)
+                    .tag("to", target.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.rejectedSends = Counter.builder("email.provider.circuit.short_circuited")
+                .description("Email sends skipped because the provider circuit was open")
+                .tag("provider", providerName)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the worker should claim jobs at all. False while the circuit is open and the pause has not
+     * elapsed, so jobs stay queued instead of being claimed only to be deferred.
+     */
+    public synchronized boolean allowsDispatch() {
+        return state != State.OPEN || !clock.instant().isBefore(openUntil);
+    }
+
+    /**
+     * Reserves one provider call. Returns false when the call must not be made; the caller defers the jobs
+     * until {@link #retryAt()}.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.instant().isBefore(openUntil)) {
+                rejectedSends.increment();
+                return false;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialPermits >= halfOpenTrialCalls) {
+                rejectedSends.increment();
+                return false;
+            }
+            trialPermits++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++trialSuccesses >= halfOpenTrialCalls) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure(String error, Duration retryAfter) {
+        lastError = error;
+        if (retryAfter != null && retryAfter.compareTo(Duration.ZERO) > 0) {
+            open(retryAfter.compareTo(openDuration) > 0 ? retryAfter : openDuration);
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            open(openDuration);
+            return;
+        }
+        record(true);
+        if (recordedCalls >= minimumCalls && failedCalls * 100 >= failureRateThreshold * recordedCalls) {
+            open(openDuration);
+        }
+    }
+
+    /**
+     * Earliest time deferred jobs should be retried.
+     */
+    public synchronized Instant retryAt() {
+        Instant now = clock.instant();
+        return state == State.OPEN && openUntil.isAfter(now) ? openUntil : now.plus(openDuration);
+    }
+
+    public synchronized void reset() {
+        transition(State.CLOSED);
+    }
+
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(
+                providerName,
+                state,
+                stateSince,
+                state == State.OPEN ? openUntil : null,
+                recordedCalls,
+                failedCalls,
+                recordedCalls == 0 ? 0 : failedCalls * 100 / recordedCalls,
+                lastError
+        );
+    }
+
+    private void open(Duration duration) {
+        Instant until = clock.instant().plus(duration);
+        if (state == State.OPEN && until.isBefore(openUntil)) return;
+        openUntil = until;
+        if (state != State.OPEN) {
+            transition(State.OPEN);
+        }
+    }
+
+    private void transition(State target) {
+        if (state == target) return;
+        log.warn("email provider circuit provider={} from={} to={} lastError={}", providerName, state, target, lastError);
+        state = target;
+        stateSince = clock.instant();
+        trialPermits = 0;
+        trialSuccesses = 0;
+        if (target == State.CLOSED) {
+            outcomeCursor = 0;
+            recordedCalls = 0;
+            failedCalls = 0;
+            openUntil = Instant.EPOCH;
+        }
+        transitions.get(target).increment();
+    }
+
+    private void record(boolean failed) {
+        if (recordedCalls == windowSize) {
+            if (outcomes[outcomeCursor]) failedCalls--;
+        } else {
+            recordedCalls++;
+        }
+        outcomes[outcomeCursor] = failed;
+        if (failed) failedCalls++;
+        outcomeCursor = (outcomeCursor + 1) % windowSize;
+    }
+
+    public record Snapshot(
+            String provider,
+            State state,
+            Instant stateSince,
+            Instant openUntil,
+            int windowCalls,
+            int windowFailures,
+            int failureRatePercent,
+            String lastError
+    ) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo.email;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * A reply or close event waiting to be folded into the recipient's next digest email.
+ */
+@Entity
+@Table(name = "email_digest_events")
+public class EmailDigestEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long recipientMemberId;
+
+    @Column(nullable = false, length = 320)
+    private String recipientEmail;
+
+    @Column
+    private String recipientName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 80)
+    private EmailEventType eventType;
+
+    @Column(nullable = false)
+    private Long ticketId;
+
+    @Column
+    private String ticketSubject;
+
+    @Column(nullable = false, length = 120)
+    private String actionLabel;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    protected EmailDigestEvent() {
+    }
+
+    public EmailDigestEvent(
+            Long recipientMemberId,
+            String recipientEmail,
+            String recipientName,
+            EmailEventType eventType,
+            Long ticketId,
+            String ticketSubject,
+            String actionLabel
+    ) {
+        this.recipientMemberId = recipientMemberId;
+        this.recipientEmail = recipientEmail;
+        this.recipientName = recipientName;
+        this.eventType = eventType;
+        this.ticketId = ticketId;
+        this.ticketSubject = ticketSubject;
+        this.actionLabel = actionLabel;
+    }
+
+    @PrePersist
+    void prePersist() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRecipientMemberId() {
+        return recipientMemberId;
+    }
+
+    public String getRecipientEmail() {
+        return recipientEmail;
+    }
+
+    public String getRecipientName() {
+        return recipientName;
+    }
+
+    public EmailEventType getEventType() {
+        return eventType;
+    }
+
+    public Long getTicketId() {
+        return ticketId;
+    }
+
+    public String getTicketSubject() {
+        return ticketSubject;
+    }
+
+    public String getActionLabel() {
+        return actionLabel;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
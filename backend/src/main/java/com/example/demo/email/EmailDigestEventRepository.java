@@ -0,0 +1,49 @@
+package com.example.demo.email;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailDigestEventRepository extends JpaRepository<EmailDigestEvent, Long> {
+
+    @Query("select max(e.id) from EmailDigestEvent e")
+    Long findMaxId();
+
+    /**
+     * Keyset page of recipients with events up to {@code maxId}; the builder walks recipients in id order so
+     * each batch only loads the events of the recipients it is about to send.
+     */
+    @Query("""
+            select distinct e.recipientMemberId
+            from EmailDigestEvent e
+            where e.id <= :maxId
+              and e.recipientMemberId > :afterRecipientId
+            order by e.recipientMemberId asc
+            """)
+    List<Long> findRecipientIdsAfter(
+            @Param("maxId") long maxId,
+            @Param("afterRecipientId") long afterRecipientId,
+            Pageable pageable
+    );
+
+    List<EmailDigestEvent> findByRecipientMemberIdInAndIdLessThanEqualOrderByRecipientMemberIdAscIdAsc(
+            Collection<Long> recipientMemberIds,
+            Long maxId
+    );
+
+    @Modifying
+    @Query("""
+            delete from EmailDigestEvent e
+            where e.recipientMemberId in :recipientMemberIds
+              and e.id <= :maxId
+            """)
+    int deleteByRecipientsUpTo(
+            @Param("recipientMemberIds") Collection<Long> recipientMemberIds,
+            @Param("maxId") long maxId
+    );
+}
@@ -0,0 +1,67 @@
+package com.example.demo.email;
+
+import com.example.demo.config.WorkloadExecutorConfig;
+import com.example.demo.scheduling.SchedulerLockService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Runs regardless of {@code app.email.digest.enabled} so events accumulated before digest mode was switched
+ * off are still delivered. Only one node builds digests per tick.
+ */
+@Component
+public class EmailDigestScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailDigestScheduler.class);
+
+    static final String LOCK_NAME = "email-digest";
+
+    private final EmailDigestService digestService;
+    private final SchedulerLockService lockService;
+    private final Duration lockLease;
+
+    public EmailDigestScheduler(
+            EmailDigestService digestService,
+            SchedulerLockService lockService,
+            @Value("${app.scheduler.lock.lease-seconds:600}") long lockLeaseSeconds
+    ) {
+        this.digestService = digestService;
+        this.lockService = lockService;
+        this.lockLease = Duration.ofSeconds(Math.max(lockLeaseSeconds, 30));
+    }
+
+    @Scheduled(cron = "${app.email.digest.cron:0 0 * * * *}", scheduler = WorkloadExecutorConfig.EMAIL_SCHEDULER)
+    public void sendDigests() {
+        lockService.runExclusively(LOCK_NAME, lockLease, lease -> runDigests());
+    }
+
+    private void runDigests() {
+        long startedAt = System.currentTimeMillis();
+        long maxEventId = digestService.snapshotMaxEventId();
+        if (maxEventId == 0) return;
+
+        long afterRecipientId = 0;
+        int recipients = 0;
+        int events = 0;
+        EmailDigestService.DigestBatchResult result;
+        do {
+            result = digestService.buildDigestBatch(maxEventId, afterRecipientId);
+            afterRecipientId = result.lastRecipientId();
+            recipients += result.recipientCount();
+            events += result.eventCount();
+        } while (result.hasMore());
+
+        log.info(
+                "email digest run maxEventId={} recipients={} events={} durationMs={}",
+                maxEventId,
+                recipients,
+                events,
+                System.currentTimeMillis() - startedAt
+        );
+    }
+}
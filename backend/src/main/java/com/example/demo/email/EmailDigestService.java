@@ -0,0 +1,143 @@
+package com.example.demo.email;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns accumulated {@link EmailDigestEvent}s into one {@code ticket_digest_v1} email per recipient. Each call
+ * handles one page of recipients, so a run never holds more than one page of events in memory.
+ */
+@Service
+public class EmailDigestService {
+
+    static final String TEMPLATE_KEY = "ticket_digest_v1";
+    private static final int MAX_LISTED_TICKETS = 20;
+
+    private final EmailDigestEventRepository digestEventRepository;
+    private final EmailNotificationService emailNotificationService;
+    private final EmailPayloadFactory payloadFactory;
+    private final int recipientBatchSize;
+
+    public EmailDigestService(
+            EmailDigestEventRepository digestEventRepository,
+            EmailNotificationService emailNotificationService,
+            EmailPayloadFactory payloadFactory,
+            @Value("${app.email.digest.recipient-batch-size:200}") int recipientBatchSize
+    ) {
+        this.digestEventRepository = digestEventRepository;
+        this.emailNotificationService = emailNotificationService;
+        this.payloadFactory = payloadFactory;
+        this.recipientBatchSize = Math.max(recipientBatchSize, 1);
+    }
+
+    /**
+     * Highest event id at the start of a run; events arriving during the run wait for the next window.
+     */
+    @Transactional(readOnly = true)
+    public long snapshotMaxEventId() {
+        Long maxId = digestEventRepository.findMaxId();
+        return maxId == null ? 0 : maxId;
+    }
+
+    /**
+     * Enqueues digests for the next page of recipients after {@code afterRecipientId} and deletes their
+     * events in the same transaction. The dedupe key carries the last event id, so a retried page does not
+     * send twice.
+     */
+    @Transactional
+    public DigestBatchResult buildDigestBatch(long maxEventId, long afterRecipientId) {
+        List<Long> recipientIds = digestEventRepository.findRecipientIdsAfter(
+                maxEventId,
+                afterRecipientId,
+                PageRequest.of(0, recipientBatchSize)
+        );
+        if (recipientIds.isEmpty()) {
+            return new DigestBatchResult(afterRecipientId, 0, 0, false);
+        }
+
+        Map<Long, List<EmailDigestEvent>> byRecipient = new LinkedHashMap<>();
+        digestEventRepository.findByRecipientMemberIdInAndIdLessThanEqualOrderByRecipientMemberIdAscIdAsc(recipientIds, maxEventId)
+                .forEach(event -> byRecipient.computeIfAbsent(event.getRecipientMemberId(), id -> new ArrayList<>()).add(event));
+
+        List<EmailJobRequest> requests = new ArrayList<>(byRecipient.size());
+        int eventCount = 0;
+        for (List<EmailDigestEvent> events : byRecipient.values()) {
+            requests.add(toRequest(events));
+            eventCount += events.size();
+        }
+        emailNotificationService.enqueueBatch(requests);
+        digestEventRepository.deleteByRecipientsUpTo(recipientIds, maxEventId);
+
+        return new DigestBatchResult(
+                recipientIds.get(recipientIds.size() - 1),
+                byRecipient.size(),
+                eventCount,
+                recipientIds.size() >= recipientBatchSize
+        );
+    }
+
+    private EmailJobRequest toRequest(List<EmailDigestEvent> events) {
+        EmailDigestEvent latest = events.get(events.size() - 1);
+        Map<Long, TicketSummary> tickets = new LinkedHashMap<>();
+        for (EmailDigestEvent event : events) {
+            tickets.computeIfAbsent(event.getTicketId(), id -> new TicketSummary(event.getTicketSubject()))
+                    .add(event.getActionLabel());
+        }
+
+        StringBuilder items = new StringBuilder();
+        int listed = 0;
+        for (Map.Entry<Long, TicketSummary> ticket : tickets.entrySet()) {
+            if (listed == MAX_LISTED_TICKETS) {
+                items.append("…另有 ").append(tickets.size() - listed).append(" 張工單有更新\n");
+                break;
+            }
+            items.append("#").append(ticket.getKey()).append(" ").append(ticket.getValue().describe()).append('\n');
+            listed++;
+        }
+
+        return EmailJobRequest.of(
+                EmailEventType.TICKET_DIGEST,
+                latest.getRecipientMemberId(),
+                latest.getRecipientEmail(),
+                TEMPLATE_KEY,
+                payloadFactory.payloadForDigest(latest.getRecipientName(), events.size(), tickets.size(), items.toString().strip()),
+                "ticket_digest:" + latest.getRecipientMemberId() + ":" + latest.getId()
+        );
+    }
+
+    private static final class TicketSummary {
+
+        private final String subject;
+        private final Map<String, Integer> labelCounts = new LinkedHashMap<>();
+
+        private TicketSummary(String subject) {
+            this.subject = subject;
+        }
+
+        private void add(String label) {
+            labelCounts.merge(label, 1, Integer::sum);
+        }
+
+        private String describe() {
+            StringBuilder text = new StringBuilder(subject == null ? "(no subject)" : subject).append("：");
+            boolean first = true;
+            for (Map.Entry<String, Integer> label : labelCounts.entrySet()) {
+                if (!first) text.append("、");
+                text.append(label.getKey());
+                if (label.getValue() > 1) text.append(" ×").append(label.getValue());
+                first = false;
+            }
+            return text.toString();
+        }
+    }
+
+    public record DigestBatchResult(long lastRecipientId, int recipientCount, int eventCount, boolean hasMore) {
+    }
+}
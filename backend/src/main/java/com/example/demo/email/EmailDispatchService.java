@@ -1,27 +1,54 @@
 package com.example.demo.email;
 
+import com.example.demo.config.NodeIdentity;
+import com.example.demo.config.WorkloadExecutorConfig;
+import com.example.demo.scheduling.SchedulerLockService;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class EmailDispatchService {
 
-    private static final List<EmailJobStatus> DISPATCHABLE_STATUSES = List.of(EmailJobStatus.PENDING, EmailJobStatus.RETRYING);
+    private static final Logger log = LoggerFactory.getLogger(EmailDispatchService.class);
+    private static final double RETRY_JITTER = 0.25;
+    private static final long DEFER_JITTER_SECONDS = 10;
+    static final String WORKER_GROUP = "email-worker";
 
     private final EmailNotificationJobRepository jobRepository;
     private final EmailDeliveryLogRepository deliveryLogRepository;
     private final EmailProvider emailProvider;
     private final ObjectMapper objectMapper;
     private final EmailTemplateService emailTemplateService;
+    private final EmailJobClaimService claimService;
+    private final NodeIdentity nodeIdentity;
     private final int workerBatchSize;
+    private final EmailSendThrottle sendThrottle;
+    private final EmailCircuitBreaker circuitBreaker;
+    private final SchedulerLockService lockService;
+    private final Duration partitionTtl;
+    private final Executor dispatchExecutor;
+    private final Timer enqueueToSendTimer;
 
     public EmailDispatchService(
             EmailNotificationJobRepository jobRepository,
@@ -29,89 +56,234 @@ public class EmailDispatchService {
             EmailProvider emailProvider,
             ObjectMapper objectMapper,
             EmailTemplateService emailTemplateService,
-            @Value("${app.email.worker-batch-size:50}") int workerBatchSize
+            EmailJobClaimService claimService,
+            NodeIdentity nodeIdentity,
+            EmailCircuitBreaker circuitBreaker,
+            SchedulerLockService lockService,
+            @Qualifier(WorkloadExecutorConfig.EMAIL_DISPATCH_EXECUTOR) Executor dispatchExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${app.email.worker-batch-size:50}") int workerBatchSize,
+            @Value("${app.scheduler.partition-ttl-seconds:30}") long partitionTtlSeconds
     ) {
         this.jobRepository = jobRepository;
         this.deliveryLogRepository = deliveryLogRepository;
         this.emailProvider = emailProvider;
         this.objectMapper = objectMapper;
         this.emailTemplateService = emailTemplateService;
+        this.claimService = claimService;
+        this.nodeIdentity = nodeIdentity;
+        this.circuitBreaker = circuitBreaker;
+        this.lockService = lockService;
+        this.partitionTtl = Duration.ofSeconds(Math.max(partitionTtlSeconds, 5));
         this.workerBatchSize = workerBatchSize;
+        this.sendThrottle = new EmailSendThrottle(emailProvider.limits());
+        this.dispatchExecutor = dispatchExecutor;
+        this.enqueueToSendTimer = Timer.builder("email.jobs.enqueue_to_send")
+                .description("Time from job enqueue to successful provider send")
+                .tag("provider", emailProvider.providerName())
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
     }
 
     @Transactional(readOnly = true)
     public List<EmailNotificationJob> findDispatchableJobs() {
-        List<EmailNotificationJob> jobs = jobRepository.findDispatchableJobs(DISPATCHABLE_STATUSES, LocalDateTime.now());
-        if (jobs.size() <= workerBatchSize) return jobs;
-        return jobs.subList(0, workerBatchSize);
+        return jobRepository.findDispatchableJobs(
+                EmailJobClaimService.DISPATCHABLE_STATUSES,
+                LocalDateTime.now(),
+                PageRequest.of(0, workerBatchSize)
+        );
     }
 
-    public void dispatchPendingJobs() {
-        List<EmailNotificationJob> jobs = findDispatchableJobs();
-        for (EmailNotificationJob job : jobs) {
-            dispatchSingleJob(job.getId());
-        }
+    /**
+     * Claims and sends one batch; returns how many jobs were claimed. Nothing is claimed while the provider
+     * circuit is open. Every node runs the worker; each claims from its own partition of the queue first.
+     */
+    public int dispatchPendingJobs() {
+        if (!circuitBreaker.allowsDispatch()) return 0;
+        String ownerId = nodeIdentity.id();
+        List<Long> claimedJobIds = claimService.claimBatch(ownerId, workerBatchSize, lockService.partition(WORKER_GROUP, partitionTtl));
+        if (claimedJobIds.isEmpty()) return 0;
+        dispatchClaimedJobs(claimedJobIds, ownerId);
+        return claimedJobIds.size();
     }
 
-    @Transactional
     public void dispatchSingleJob(Long jobId) {
-        Optional<EmailNotificationJob> optional = jobRepository.findById(jobId);
-        if (optional.isEmpty()) return;
+        String ownerId = nodeIdentity.id();
+        if (!claimService.claimSingle(jobId, ownerId)) return;
+        dispatchClaimedJobs(List.of(jobId), ownerId);
+    }
 
-        EmailNotificationJob job = optional.get();
-        if (job.getStatus() != EmailJobStatus.PENDING && job.getStatus() != EmailJobStatus.RETRYING) {
-            return;
+    /**
+     * Renders every claimed job, groups jobs whose rendered content is identical into provider batches and
+     * sends the batches on the dispatch pool. Each job still finishes its own lease and delivery log, so one
+     * slow or failing batch does not hold the others.
+     */
+    private void dispatchClaimedJobs(List<Long> jobIds, String ownerId) {
+        Map<ContentKey, List<RenderedJob>> byContent = new LinkedHashMap<>();
+        for (EmailNotificationJob job : jobRepository.findAllById(jobIds)) {
+            if (job.getStatus() != EmailJobStatus.PROCESSING || !ownerId.equals(job.getLeaseOwner())) {
+                continue;
+            }
+            EmailMessage message;
+            try {
+                Map<String, Object> payload = objectMapper.readValue(job.getPayloadJson(), new TypeReference<>() {
+                });
+                message = emailTemplateService.renderMessage(job.getTemplateKey(), job.getLocale(), payload, job.getRecipientEmail());
+            } catch (Exception ex) {
+                recordFailure(job, ownerId, ex.getMessage(), null);
+                continue;
+            }
+            byContent.computeIfAbsent(ContentKey.of(job, message), key -> new ArrayList<>())
+                    .add(new RenderedJob(job, message));
+        }
+
+        int maxBatchSize = Math.max(emailProvider.maxBatchSize(), 1);
+        List<CompletableFuture<?>> sends = new ArrayList<>();
+        for (List<RenderedJob> group : byContent.values()) {
+            for (int from = 0; from < group.size(); from += maxBatchSize) {
+                List<RenderedJob> batch = group.subList(from, Math.min(from + maxBatchSize, group.size()));
+                sends.add(CompletableFuture.runAsync(() -> sendBatch(batch, ownerId), dispatchExecutor)
+                        .exceptionally(ex -> {
+                            log.error("email dispatch failed jobIds={} owner={}", batch.stream().map(r -> r.job().getId()).toList(), ownerId, ex);
+                            return null;
+                        }));
+            }
         }
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+    }
 
-        job.markProcessing();
-        jobRepository.save(job);
+    private void sendBatch(List<RenderedJob> batch, String ownerId) {
+        if (!circuitBreaker.tryAcquire()) {
+            LocalDateTime retryAt = LocalDateTime.ofInstant(circuitBreaker.retryAt(), ZoneId.systemDefault());
+            for (RenderedJob rendered : batch) {
+                rendered.job().markDeferred(
+                        "Provider circuit open",
+                        retryAt.plusSeconds(ThreadLocalRandom.current().nextLong(DEFER_JITTER_SECONDS + 1))
+                );
+                finishLease(rendered.job(), ownerId);
+            }
+            return;
+        }
 
+        List<EmailMessage> messages = batch.stream().map(RenderedJob::message).toList();
+        List<EmailSendResult> results;
         try {
-            Map<String, Object> payload = objectMapper.readValue(job.getPayloadJson(), new TypeReference<>() {
-            });
-            EmailMessage message = emailTemplateService.renderMessage(job.getTemplateKey(), payload, job.getRecipientEmail());
-            String providerMessageId = emailProvider.send(message);
-            job.markSent(providerMessageId);
-            jobRepository.save(job);
-
-            deliveryLogRepository.save(new EmailDeliveryLog(
-                    job.getId(),
-                    job.getEventType().name(),
-                    job.getRecipientEmail(),
-                    job.getTemplateKey(),
-                    emailProvider.providerName(),
-                    providerMessageId,
-                    true,
-                    null,
-                    null,
-                    job.getTraceId()
-            ));
+            results = sendThrottle.execute(() -> messages.size() == 1
+                    ? List.of(EmailSendResult.sent(emailProvider.send(messages.get(0))))
+                    : emailProvider.sendBatch(messages));
         } catch (Exception ex) {
-            int nextAttempt = job.getAttempts() + 1;
-            LocalDateTime nextRetryAt = LocalDateTime.now().plusMinutes(retryDelayMinutes(nextAttempt));
-            job.markFailedAttempt(ex.getMessage(), nextRetryAt);
-            jobRepository.save(job);
-
-            deliveryLogRepository.save(new EmailDeliveryLog(
-                    job.getId(),
-                    job.getEventType().name(),
-                    job.getRecipientEmail(),
-                    job.getTemplateKey(),
-                    emailProvider.providerName(),
-                    null,
-                    false,
-                    "SEND_FAILED",
-                    ex.getMessage(),
-                    job.getTraceId()
-            ));
+            results = Collections.nCopies(messages.size(), EmailSendResult.failed(ex));
+        }
+
+        // Settle the breaker permit from the provider outcome alone, so a failing lease or log write cannot
+        // leak a half-open trial permit and leave the circuit with none to hand out.
+        EmailSendResult providerFailure = null;
+        for (int i = 0; i < batch.size() && providerFailure == null; i++) {
+            EmailSendResult result = resultAt(results, i);
+            if (!result.success() && !result.rejected()) providerFailure = result;
+        }
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                EmailNotificationJob job = batch.get(i).job();
+                EmailSendResult result = resultAt(results, i);
+                if (result.success()) {
+                    recordSuccess(job, ownerId, result.providerMessageId());
+                } else {
+                    recordFailure(job, ownerId, result.error(), result.retryAfter());
+                }
+            }
+        } finally {
+            if (providerFailure == null) {
+                circuitBreaker.onSuccess();
+            } else {
+                circuitBreaker.onFailure(providerFailure.error(), providerFailure.retryAfter());
+            }
         }
     }
 
-    private long retryDelayMinutes(int attempt) {
+    private static EmailSendResult resultAt(List<EmailSendResult> results, int index) {
+        return index < results.size() ? results.get(index) : EmailSendResult.failed("Missing provider result");
+    }
+
+    private void recordSuccess(EmailNotificationJob job, String ownerId, String providerMessageId) {
+        job.markSent(providerMessageId);
+        finishLease(job, ownerId);
+        enqueueToSendTimer.record(Duration.between(job.getCreatedAt(), job.getSentAt()));
+
+        deliveryLogRepository.save(new EmailDeliveryLog(
+                job.getId(),
+                job.getEventType().name(),
+                job.getRecipientEmail(),
+                job.getTemplateKey(),
+                emailProvider.providerName(),
+                providerMessageId,
+                true,
+                null,
+                null,
+                job.getTraceId()
+        ));
+    }
+
+    private void recordFailure(EmailNotificationJob job, String ownerId, String error, Duration retryAfter) {
+        job.markFailedAttempt(error, LocalDateTime.now().plus(retryDelay(job.getAttempts() + 1, retryAfter)));
+        finishLease(job, ownerId);
+
+        deliveryLogRepository.save(new EmailDeliveryLog(
+                job.getId(),
+                job.getEventType().name(),
+                job.getRecipientEmail(),
+                job.getTemplateKey(),
+                emailProvider.providerName(),
+                null,
+                false,
+                "SEND_FAILED",
+                error,
+                job.getTraceId()
+        ));
+    }
+
+    private void finishLease(EmailNotificationJob job, String ownerId) {
+        if (!claimService.finish(job, ownerId)) {
+            // The send already happened; the delivery log still records it even though the job was requeued.
+            log.warn("email job lease lost jobId={} owner={} outcome={}", job.getId(), ownerId, job.getStatus());
+        }
+    }
+
+    /**
+     * Backoff ladder spread by +/-25% so jobs that failed together do not retry together. A provider
+     * {@code Retry-After} longer than the ladder step wins, with the same spread added on top.
+     */
+    static Duration retryDelay(int attempt, Duration retryAfter) {
+        long baseSeconds = retryDelayMinutes(attempt) * 60;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delaySeconds = random.nextLong(
+                Math.round(baseSeconds * (1 - RETRY_JITTER)),
+                Math.round(baseSeconds * (1 + RETRY_JITTER)) + 1
+        );
+        if (retryAfter != null && retryAfter.toSeconds() > delaySeconds) {
+            long hinted = retryAfter.toSeconds();
+            delaySeconds = hinted + random.nextLong(Math.round(hinted * RETRY_JITTER) + 1);
+        }
+        return Duration.ofSeconds(delaySeconds);
+    }
+
+    private static long retryDelayMinutes(int attempt) {
         if (attempt <= 1) return 1;
         if (attempt == 2) return 5;
         if (attempt == 3) return 15;
         if (attempt == 4) return 60;
         return 360;
     }
+
+    private record RenderedJob(EmailNotificationJob job, EmailMessage message) {
+    }
+
+    /**
+     * Jobs batch together only when everything but the recipient renders identically.
+     */
+    private record ContentKey(String templateKey, String locale, String subject, String htmlBody, String textBody) {
+        static ContentKey of(EmailNotificationJob job, EmailMessage message) {
+            return new ContentKey(job.getTemplateKey(), job.getLocale(), message.subject(), message.htmlBody(), message.textBody());
+        }
+    }
 }
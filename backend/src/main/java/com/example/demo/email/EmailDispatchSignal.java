@@ -0,0 +1,79 @@
+package com.example.demo.email;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wakes email workers when jobs are enqueued. Local workers are released after the enqueuing transaction
+ * commits; on PostgreSQL a {@code NOTIFY} is issued inside the transaction, which the database only
+ * delivers to other nodes' {@link EmailJobNotifyListener} once it commits.
+ */
+@Component
+public class EmailDispatchSignal {
+
+    private final Semaphore wakeups = new Semaphore(0);
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+    private final boolean postgres;
+
+    public EmailDispatchSignal(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.email.notify-channel:email_jobs}") String channel
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = channel;
+        this.postgres = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())));
+    }
+
+    public void signalAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notifyPeers();
+            signal();
+            return;
+        }
+        notifyPeers();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                signal();
+            }
+        });
+    }
+
+    public void signal() {
+        // Collapse bursts: one pending permit is enough to make the worker run another claim pass.
+        if (wakeups.availablePermits() == 0) {
+            wakeups.release();
+        }
+    }
+
+    /**
+     * Waits up to {@code timeoutMillis} for a signal; returns true when woken by one rather than the timeout.
+     */
+    public boolean await(long timeoutMillis) throws InterruptedException {
+        boolean signalled = wakeups.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        wakeups.drainPermits();
+        return signalled;
+    }
+
+    boolean isPostgres() {
+        return postgres;
+    }
+
+    String channel() {
+        return channel;
+    }
+
+    private void notifyPeers() {
+        if (!postgres) return;
+        jdbcTemplate.execute("NOTIFY " + channel);
+    }
+}
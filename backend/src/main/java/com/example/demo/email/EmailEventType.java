@@ -1,9 +1,20 @@
 package com.example.demo.email;
 
 public enum EmailEventType {
-    USER_REGISTERED,
-    TICKET_CREATED,
-    TICKET_REPLIED,
-    TICKET_CLOSED,
-    TICKET_URGENT_SUPERVISOR_REQUIRED
+    USER_REGISTERED(EmailPriority.LOW),
+    TICKET_CREATED(EmailPriority.NORMAL),
+    TICKET_REPLIED(EmailPriority.NORMAL),
+    TICKET_CLOSED(EmailPriority.NORMAL),
+    TICKET_URGENT_SUPERVISOR_REQUIRED(EmailPriority.HIGH),
+    TICKET_DIGEST(EmailPriority.NORMAL);
+
+    private final EmailPriority priority;
+
+    EmailEventType(EmailPriority priority) {
+        this.priority = priority;
+    }
+
+    public EmailPriority priority() {
+        return priority;
+    }
 }
@@ -0,0 +1,98 @@
+package com.example.demo.email;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Multi-row insert for {@code notification_jobs} that skips rows whose dedupe key already exists, without
+ * raising a constraint violation that would abort the caller's transaction.
+ */
+@Repository
+public class EmailJobBatchInserter {
+
+    /**
+     * Keeps one statement well under PostgreSQL's 32767 bind parameter limit.
+     */
+    private static final int MAX_ROWS_PER_STATEMENT = 500;
+
+    private static final String INSERT_PREFIX = """
+            insert into notification_jobs (
+                event_type, priority, recipient_member_id, recipient_email, template_key, locale, payload_json,
+                dedupe_key, coalesce_key, trace_id, status, attempts, max_attempts,
+                next_retry_at, created_at, updated_at
+            ) values
+            """;
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'PENDING', 0, 5, ?, ?, ?)";
+    private static final String INSERT_SUFFIX = """
+
+            on conflict (dedupe_key) where dedupe_key is not null do nothing
+            returning id, dedupe_key
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmailJobBatchInserter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the rows and returns the ones that were created; rows skipped as duplicates are absent.
+     */
+    public List<InsertedJob> insertIgnoringDuplicates(List<Row> rows) {
+        List<InsertedJob> inserted = new ArrayList<>(rows.size());
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Row> chunk = rows.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, rows.size()));
+            StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+            List<Object> args = new ArrayList<>(chunk.size() * 13);
+            for (int i = 0; i < chunk.size(); i++) {
+                if (i > 0) sql.append(",\n");
+                sql.append(ROW_PLACEHOLDERS);
+                Row row = chunk.get(i);
+                Timestamp createdAt = Timestamp.valueOf(row.createdAt());
+                args.add(row.eventType().name());
+                args.add(row.eventType().priority().name());
+                args.add(row.recipientMemberId());
+                args.add(row.recipientEmail());
+                args.add(row.templateKey());
+                args.add(row.locale());
+                args.add(row.payloadJson());
+                args.add(row.dedupeKey());
+                args.add(row.coalesceKey());
+                args.add(row.traceId());
+                args.add(Timestamp.valueOf(row.dispatchAfter()));
+                args.add(createdAt);
+                args.add(createdAt);
+            }
+            sql.append(INSERT_SUFFIX);
+            inserted.addAll(jdbcTemplate.query(
+                    sql.toString(),
+                    (rs, rowNum) -> new InsertedJob(rs.getLong("id"), rs.getString("dedupe_key")),
+                    args.toArray()
+            ));
+        }
+        return inserted;
+    }
+
+    public record Row(
+            EmailEventType eventType,
+            Long recipientMemberId,
+            String recipientEmail,
+            String templateKey,
+            String locale,
+            String payloadJson,
+            String dedupeKey,
+            String coalesceKey,
+            String traceId,
+            LocalDateTime dispatchAfter,
+            LocalDateTime createdAt
+    ) {
+    }
+
+    public record InsertedJob(Long id, String dedupeKey) {
+    }
+}
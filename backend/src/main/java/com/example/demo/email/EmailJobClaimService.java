@@ -0,0 +1,154 @@
+package com.example.demo.email;
+
+import com.example.demo.scheduling.WorkPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class EmailJobClaimService {
+
+    static final List<EmailJobStatus> DISPATCHABLE_STATUSES = List.of(EmailJobStatus.PENDING, EmailJobStatus.RETRYING);
+
+    private final EmailNotificationJobRepository jobRepository;
+    private final long leaseSeconds;
+    private final Map<EmailPriority, Integer> laneWeights = new EnumMap<>(EmailPriority.class);
+
+    public EmailJobClaimService(
+            EmailNotificationJobRepository jobRepository,
+            @Value("${app.email.lease-seconds:300}") long leaseSeconds,
+            @Value("${app.email.lane-weight.high:6}") int highWeight,
+            @Value("${app.email.lane-weight.normal:3}") int normalWeight,
+            @Value("${app.email.lane-weight.low:1}") int lowWeight
+    ) {
+        this.jobRepository = jobRepository;
+        this.leaseSeconds = Math.max(leaseSeconds, 30);
+        this.laneWeights.put(EmailPriority.HIGH, Math.max(highWeight, 1));
+        this.laneWeights.put(EmailPriority.NORMAL, Math.max(normalWeight, 1));
+        this.laneWeights.put(EmailPriority.LOW, Math.max(lowWeight, 1));
+    }
+
+    /**
+     * Locks up to {@code limit} due jobs with {@code FOR UPDATE SKIP LOCKED} and moves them to PROCESSING
+     * under {@code ownerId} in the same transaction, so concurrent workers on any node claim disjoint batches.
+     * Each claim is a lease: if the owner dies before finishing, {@link EmailJobLeaseReaper} requeues the job
+     * after {@code app.email.lease-seconds}.
+     * <p>
+     * The batch is split across priority lanes by {@code app.email.lane-weight.*}, each lane getting at least
+     * one slot, so a backlog of bulk mail cannot starve the others. Slots a lane cannot fill are handed out
+     * again in priority order, so urgent mail drains first whenever there is spare capacity.
+     * <p>
+     * The lane pass only looks at this node's {@code partition}, so nodes do not compete for the same rows.
+     * The spare pass covers every partition, which also picks up the share of a node that just left.
+     */
+    @Transactional
+    public List<Long> claimBatch(String ownerId, int limit, WorkPartition partition) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plusSeconds(leaseSeconds);
+        int batchLimit = Math.max(limit, 1);
+        List<Long> claimed = new ArrayList<>(batchLimit);
+
+        for (Map.Entry<EmailPriority, Integer> quota : laneQuotas(batchLimit).entrySet()) {
+            claimed.addAll(claimLane(quota.getKey(), quota.getValue(), partition, ownerId, now, leaseUntil));
+        }
+        if (claimed.size() < batchLimit) {
+            // Jobs claimed above are PROCESSING once flushed, so the second pass only sees unclaimed rows.
+            jobRepository.flush();
+            for (EmailPriority lane : EmailPriority.values()) {
+                int spare = batchLimit - claimed.size();
+                if (spare <= 0) break;
+                claimed.addAll(claimLane(lane, spare, WorkPartition.WHOLE, ownerId, now, leaseUntil));
+            }
+        }
+        return claimed;
+    }
+
+    @Transactional
+    public boolean claimSingle(Long jobId, String ownerId) {
+        LocalDateTime now = LocalDateTime.now();
+        return jobRepository.claimIfDispatchable(jobId, DISPATCHABLE_STATUSES, ownerId, now.plusSeconds(leaseSeconds), now) > 0;
+    }
+
+    /**
+     * Persists the job's outcome if {@code ownerId} still holds its lease. Returns false when the lease
+     * expired and the reaper already requeued the job.
+     */
+    @Transactional
+    public boolean finish(EmailNotificationJob job, String ownerId) {
+        return jobRepository.finishLease(
+                job.getId(),
+                ownerId,
+                job.getStatus(),
+                job.getAttempts(),
+                job.getLastError(),
+                job.getNextRetryAt(),
+                job.getProviderMessageId(),
+                job.getSentAt(),
+                LocalDateTime.now()
+        ) > 0;
+    }
+
+    @Transactional
+    public ReclaimResult reclaimExpiredBatch(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime legacyCutoff = now.minusSeconds(leaseSeconds);
+        int retrying = jobRepository.reclaimExpiredLeases(now, legacyCutoff, batchSize);
+        int failed = jobRepository.failExpiredLeases(now, legacyCutoff, batchSize);
+        return new ReclaimResult(retrying, failed);
+    }
+
+    /**
+     * Splits {@code limit} by lane weight, at least one slot per lane while slots remain, rounding in favour
+     * of higher lanes.
+     */
+    Map<EmailPriority, Integer> laneQuotas(int limit) {
+        int totalWeight = laneWeights.values().stream().mapToInt(Integer::intValue).sum();
+        Map<EmailPriority, Integer> quotas = new EnumMap<>(EmailPriority.class);
+        int assigned = 0;
+        for (EmailPriority lane : EmailPriority.values()) {
+            int quota = Math.min(Math.max(1, limit * laneWeights.get(lane) / totalWeight), limit - assigned);
+            quotas.put(lane, quota);
+            assigned += quota;
+        }
+        for (EmailPriority lane : EmailPriority.values()) {
+            if (assigned >= limit) break;
+            quotas.merge(lane, 1, Integer::sum);
+            assigned++;
+        }
+        return quotas;
+    }
+
+    private List<Long> claimLane(
+            EmailPriority lane,
+            int limit,
+            WorkPartition partition,
+            String ownerId,
+            LocalDateTime now,
+            LocalDateTime leaseUntil
+    ) {
+        if (limit <= 0) return List.of();
+        List<EmailNotificationJob> jobs = jobRepository.lockDispatchableJobs(
+                lane,
+                DISPATCHABLE_STATUSES,
+                now,
+                partition.count(),
+                partition.index(),
+                PageRequest.of(0, limit)
+        );
+        jobs.forEach(job -> job.markClaimed(ownerId, leaseUntil));
+        return jobs.stream().map(EmailNotificationJob::getId).toList();
+    }
+
+    public record ReclaimResult(int retryingCount, int failedCount) {
+        public int total() {
+            return retryingCount + failedCount;
+        }
+    }
+}
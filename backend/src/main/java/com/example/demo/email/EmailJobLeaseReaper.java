@@ -0,0 +1,76 @@
+package com.example.demo.email;
+
+import com.example.demo.config.WorkloadExecutorConfig;
+import com.example.demo.scheduling.SchedulerLockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class EmailJobLeaseReaper {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailJobLeaseReaper.class);
+
+    static final String LOCK_NAME = "email-lease-reaper";
+
+    private final EmailJobClaimService claimService;
+    private final SchedulerLockService lockService;
+    private final Duration lockLease;
+    private final int batchSize;
+    private final Counter retryingCounter;
+    private final Counter failedCounter;
+
+    public EmailJobLeaseReaper(
+            EmailJobClaimService claimService,
+            SchedulerLockService lockService,
+            MeterRegistry meterRegistry,
+            @Value("${app.email.lease-reaper-batch-size:200}") int batchSize,
+            @Value("${app.scheduler.lock.lease-seconds:600}") long lockLeaseSeconds
+    ) {
+        this.claimService = claimService;
+        this.lockService = lockService;
+        this.lockLease = Duration.ofSeconds(Math.max(lockLeaseSeconds, 30));
+        this.batchSize = Math.max(batchSize, 1);
+        this.retryingCounter = Counter.builder("email.jobs.lease.reclaimed")
+                .description("Expired PROCESSING email jobs returned by the lease reaper")
+                .tag("outcome", "retrying")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("email.jobs.lease.reclaimed")
+                .description("Expired PROCESSING email jobs returned by the lease reaper")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.lease-reaper-fixed-delay-ms:60000}", scheduler = WorkloadExecutorConfig.EMAIL_SCHEDULER)
+    public void reclaimExpiredLeases() {
+        lockService.runExclusively(LOCK_NAME, lockLease, lease -> reclaimAll());
+    }
+
+    private void reclaimAll() {
+        long startedAt = System.currentTimeMillis();
+        int retrying = 0;
+        int failed = 0;
+        EmailJobClaimService.ReclaimResult result;
+        do {
+            result = claimService.reclaimExpiredBatch(batchSize);
+            retrying += result.retryingCount();
+            failed += result.failedCount();
+        } while (result.retryingCount() >= batchSize || result.failedCount() >= batchSize);
+
+        if (retrying + failed == 0) return;
+        retryingCounter.increment(retrying);
+        failedCounter.increment(failed);
+        log.warn(
+                "email lease reaper reclaimed retrying={} failed={} durationMs={}",
+                retrying,
+                failed,
+                System.currentTimeMillis() - startedAt
+        );
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo.email;
+
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * Holds one dedicated pooled connection in {@code LISTEN} on the email job channel and turns notifications
+ * from other nodes into local {@link EmailDispatchSignal} wakeups. Only runs on PostgreSQL.
+ */
+@Component
+public class EmailJobNotifyListener {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailJobNotifyListener.class);
+    private static final int POLL_TIMEOUT_MS = 10000;
+    private static final long RECONNECT_DELAY_MS = 5000;
+
+    private final DataSource dataSource;
+    private final EmailDispatchSignal dispatchSignal;
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public EmailJobNotifyListener(DataSource dataSource, EmailDispatchSignal dispatchSignal) {
+        this.dataSource = dataSource;
+        this.dispatchSignal = dispatchSignal;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!dispatchSignal.isPostgres() || running) return;
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "email-notify-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + dispatchSignal.channel());
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("email notify listener started channel={}", dispatchSignal.channel());
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null && notifications.length > 0) {
+                        dispatchSignal.signal();
+                    }
+                }
+            } catch (Exception ex) {
+                if (!running) return;
+                log.warn("email notify listener disconnected channel={} error={}", dispatchSignal.channel(), ex.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demo.email;
+
+import java.util.Map;
+
+/**
+ * One email to enqueue. {@code dedupeKey} makes the enqueue idempotent; {@code coalesceKey} lets a later
+ * request with the same key replace the payload of a job that is still pending.
+ */
+public record EmailJobRequest(
+        EmailEventType eventType,
+        Long recipientMemberId,
+        String recipientEmail,
+        String templateKey,
+        Map<String, Object> payload,
+        String dedupeKey,
+        String coalesceKey
+) {
+    public static EmailJobRequest of(
+            EmailEventType eventType,
+            Long recipientMemberId,
+            String recipientEmail,
+            String templateKey,
+            Map<String, Object> payload,
+            String dedupeKey
+    ) {
+        return new EmailJobRequest(eventType, recipientMemberId, recipientEmail, templateKey, payload, dedupeKey, null);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.email;
+
+import com.example.demo.config.WorkloadExecutorConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples due-job depth and oldest due-job age per priority lane on a schedule, so metric scrapes read
+ * cached values instead of querying {@code notification_jobs}.
+ */
+@Component
+public class EmailLaneMetrics {
+
+    private final EmailNotificationJobRepository jobRepository;
+    private final Map<EmailPriority, AtomicLong> depth = new EnumMap<>(EmailPriority.class);
+    private final Map<EmailPriority, AtomicLong> oldestAgeSeconds = new EnumMap<>(EmailPriority.class);
+
+    public EmailLaneMetrics(EmailNotificationJobRepository jobRepository, MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        for (EmailPriority lane : EmailPriority.values()) {
+            String tag = lane.name().toLowerCase();
+            depth.put(lane, new AtomicLong());
+            oldestAgeSeconds.put(lane, new AtomicLong());
+            Gauge.builder("email.jobs.queue.depth", depth.get(lane), AtomicLong::get)
+                    .description("Due PENDING/RETRYING email jobs per priority lane")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            Gauge.builder("email.jobs.queue.oldest_age_seconds", oldestAgeSeconds.get(lane), AtomicLong::get)
+                    .description("Age of the oldest due email job per priority lane")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.lane-metrics-fixed-delay-ms:15000}", scheduler = WorkloadExecutorConfig.EMAIL_SCHEDULER)
+    public void sample() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<EmailPriority, EmailNotificationJobRepository.LaneStats> stats = new EnumMap<>(EmailPriority.class);
+        jobRepository.laneStats(EmailJobClaimService.DISPATCHABLE_STATUSES, now)
+                .forEach(row -> stats.put(row.getPriority(), row));
+        for (EmailPriority lane : EmailPriority.values()) {
+            EmailNotificationJobRepository.LaneStats row = stats.get(lane);
+            depth.get(lane).set(row == null ? 0 : row.getDepth());
+            oldestAgeSeconds.get(lane).set(row == null || row.getOldestCreatedAt() == null
+                    ? 0
+                    : Math.max(Duration.between(row.getOldestCreatedAt(), now).toSeconds(), 0));
+        }
+    }
+}
@@ -25,6 +25,10 @@ public class EmailNotificationJob {
     @Column(nullable = false, length = 80)
     private EmailEventType eventType;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EmailPriority priority = EmailPriority.NORMAL;
+
     @Column
     private Long recipientMemberId;
 
@@ -43,6 +47,9 @@ public class EmailNotificationJob {
     @Column(length = 200)
     private String dedupeKey;
 
+    @Column(length = 200)
+    private String coalesceKey;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private EmailJobStatus status = EmailJobStatus.PENDING;
@@ -65,6 +72,12 @@ public class EmailNotificationJob {
     @Column(length = 80)
     private String traceId;
 
+    @Column(length = 120)
+    private String leaseOwner;
+
+    @Column
+    private LocalDateTime leaseUntil;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -88,6 +101,7 @@ public class EmailNotificationJob {
             String traceId
     ) {
         this.eventType = eventType;
+        this.priority = eventType.priority();
         this.recipientMemberId = recipientMemberId;
         this.recipientEmail = recipientEmail;
         this.templateKey = templateKey;
@@ -118,6 +132,10 @@ public class EmailNotificationJob {
         return eventType;
     }
 
+    public EmailPriority getPriority() {
+        return priority;
+    }
+
     public Long getRecipientMemberId() {
         return recipientMemberId;
     }
@@ -142,6 +160,10 @@ public class EmailNotificationJob {
         return dedupeKey;
     }
 
+    public String getCoalesceKey() {
+        return coalesceKey;
+    }
+
     public EmailJobStatus getStatus() {
         return status;
     }
@@ -170,6 +192,14 @@ public class EmailNotificationJob {
         return traceId;
     }
 
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -182,13 +212,17 @@ public class EmailNotificationJob {
         return sentAt;
     }
 
-    public void markProcessing() {
+    public void markClaimed(String leaseOwner, LocalDateTime leaseUntil) {
         this.status = EmailJobStatus.PROCESSING;
+        this.leaseOwner = leaseOwner;
+        this.leaseUntil = leaseUntil;
         this.lastError = null;
     }
 
     public void markSent(String providerMessageId) {
         this.status = EmailJobStatus.SENT;
+        this.leaseOwner = null;
+        this.leaseUntil = null;
         this.providerMessageId = providerMessageId;
         this.sentAt = LocalDateTime.now();
         this.lastError = null;
@@ -197,6 +231,8 @@ public class EmailNotificationJob {
     public void markFailedAttempt(String error, LocalDateTime nextRetryAt) {
         this.attempts += 1;
         this.lastError = error;
+        this.leaseOwner = null;
+        this.leaseUntil = null;
         if (attempts >= maxAttempts) {
             this.status = EmailJobStatus.FAILED;
             this.nextRetryAt = null;
@@ -205,4 +241,15 @@ public class EmailNotificationJob {
         this.status = EmailJobStatus.RETRYING;
         this.nextRetryAt = nextRetryAt;
     }
+
+    /**
+     * Puts the job back without counting an attempt, for sends that were never made.
+     */
+    public void markDeferred(String reason, LocalDateTime nextRetryAt) {
+        this.status = EmailJobStatus.RETRYING;
+        this.lastError = reason;
+        this.leaseOwner = null;
+        this.leaseUntil = null;
+        this.nextRetryAt = nextRetryAt;
+    }
 }
@@ -1,11 +1,18 @@
 package com.example.demo.email;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface EmailNotificationJobRepository extends JpaRepository<EmailNotificationJob, Long> {
 
@@ -14,10 +21,191 @@ public interface EmailNotificationJobRepository extends JpaRepository<EmailNotif
             from EmailNotificationJob j
             where j.status in :statuses
               and (j.nextRetryAt is null or j.nextRetryAt <= :now)
-            order by j.createdAt asc
+            order by case j.priority
+                         when com.example.demo.email.EmailPriority.HIGH then 0
+                         when com.example.demo.email.EmailPriority.NORMAL then 1
+                         else 2
+                     end,
+                     j.createdAt asc
             """)
     List<EmailNotificationJob> findDispatchableJobs(
             @Param("statuses") List<EmailJobStatus> statuses,
+            @Param("now") LocalDateTime now,
+            Pageable pageable
+    );
+
+    /**
+     * Locks due jobs of one lane and partition, oldest first. Lock timeout -2 is Hibernate's SKIP LOCKED: rows
+     * already locked by another claimer are skipped instead of waited on.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            select j
+            from EmailNotificationJob j
+            where j.priority = :priority
+              and j.status in :statuses
+              and (j.nextRetryAt is null or j.nextRetryAt <= :now)
+              and mod(j.id, :partitionCount) = :partitionIndex
+            order by j.createdAt asc
+            """)
+    List<EmailNotificationJob> lockDispatchableJobs(
+            @Param("priority") EmailPriority priority,
+            @Param("statuses") List<EmailJobStatus> statuses,
+            @Param("now") LocalDateTime now,
+            @Param("partitionCount") long partitionCount,
+            @Param("partitionIndex") long partitionIndex,
+            Pageable pageable
+    );
+
+    @Query("""
+            select j.priority as priority,
+                   count(j) as depth,
+                   min(j.createdAt) as oldestCreatedAt
+            from EmailNotificationJob j
+            where j.status in :statuses
+              and (j.nextRetryAt is null or j.nextRetryAt <= :now)
+            group by j.priority
+            """)
+    List<LaneStats> laneStats(
+            @Param("statuses") List<EmailJobStatus> statuses,
+            @Param("now") LocalDateTime now
+    );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update EmailNotificationJob j
+            set j.status = com.example.demo.email.EmailJobStatus.PROCESSING,
+                j.leaseOwner = :leaseOwner,
+                j.leaseUntil = :leaseUntil,
+                j.lastError = null,
+                j.updatedAt = :now
+            where j.id = :id
+              and j.status in :statuses
+            """)
+    int claimIfDispatchable(
+            @Param("id") Long id,
+            @Param("statuses") List<EmailJobStatus> statuses,
+            @Param("leaseOwner") String leaseOwner,
+            @Param("leaseUntil") LocalDateTime leaseUntil,
             @Param("now") LocalDateTime now
     );
+
+    /**
+     * Writes the outcome of a send only while the caller still holds the lease; returns 0 when the lease
+     * expired and the job was reclaimed in the meantime.
+     */
+    @Modifying
+    @Query("""
+            update EmailNotificationJob j
+            set j.status = :status,
+                j.attempts = :attempts,
+                j.lastError = :lastError,
+                j.nextRetryAt = :nextRetryAt,
+                j.providerMessageId = :providerMessageId,
+                j.sentAt = :sentAt,
+                j.leaseOwner = null,
+                j.leaseUntil = null,
+                j.updatedAt = :now
+            where j.id = :id
+              and j.status = com.example.demo.email.EmailJobStatus.PROCESSING
+              and j.leaseOwner = :leaseOwner
+            """)
+    int finishLease(
+            @Param("id") Long id,
+            @Param("leaseOwner") String leaseOwner,
+            @Param("status") EmailJobStatus status,
+            @Param("attempts") int attempts,
+            @Param("lastError") String lastError,
+            @Param("nextRetryAt") LocalDateTime nextRetryAt,
+            @Param("providerMessageId") String providerMessageId,
+            @Param("sentAt") LocalDateTime sentAt,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Returns a batch of expired PROCESSING leases to RETRYING with the attempt counted. Rows claimed
+     * before leases existed have no lease_until; they count as expired once untouched for a full lease
+     * period. SKIP LOCKED lets several nodes reap concurrently without blocking on each other.
+     */
+    @Modifying
+    @Query(value = """
+            update notification_jobs
+            set status = 'RETRYING',
+                attempts = attempts + 1,
+                next_retry_at = :now,
+                last_error = 'Lease expired while PROCESSING (owner ' || coalesce(lease_owner, 'unknown') || ')',
+                lease_owner = null,
+                lease_until = null,
+                updated_at = :now
+            where id in (
+                select id
+                from notification_jobs
+                where status = 'PROCESSING'
+                  and attempts + 1 < max_attempts
+                  and (lease_until < :now or (lease_until is null and updated_at < :legacyCutoff))
+                order by id
+                limit :batchSize
+                for update skip locked
+            )
+            """, nativeQuery = true)
+    int reclaimExpiredLeases(
+            @Param("now") LocalDateTime now,
+            @Param("legacyCutoff") LocalDateTime legacyCutoff,
+            @Param("batchSize") int batchSize
+    );
+
+    /**
+     * Same as {@link #reclaimExpiredLeases} for jobs whose expired lease used up their last attempt.
+     */
+    @Modifying
+    @Query(value = """
+            update notification_jobs
+            set status = 'FAILED',
+                attempts = attempts + 1,
+                next_retry_at = null,
+                last_error = 'Lease expired while PROCESSING (owner ' || coalesce(lease_owner, 'unknown') || ')',
+                lease_owner = null,
+                lease_until = null,
+                updated_at = :now
+            where id in (
+                select id
+                from notification_jobs
+                where status = 'PROCESSING'
+                  and attempts + 1 >= max_attempts
+                  and (lease_until < :now or (lease_until is null and updated_at < :legacyCutoff))
+                order by id
+                limit :batchSize
+                for update skip locked
+            )
+            """, nativeQuery = true)
+    int failExpiredLeases(
+            @Param("now") LocalDateTime now,
+            @Param("legacyCutoff") LocalDateTime legacyCutoff,
+            @Param("batchSize") int batchSize
+    );
+
+    Optional<EmailNotificationJob> findFirstByCoalesceKeyAndStatusOrderByIdDesc(String coalesceKey, EmailJobStatus status);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update EmailNotificationJob j
+            set j.payloadJson = :payloadJson, j.traceId = :traceId, j.updatedAt = :now
+            where j.id = :id
+              and j.status = com.example.demo.email.EmailJobStatus.PENDING
+            """)
+    int supersedePendingPayload(
+            @Param("id") Long id,
+            @Param("payloadJson") String payloadJson,
+            @Param("traceId") String traceId,
+            @Param("now") LocalDateTime now
+    );
+
+    interface LaneStats {
+        EmailPriority getPriority();
+
+        long getDepth();
+
+        LocalDateTime getOldestCreatedAt();
+    }
 }
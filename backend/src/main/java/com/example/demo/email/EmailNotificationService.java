@@ -2,86 +2,106 @@ package com.example.demo.email;
 
 import com.example.demo.auth.Member;
 import com.example.demo.auth.MemberRepository;
-import com.example.demo.group.DepartmentGroupMemberRepository;
+import com.example.demo.group.GroupHierarchyService;
 import com.example.demo.helpdesk.HelpdeskTicket;
 import com.example.demo.helpdesk.HelpdeskTicketPriority;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.MDC;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 @Service
 public class EmailNotificationService {
 
     private static final String TRACE_ID_MDC_KEY = "traceId";
+    private static final String DEFAULT_LOCALE = "zh-TW";
 
     private final EmailNotificationJobRepository jobRepository;
+    private final EmailJobBatchInserter batchInserter;
     private final MemberRepository memberRepository;
-    private final DepartmentGroupMemberRepository groupMemberRepository;
+    private final GroupHierarchyService hierarchyService;
     private final EmailPayloadFactory payloadFactory;
     private final EmailDispatchService emailDispatchService;
     private final ObjectMapper objectMapper;
+    private final EmailDispatchSignal dispatchSignal;
+    private final EmailDigestEventRepository digestEventRepository;
+    private final long coalesceWindowSeconds;
+    private final boolean digestEnabled;
 
     public EmailNotificationService(
             EmailNotificationJobRepository jobRepository,
+            EmailJobBatchInserter batchInserter,
             MemberRepository memberRepository,
-            DepartmentGroupMemberRepository groupMemberRepository,
+            GroupHierarchyService hierarchyService,
             EmailPayloadFactory payloadFactory,
             EmailDispatchService emailDispatchService,
-            ObjectMapper objectMapper
+            ObjectMapper objectMapper,
+            EmailDispatchSignal dispatchSignal,
+            EmailDigestEventRepository digestEventRepository,
+            @Value("${app.email.coalesce-window-seconds:120}") long coalesceWindowSeconds,
+            @Value("${app.email.digest.enabled:false}") boolean digestEnabled
     ) {
         this.jobRepository = jobRepository;
+        this.batchInserter = batchInserter;
         this.memberRepository = memberRepository;
-        this.groupMemberRepository = groupMemberRepository;
+        this.hierarchyService = hierarchyService;
         this.payloadFactory = payloadFactory;
         this.emailDispatchService = emailDispatchService;
         this.objectMapper = objectMapper;
+        this.dispatchSignal = dispatchSignal;
+        this.digestEventRepository = digestEventRepository;
+        this.coalesceWindowSeconds = Math.max(coalesceWindowSeconds, 0);
+        this.digestEnabled = digestEnabled;
     }
 
     @Transactional
     public void enqueueUserRegistered(Member member) {
-        enqueue(
+        enqueueBatch(List.of(EmailJobRequest.of(
                 EmailEventType.USER_REGISTERED,
                 member.getId(),
                 member.getEmail(),
                 "user_registered_v1",
                 payloadFactory.payloadForMember(member),
                 "user_registered:" + member.getId()
-        );
+        )));
     }
 
     @Transactional
     public void enqueueTicketCreated(HelpdeskTicket ticket, Member creator) {
-        enqueue(
+        List<EmailJobRequest> requests = new ArrayList<>(2);
+        requests.add(EmailJobRequest.of(
                 EmailEventType.TICKET_CREATED,
                 creator.getId(),
                 creator.getEmail(),
                 "ticket_created_v1",
                 payloadFactory.payloadForTicket(ticket, creator, "工單已建立"),
                 "ticket_created:" + ticket.getId() + ":" + creator.getId()
-        );
+        ));
 
-        if (ticket.getPriority() != HelpdeskTicketPriority.URGENT || ticket.getGroup() == null) {
-            return;
+        if (ticket.getPriority() == HelpdeskTicketPriority.URGENT && ticket.getGroup() != null) {
+            hierarchyService.nearestSupervisorId(ticket.getGroup().getId())
+                    .flatMap(memberRepository::findById)
+                    .filter(supervisor -> !Objects.equals(supervisor.getId(), creator.getId()))
+                    .ifPresent(supervisor -> requests.add(EmailJobRequest.of(
+                            EmailEventType.TICKET_URGENT_SUPERVISOR_REQUIRED,
+                            supervisor.getId(),
+                            supervisor.getEmail(),
+                            "ticket_urgent_supervisor_required_v1",
+                            payloadFactory.payloadForTicket(ticket, supervisor, "急件待主管確認"),
+                            "ticket_urgent_supervisor_required:" + ticket.getId() + ":" + supervisor.getId()
+                    )));
         }
-
-        groupMemberRepository.findByGroup_IdAndSupervisorTrue(ticket.getGroup().getId())
-                .map(m -> m.getMember())
-                .filter(supervisor -> !Objects.equals(supervisor.getId(), creator.getId()))
-                .ifPresent(supervisor -> enqueue(
-                        EmailEventType.TICKET_URGENT_SUPERVISOR_REQUIRED,
-                        supervisor.getId(),
-                        supervisor.getEmail(),
-                        "ticket_urgent_supervisor_required_v1",
-                        payloadFactory.payloadForTicket(ticket, supervisor, "急件待主管確認"),
-                        "ticket_urgent_supervisor_required:" + ticket.getId() + ":" + supervisor.getId()
-                ));
+        enqueueBatch(requests);
     }
 
     @Transactional
@@ -89,14 +109,21 @@ public class EmailNotificationService {
         if (ticket.getCreatedByMemberId() == null) return;
         memberRepository.findById(ticket.getCreatedByMemberId())
                 .filter(owner -> !Objects.equals(owner.getId(), replier.getId()))
-                .ifPresent(owner -> enqueue(
-                        EmailEventType.TICKET_REPLIED,
-                        owner.getId(),
-                        owner.getEmail(),
-                        "ticket_replied_v1",
-                        payloadFactory.payloadForTicket(ticket, owner, "工單有新回覆"),
-                        null
-                ));
+                .ifPresent(owner -> {
+                    if (digestEnabled) {
+                        accumulateForDigest(owner, ticket, EmailEventType.TICKET_REPLIED, "新回覆");
+                        return;
+                    }
+                    enqueueBatch(List.of(new EmailJobRequest(
+                            EmailEventType.TICKET_REPLIED,
+                            owner.getId(),
+                            owner.getEmail(),
+                            "ticket_replied_v1",
+                            payloadFactory.payloadForTicket(ticket, owner, "工單有新回覆"),
+                            null,
+                            "ticket_replied:" + ticket.getId() + ":" + owner.getId()
+                    )));
+                });
     }
 
     @Transactional
@@ -104,14 +131,81 @@ public class EmailNotificationService {
         if (ticket.getCreatedByMemberId() == null) return;
         memberRepository.findById(ticket.getCreatedByMemberId())
                 .filter(owner -> !Objects.equals(owner.getId(), actor.getId()))
-                .ifPresent(owner -> enqueue(
-                        EmailEventType.TICKET_CLOSED,
-                        owner.getId(),
-                        owner.getEmail(),
-                        "ticket_closed_v1",
-                        payloadFactory.payloadForTicket(ticket, owner, "工單已完成"),
-                        null
-                ));
+                .ifPresent(owner -> {
+                    if (digestEnabled) {
+                        accumulateForDigest(owner, ticket, EmailEventType.TICKET_CLOSED, "已完成");
+                        return;
+                    }
+                    enqueueBatch(List.of(EmailJobRequest.of(
+                            EmailEventType.TICKET_CLOSED,
+                            owner.getId(),
+                            owner.getEmail(),
+                            "ticket_closed_v1",
+                            payloadFactory.payloadForTicket(ticket, owner, "工單已完成"),
+                            null
+                    )));
+                });
+    }
+
+    /**
+     * Enqueues every request for one event in a single multi-row insert. Requests whose dedupe key already
+     * exists are skipped by the database instead of failing the caller's transaction. Requests with a coalesce
+     * key first try to supersede a still-pending job with the same key; new coalescing jobs are held for the
+     * coalescing window.
+     */
+    @Transactional
+    public EnqueueResult enqueueBatch(List<EmailJobRequest> requests) {
+        String traceId = normalize(MDC.get(TRACE_ID_MDC_KEY));
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailJobBatchInserter.Row> rows = new ArrayList<>(requests.size());
+        List<String> dedupeKeys = new ArrayList<>();
+        int supersededCount = 0;
+        boolean hasDueRows = false;
+
+        for (EmailJobRequest request : requests) {
+            if (request.recipientEmail() == null || request.recipientEmail().isBlank()) continue;
+            String payloadJson = writeJson(request.payload());
+            boolean coalescing = request.coalesceKey() != null && coalesceWindowSeconds > 0;
+            if (coalescing && supersedePending(request.coalesceKey(), payloadJson, traceId, now)) {
+                supersededCount++;
+                continue;
+            }
+            rows.add(new EmailJobBatchInserter.Row(
+                    request.eventType(),
+                    request.recipientMemberId(),
+                    request.recipientEmail().trim().toLowerCase(),
+                    request.templateKey(),
+                    DEFAULT_LOCALE,
+                    payloadJson,
+                    request.dedupeKey(),
+                    coalescing ? request.coalesceKey() : null,
+                    traceId,
+                    coalescing ? now.plusSeconds(coalesceWindowSeconds) : now,
+                    now
+            ));
+            if (request.dedupeKey() != null) dedupeKeys.add(request.dedupeKey());
+            hasDueRows |= !coalescing;
+        }
+        if (rows.isEmpty()) {
+            return new EnqueueResult(List.of(), supersededCount, List.of());
+        }
+
+        List<EmailJobBatchInserter.InsertedJob> inserted = batchInserter.insertIgnoringDuplicates(rows);
+        Set<String> insertedKeys = new HashSet<>();
+        inserted.forEach(job -> {
+            if (job.dedupeKey() != null) insertedKeys.add(job.dedupeKey());
+        });
+        List<String> duplicateKeys = dedupeKeys.stream().filter(key -> !insertedKeys.contains(key)).toList();
+
+        if (hasDueRows && !inserted.isEmpty()) {
+            // Held jobs are not due yet; the worker's fallback poll picks them up when the hold ends.
+            dispatchSignal.signalAfterCommit();
+        }
+        return new EnqueueResult(
+                inserted.stream().map(EmailJobBatchInserter.InsertedJob::id).toList(),
+                supersededCount,
+                duplicateKeys
+        );
     }
 
     @Transactional(readOnly = true)
@@ -119,42 +213,35 @@ public class EmailNotificationService {
         return emailDispatchService.findDispatchableJobs();
     }
 
-    public void dispatchPendingJobs() {
-        emailDispatchService.dispatchPendingJobs();
+    public int dispatchPendingJobs() {
+        return emailDispatchService.dispatchPendingJobs();
     }
 
-    @Transactional
     public void dispatchSingleJob(Long jobId) {
         emailDispatchService.dispatchSingleJob(jobId);
     }
 
-    private void enqueue(
-            EmailEventType eventType,
-            Long recipientMemberId,
-            String recipientEmail,
-            String templateKey,
-            Map<String, Object> payload,
-            String dedupeKey
-    ) {
-        if (recipientEmail == null || recipientEmail.isBlank()) return;
-
-        String traceId = normalize(MDC.get(TRACE_ID_MDC_KEY));
-        String payloadJson = writeJson(payload);
-        EmailNotificationJob job = new EmailNotificationJob(
+    /**
+     * In digest mode reply and close events are stored per recipient and sent later as one summary email by
+     * {@link EmailDigestService}.
+     */
+    private void accumulateForDigest(Member owner, HelpdeskTicket ticket, EmailEventType eventType, String actionLabel) {
+        if (owner.getEmail() == null || owner.getEmail().isBlank()) return;
+        digestEventRepository.save(new EmailDigestEvent(
+                owner.getId(),
+                owner.getEmail().trim().toLowerCase(),
+                owner.getName(),
                 eventType,
-                recipientMemberId,
-                recipientEmail.trim().toLowerCase(),
-                templateKey,
-                "zh-TW",
-                payloadJson,
-                dedupeKey,
-                traceId
-        );
-        try {
-            jobRepository.save(job);
-        } catch (DataIntegrityViolationException ignored) {
-            // Dedupe key already exists, skip duplicate enqueue.
-        }
+                ticket.getId(),
+                ticket.getSubject(),
+                actionLabel
+        ));
+    }
+
+    private boolean supersedePending(String coalesceKey, String payloadJson, String traceId, LocalDateTime now) {
+        return jobRepository.findFirstByCoalesceKeyAndStatusOrderByIdDesc(coalesceKey, EmailJobStatus.PENDING)
+                .map(job -> jobRepository.supersedePendingPayload(job.getId(), payloadJson, traceId, now) > 0)
+                .orElse(false);
     }
 
     private String writeJson(Map<String, Object> payload) {
@@ -170,4 +257,7 @@ public class EmailNotificationService {
         String trimmed = value.trim();
         return trimmed.isEmpty() ? null : trimmed;
     }
+
+    public record EnqueueResult(List<Long> createdJobIds, int supersededCount, List<String> duplicateDedupeKeys) {
+    }
 }
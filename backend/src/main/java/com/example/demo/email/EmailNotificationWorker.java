@@ -1,19 +1,89 @@
 package com.example.demo.email;
 
-import org.springframework.scheduling.annotation.Scheduled;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+/**
+ * Runs claim passes on a dedicated thread. Enqueues wake it through {@link EmailDispatchSignal}; without
+ * signals it falls back to polling, doubling the interval while the queue is idle (up to the max) and
+ * dropping back to the minimum as soon as a pass finds work. A full batch means there is a backlog, so
+ * the next pass runs immediately.
+ */
 @Component
 public class EmailNotificationWorker {
 
+    private static final Logger log = LoggerFactory.getLogger(EmailNotificationWorker.class);
+
     private final EmailNotificationService emailNotificationService;
+    private final EmailDispatchSignal dispatchSignal;
+    private final boolean enabled;
+    private final long minPollMs;
+    private final long maxPollMs;
+    private final int workerBatchSize;
+    private volatile boolean running;
+    private Thread workerThread;
 
-    public EmailNotificationWorker(EmailNotificationService emailNotificationService) {
+    public EmailNotificationWorker(
+            EmailNotificationService emailNotificationService,
+            EmailDispatchSignal dispatchSignal,
+            @Value("${app.email.worker-enabled:true}") boolean enabled,
+            @Value("${app.email.worker-min-poll-ms:1000}") long minPollMs,
+            @Value("${app.email.worker-max-poll-ms:30000}") long maxPollMs,
+            @Value("${app.email.worker-batch-size:50}") int workerBatchSize
+    ) {
         this.emailNotificationService = emailNotificationService;
+        this.dispatchSignal = dispatchSignal;
+        this.enabled = enabled;
+        this.minPollMs = Math.max(minPollMs, 100);
+        this.maxPollMs = Math.max(maxPollMs, this.minPollMs);
+        this.workerBatchSize = workerBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || running) return;
+        running = true;
+        workerThread = new Thread(this::runLoop, "email-worker");
+        workerThread.setDaemon(true);
+        workerThread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (workerThread != null) {
+            workerThread.interrupt();
+        }
     }
 
-    @Scheduled(fixedDelayString = "${app.email.worker-fixed-delay-ms:15000}")
-    public void dispatch() {
-        emailNotificationService.dispatchPendingJobs();
+    private void runLoop() {
+        long pollMs = minPollMs;
+        while (running) {
+            int claimed;
+            try {
+                claimed = emailNotificationService.dispatchPendingJobs();
+            } catch (Exception ex) {
+                log.error("email worker pass failed", ex);
+                claimed = 0;
+            }
+            if (claimed >= workerBatchSize) {
+                pollMs = minPollMs;
+                continue;
+            }
+            pollMs = claimed > 0 ? minPollMs : Math.min(pollMs * 2, maxPollMs);
+            try {
+                if (dispatchSignal.await(pollMs)) {
+                    pollMs = minPollMs;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
     }
 }
@@ -39,4 +39,17 @@ public class EmailPayloadFactory {
         payload.put("ticketUrl", appUrl + "/#ticket-" + ticket.getId());
         return payload;
     }
+
+    public Map<String, Object> payloadForDigest(String recipientName, int eventCount, int ticketCount, String digestItems) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("recipientName", recipientName);
+        payload.put("actionLabel", "您的工單有 " + eventCount + " 則更新");
+        payload.put("ticketId", "-");
+        payload.put("subject", ticketCount + " 張工單有更新");
+        payload.put("eventCount", eventCount);
+        payload.put("ticketCount", ticketCount);
+        payload.put("digestItems", digestItems);
+        payload.put("ticketUrl", appUrl);
+        return payload;
+    }
 }
@@ -0,0 +1,10 @@
+package com.example.demo.email;
+
+/**
+ * Dispatch lane of an email job, in the order lanes are drained.
+ */
+public enum EmailPriority {
+    HIGH,
+    NORMAL,
+    LOW
+}
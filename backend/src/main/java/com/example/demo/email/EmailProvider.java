@@ -1,6 +1,36 @@
 package com.example.demo.email;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface EmailProvider {
     String providerName();
     String send(EmailMessage message);
+
+    default EmailProviderLimits limits() {
+        return EmailProviderLimits.UNLIMITED;
+    }
+
+    /**
+     * Largest number of recipients {@link #sendBatch} accepts in one call; 1 disables batching.
+     */
+    default int maxBatchSize() {
+        return 1;
+    }
+
+    /**
+     * Sends messages that share subject and bodies and differ only in recipient. Returns one result per
+     * message, in order. The default sends them one by one.
+     */
+    default List<EmailSendResult> sendBatch(List<EmailMessage> messages) {
+        List<EmailSendResult> results = new ArrayList<>(messages.size());
+        for (EmailMessage message : messages) {
+            try {
+                results.add(EmailSendResult.sent(send(message)));
+            } catch (Exception ex) {
+                results.add(EmailSendResult.failed(ex));
+            }
+        }
+        return results;
+    }
 }
@@ -0,0 +1,27 @@
+package com.example.demo.email;
+
+import java.time.Duration;
+
+/**
+ * Provider failure that carries how the dispatcher should treat it: whether the provider rejected this
+ * message (and is otherwise healthy) and how long the provider asked callers to wait.
+ */
+public class EmailProviderException extends RuntimeException {
+
+    private final boolean rejected;
+    private final Duration retryAfter;
+
+    public EmailProviderException(String message, boolean rejected, Duration retryAfter, Throwable cause) {
+        super(message, cause);
+        this.rejected = rejected;
+        this.retryAfter = retryAfter;
+    }
+
+    public boolean isRejected() {
+        return rejected;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
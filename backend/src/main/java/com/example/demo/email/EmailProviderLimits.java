@@ -0,0 +1,20 @@
+package com.example.demo.email;
+
+/**
+ * Send limits for one {@link EmailProvider}: at most {@code maxConcurrency} requests in flight and a
+ * token bucket refilled at {@code ratePerSecond} holding up to {@code burst} tokens. A rate of zero or
+ * less disables the bucket.
+ */
+public record EmailProviderLimits(int maxConcurrency, double ratePerSecond, int burst) {
+
+    public static final EmailProviderLimits UNLIMITED = new EmailProviderLimits(Integer.MAX_VALUE, 0, 0);
+
+    public EmailProviderLimits {
+        maxConcurrency = Math.max(maxConcurrency, 1);
+        burst = Math.max(burst, 1);
+    }
+
+    public boolean rateLimited() {
+        return ratePerSecond > 0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.email;
+
+import java.time.Duration;
+
+/**
+ * Per-recipient outcome of a provider send. Batch sends return one result per message, in order.
+ * {@code rejected} marks a failure caused by the message itself (bad address, invalid payload) rather than by
+ * the provider being unavailable, so it does not count against the provider's circuit breaker.
+ * {@code retryAfter} carries the provider's {@code Retry-After} hint when it sent one.
+ */
+public record EmailSendResult(
+        boolean success,
+        String providerMessageId,
+        String error,
+        boolean rejected,
+        Duration retryAfter
+) {
+
+    public static EmailSendResult sent(String providerMessageId) {
+        return new EmailSendResult(true, providerMessageId, null, false, null);
+    }
+
+    public static EmailSendResult failed(String error) {
+        return new EmailSendResult(false, null, error, false, null);
+    }
+
+    public static EmailSendResult failed(String error, Duration retryAfter) {
+        return new EmailSendResult(false, null, error, false, retryAfter);
+    }
+
+    public static EmailSendResult rejected(String error) {
+        return new EmailSendResult(false, null, error, true, null);
+    }
+
+    public static EmailSendResult failed(Exception ex) {
+        if (ex instanceof EmailProviderException providerException) {
+            return new EmailSendResult(false, null, ex.getMessage(), providerException.isRejected(), providerException.getRetryAfter());
+        }
+        return failed(ex.getMessage());
+    }
+}
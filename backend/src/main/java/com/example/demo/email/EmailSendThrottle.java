@@ -0,0 +1,71 @@
+package com.example.demo.email;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Applies {@link EmailProviderLimits} around provider calls: a semaphore caps in-flight sends and a
+ * token bucket spaces them out. Callers block until both a permit and a token are available.
+ */
+public class EmailSendThrottle {
+
+    private final Semaphore inFlight;
+    private final EmailProviderLimits limits;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public EmailSendThrottle(EmailProviderLimits limits) {
+        this.limits = limits;
+        this.inFlight = new Semaphore(limits.maxConcurrency(), true);
+        this.tokens = limits.burst();
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public EmailProviderLimits limits() {
+        return limits;
+    }
+
+    public <T> T execute(Supplier<T> send) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an email send slot", e);
+        }
+        try {
+            awaitToken();
+            return send.get();
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private void awaitToken() {
+        if (!limits.rateLimited()) return;
+        while (true) {
+            long waitNanos = tryTakeToken();
+            if (waitNanos <= 0) return;
+            try {
+                Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for an email rate-limit token", e);
+            }
+        }
+    }
+
+    /**
+     * Takes a token if one is available and returns 0; otherwise returns how long until the next token.
+     */
+    private synchronized long tryTakeToken() {
+        long now = System.nanoTime();
+        double refill = (now - lastRefillNanos) / 1_000_000_000d * limits.ratePerSecond();
+        tokens = Math.min(limits.burst(), tokens + refill);
+        lastRefillNanos = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / limits.ratePerSecond() * 1_000_000_000d);
+    }
+}
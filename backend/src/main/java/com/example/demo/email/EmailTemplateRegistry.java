@@ -0,0 +1,137 @@
+package com.example.demo.email;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Loads email templates laid out as {@code <location>/<templateKey>/<locale>/subject.txt|text.txt|html.html}
+ * and keeps them compiled in memory. A reload compiles the whole set before swapping it in, so a broken file
+ * leaves the previous templates serving and renders never see a half-loaded registry.
+ */
+@Component
+public class EmailTemplateRegistry {
+
+    static final String DEFAULT_TEMPLATE_KEY = "default";
+    static final String DEFAULT_LOCALE = "zh-TW";
+
+    private static final Logger log = LoggerFactory.getLogger(EmailTemplateRegistry.class);
+    private static final String SUBJECT_FILE = "subject.txt";
+    private static final String TEXT_FILE = "text.txt";
+    private static final String HTML_FILE = "html.html";
+
+    private final String location;
+    private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public EmailTemplateRegistry(@Value("${app.email.template-location:classpath*:email-templates}") String location) {
+        this.location = location.endsWith("/") ? location.substring(0, location.length() - 1) : location;
+        reload();
+    }
+
+    Template find(String templateKey, String locale) {
+        Map<String, Template> templates = snapshot.get().templates();
+        Template template = templates.get(id(templateKey, locale));
+        if (template == null) template = templates.get(id(templateKey, DEFAULT_LOCALE));
+        if (template == null) template = templates.get(id(DEFAULT_TEMPLATE_KEY, locale));
+        if (template == null) template = templates.get(id(DEFAULT_TEMPLATE_KEY, DEFAULT_LOCALE));
+        if (template == null) {
+            throw new IllegalStateException("No email template for " + templateKey + "/" + locale + " and no default");
+        }
+        return template;
+    }
+
+    public ReloadResult reload() {
+        Map<String, Map<String, String>> sources = new TreeMap<>();
+        try {
+            for (Resource resource : resourceResolver.getResources(location + "/*/*/*")) {
+                String[] parts = pathParts(resource);
+                if (parts == null) continue;
+                sources.computeIfAbsent(parts[0] + "/" + parts[1], k -> new HashMap<>()).put(parts[2], read(resource));
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to load email templates from " + location, ex);
+        }
+
+        Map<String, Template> templates = new HashMap<>();
+        sources.forEach((id, files) -> {
+            String[] keyAndLocale = id.split("/", 2);
+            String subject = files.get(SUBJECT_FILE);
+            String text = files.get(TEXT_FILE);
+            String html = files.get(HTML_FILE);
+            if (subject == null || text == null || html == null) {
+                throw new IllegalStateException("Email template " + id + " needs " + SUBJECT_FILE + ", " + TEXT_FILE + " and " + HTML_FILE);
+            }
+            templates.put(id, new Template(
+                    keyAndLocale[0],
+                    keyAndLocale[1],
+                    CompiledEmailTemplate.compile(subject.strip()),
+                    CompiledEmailTemplate.compile(text),
+                    CompiledEmailTemplate.compile(html.strip())
+            ));
+        });
+        if (!templates.containsKey(id(DEFAULT_TEMPLATE_KEY, DEFAULT_LOCALE))) {
+            throw new IllegalStateException("Email templates at " + location + " must include " + id(DEFAULT_TEMPLATE_KEY, DEFAULT_LOCALE));
+        }
+
+        Snapshot previous = snapshot.get();
+        Snapshot next = new Snapshot(Map.copyOf(templates), previous == null ? 1 : previous.version() + 1, LocalDateTime.now());
+        snapshot.set(next);
+        log.info("email templates loaded location={} count={} version={}", location, templates.size(), next.version());
+        return new ReloadResult(next.version(), templates.size(), next.loadedAt());
+    }
+
+    public List<String> templateIds() {
+        return snapshot.get().templates().keySet().stream().sorted().toList();
+    }
+
+    public long version() {
+        return snapshot.get().version();
+    }
+
+    private String[] pathParts(Resource resource) throws IOException {
+        if (!resource.isReadable() || resource.getFilename() == null) return null;
+        String[] segments = resource.getURL().getPath().split("/");
+        if (segments.length < 3) return null;
+        return new String[]{segments[segments.length - 3], segments[segments.length - 2], segments[segments.length - 1]};
+    }
+
+    private String read(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String id(String templateKey, String locale) {
+        return templateKey + "/" + locale;
+    }
+
+    record Template(
+            String key,
+            String locale,
+            CompiledEmailTemplate subject,
+            CompiledEmailTemplate text,
+            CompiledEmailTemplate html
+    ) {
+    }
+
+    public record ReloadResult(long version, int templateCount, LocalDateTime loadedAt) {
+    }
+
+    private record Snapshot(Map<String, Template> templates, long version, LocalDateTime loadedAt) {
+    }
+}
@@ -3,46 +3,62 @@ package com.example.demo.email;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class EmailTemplateService {
 
+    private static final int MAX_RETAINED_BUFFER = 16 * 1024;
+
+    // Renders run on the dispatch pool; one buffer per thread avoids regrowing a builder for every part.
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private final EmailTemplateRegistry templateRegistry;
     private final String appUrl;
 
-    public EmailTemplateService(@Value("${app.email.app-url:http://localhost:5173}") String appUrl) {
+    public EmailTemplateService(
+            EmailTemplateRegistry templateRegistry,
+            @Value("${app.email.app-url:http://localhost:5173}") String appUrl
+    ) {
+        this.templateRegistry = templateRegistry;
         this.appUrl = appUrl;
     }
 
     public EmailMessage renderMessage(String templateKey, Map<String, Object> payload, String to) {
-        String recipientName = asString(payload.get("recipientName"), "User");
-        String ticketId = asString(payload.get("ticketId"), "-");
-        String subject = asString(payload.get("subject"), "(no subject)");
-        String ticketUrl = asString(payload.get("ticketUrl"), appUrl);
-        String actionLabel = asString(payload.get("actionLabel"), "通知");
-
-        String mailSubject = switch (templateKey) {
-            case "user_registered_v1" -> "[Helpdesk] 註冊成功通知";
-            case "ticket_created_v1" -> "[Helpdesk] 工單 #%s 已建立".formatted(ticketId);
-            case "ticket_replied_v1" -> "[Helpdesk] 工單 #%s 有新回覆".formatted(ticketId);
-            case "ticket_closed_v1" -> "[Helpdesk] 工單 #%s 已完成".formatted(ticketId);
-            case "ticket_urgent_supervisor_required_v1" -> "[Helpdesk] 急件工單 #%s 待主管確認".formatted(ticketId);
-            default -> "[Helpdesk] 通知";
-        };
-
-        String text = """
-                %s 您好，
-
-                %s
-                工單編號：#%s
-                主旨：%s
-                連結：%s
-
-                Helpdesk 系統通知
-                """.formatted(recipientName, actionLabel, ticketId, subject, ticketUrl);
-        String html = "<p>%s 您好，</p><p>%s</p><p>工單編號：<b>#%s</b><br/>主旨：%s<br/>連結：<a href=\"%s\">查看工單</a></p><p>Helpdesk 系統通知</p>"
-                .formatted(escapeHtml(recipientName), escapeHtml(actionLabel), escapeHtml(ticketId), escapeHtml(subject), escapeHtml(ticketUrl));
-        return new EmailMessage(to, mailSubject, html, text);
+        return renderMessage(templateKey, EmailTemplateRegistry.DEFAULT_LOCALE, payload, to);
+    }
+
+    public EmailMessage renderMessage(String templateKey, String locale, Map<String, Object> payload, String to) {
+        EmailTemplateRegistry.Template template = templateRegistry.find(templateKey, locale);
+        Map<String, String> values = new HashMap<>();
+        payload.forEach((key, value) -> {
+            String text = asString(value, null);
+            if (text != null) values.put(key, text);
+        });
+        values.putIfAbsent("recipientName", "User");
+        values.putIfAbsent("ticketId", "-");
+        values.putIfAbsent("subject", "(no subject)");
+        values.putIfAbsent("ticketUrl", appUrl);
+        values.putIfAbsent("actionLabel", "通知");
+
+        return new EmailMessage(
+                to,
+                render(template.subject(), values, false),
+                render(template.html(), values, true),
+                render(template.text(), values, false)
+        );
+    }
+
+    private String render(CompiledEmailTemplate template, Map<String, String> values, boolean escapeHtml) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        template.renderTo(buffer, values, escapeHtml);
+        String rendered = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return rendered;
     }
 
     private String asString(Object value, String fallback) {
@@ -50,13 +66,4 @@ public class EmailTemplateService {
         String text = String.valueOf(value).trim();
         return text.isEmpty() ? fallback : text;
     }
-
-    private String escapeHtml(String input) {
-        return input
-                .replace("&", "&amp;")
-                .replace("<", "&lt;")
-                .replace(">", "&gt;")
-                .replace("\"", "&quot;")
-                .replace("'", "&#39;");
-    }
 }
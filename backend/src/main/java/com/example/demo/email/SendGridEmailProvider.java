@@ -2,6 +2,15 @@ package com.example.demo.email;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpEntity;
@@ -9,9 +18,17 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -20,25 +37,74 @@ import java.util.UUID;
 @ConditionalOnProperty(name = "app.email.provider", havingValue = "sendgrid")
 public class SendGridEmailProvider implements EmailProvider {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    /**
+     * SendGrid accepts at most 1000 personalizations per mail/send request.
+     */
+    static final int SENDGRID_MAX_PERSONALIZATIONS = 1000;
+
+    private final CloseableHttpClient httpClient;
+    private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
     private final String apiKey;
     private final String fromEmail;
     private final String fromName;
     private final String endpoint;
+    private final EmailProviderLimits limits;
+    private final int maxBatchSize;
 
     public SendGridEmailProvider(
             ObjectMapper objectMapper,
             @Value("${app.email.sendgrid.api-key:}") String apiKey,
             @Value("${app.email.from-email:}") String fromEmail,
             @Value("${app.email.from-name:Helpdesk}") String fromName,
-            @Value("${app.email.sendgrid.endpoint:https://api.sendgrid.com/v3/mail/send}") String endpoint
+            @Value("${app.email.sendgrid.endpoint:https://api.sendgrid.com/v3/mail/send}") String endpoint,
+            @Value("${app.email.sendgrid.max-concurrency:8}") int maxConcurrency,
+            @Value("${app.email.sendgrid.rate-per-second:50}") double ratePerSecond,
+            @Value("${app.email.sendgrid.burst:20}") int burst,
+            @Value("${app.email.sendgrid.max-batch-size:1000}") int maxBatchSize,
+            @Value("${app.email.sendgrid.connect-timeout-ms:3000}") long connectTimeoutMs,
+            @Value("${app.email.sendgrid.read-timeout-ms:10000}") long readTimeoutMs,
+            @Value("${app.email.sendgrid.idle-evict-ms:30000}") long idleEvictMs
     ) {
         this.objectMapper = objectMapper;
         this.apiKey = apiKey;
         this.fromEmail = fromEmail;
         this.fromName = fromName;
         this.endpoint = endpoint;
+        this.limits = new EmailProviderLimits(maxConcurrency, ratePerSecond, burst);
+        this.maxBatchSize = Math.max(1, Math.min(maxBatchSize, SENDGRID_MAX_PERSONALIZATIONS));
+        this.httpClient = buildHttpClient(limits.maxConcurrency(), connectTimeoutMs, readTimeoutMs, idleEvictMs);
+        this.restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    /**
+     * Keep-alive pool sized to the provider's in-flight cap, so every dispatch thread reuses a warm
+     * TLS connection instead of handshaking per request.
+     */
+    private static CloseableHttpClient buildHttpClient(int maxConnections, long connectTimeoutMs, long readTimeoutMs, long idleEvictMs) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictMs))
+                .build();
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        httpClient.close();
     }
 
     @Override
@@ -46,8 +112,40 @@ public class SendGridEmailProvider implements EmailProvider {
         return "SENDGRID";
     }
 
+    @Override
+    public EmailProviderLimits limits() {
+        return limits;
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
     @Override
     public String send(EmailMessage message) {
+        return post(message, List.of(message.to()));
+    }
+
+    /**
+     * One request with a personalization per recipient. SendGrid accepts or rejects the request as a whole,
+     * so every recipient shares the outcome and the returned message id.
+     */
+    @Override
+    public List<EmailSendResult> sendBatch(List<EmailMessage> messages) {
+        if (messages.isEmpty()) return List.of();
+        if (messages.size() > maxBatchSize) {
+            throw new IllegalArgumentException("SendGrid batch exceeds " + maxBatchSize + " recipients");
+        }
+        try {
+            String providerMessageId = post(messages.get(0), messages.stream().map(EmailMessage::to).toList());
+            return Collections.nCopies(messages.size(), EmailSendResult.sent(providerMessageId));
+        } catch (Exception ex) {
+            return Collections.nCopies(messages.size(), EmailSendResult.failed(ex));
+        }
+    }
+
+    private String post(EmailMessage content, List<String> recipients) {
         if (apiKey == null || apiKey.isBlank()) {
             throw new IllegalStateException("SendGrid api key is missing");
         }
@@ -56,12 +154,14 @@ public class SendGridEmailProvider implements EmailProvider {
         }
 
         Map<String, Object> payload = Map.of(
-                "personalizations", List.of(Map.of("to", List.of(Map.of("email", message.to())))),
+                "personalizations", recipients.stream()
+                        .map(recipient -> Map.of("to", List.of(Map.of("email", recipient))))
+                        .toList(),
                 "from", Map.of("email", fromEmail, "name", fromName),
-                "subject", message.subject(),
+                "subject", content.subject(),
                 "content", List.of(
-                        Map.of("type", "text/plain", "value", message.textBody()),
-                        Map.of("type", "text/html", "value", message.htmlBody())
+                        Map.of("type", "text/plain", "value", content.textBody()),
+                        Map.of("type", "text/html", "value", content.htmlBody())
                 )
         );
 
@@ -76,12 +176,25 @@ public class SendGridEmailProvider implements EmailProvider {
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setBearerAuth(apiKey);
 
-        ResponseEntity<String> response = restTemplate.exchange(
-                endpoint,
-                HttpMethod.POST,
-                new HttpEntity<>(body, headers),
-                String.class
-        );
+        ResponseEntity<String> response;
+        try {
+            response = restTemplate.exchange(
+                    endpoint,
+                    HttpMethod.POST,
+                    new HttpEntity<>(body, headers),
+                    String.class
+            );
+        } catch (HttpStatusCodeException ex) {
+            int status = ex.getStatusCode().value();
+            // 4xx other than 408/429 means SendGrid is up and refused this request.
+            boolean rejected = ex.getStatusCode().is4xxClientError() && status != 408 && status != 429;
+            throw new EmailProviderException(
+                    "SendGrid send failed: " + status + " " + ex.getResponseBodyAsString(),
+                    rejected,
+                    parseRetryAfter(ex.getResponseHeaders() == null ? null : ex.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER)),
+                    ex
+            );
+        }
         if (!response.getStatusCode().is2xxSuccessful()) {
             throw new IllegalStateException("SendGrid send failed: " + response.getStatusCode().value() + " " + response.getBody());
         }
@@ -91,4 +204,23 @@ public class SendGridEmailProvider implements EmailProvider {
                 ? "sendgrid-" + UUID.randomUUID()
                 : providerMessageId;
     }
+
+    /**
+     * {@code Retry-After} is either delta-seconds or an HTTP date.
+     */
+    static Duration parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) return null;
+        String trimmed = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(Long.parseLong(trimmed), 0));
+        } catch (NumberFormatException ignored) {
+            // fall through to the date form
+        }
+        try {
+            Duration untilDate = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME));
+            return untilDate.isNegative() ? Duration.ZERO : untilDate;
+        } catch (DateTimeParseException ignored) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,223 @@
+package com.example.demo.email;
+
+import com.example.demo.config.WorkloadExecutorConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import jakarta.mail.internet.MimeBodyPart;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * SMTP relay provider. Messages go out over pooled, already-authenticated connections: a batch is sent
+ * back to back on one connection, and connections are recycled when idle or after a message quota.
+ */
+@Component
+@ConditionalOnProperty(name = "app.email.provider", havingValue = "smtp")
+public class SmtpEmailProvider implements EmailProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpEmailProvider.class);
+
+    private final SmtpTransportPool pool;
+    private final Session session;
+    private final String fromEmail;
+    private final String fromName;
+    private final String host;
+    private final EmailProviderLimits limits;
+    private final int maxBatchSize;
+
+    public SmtpEmailProvider(
+            MeterRegistry meterRegistry,
+            @Value("${app.email.from-email:}") String fromEmail,
+            @Value("${app.email.from-name:Helpdesk}") String fromName,
+            @Value("${app.email.smtp.host:localhost}") String host,
+            @Value("${app.email.smtp.port:587}") int port,
+            @Value("${app.email.smtp.username:}") String username,
+            @Value("${app.email.smtp.password:}") String password,
+            @Value("${app.email.smtp.starttls:true}") boolean startTls,
+            @Value("${app.email.smtp.ssl:false}") boolean ssl,
+            @Value("${app.email.smtp.connect-timeout-ms:5000}") long connectTimeoutMs,
+            @Value("${app.email.smtp.read-timeout-ms:10000}") long readTimeoutMs,
+            @Value("${app.email.smtp.pool-size:4}") int poolSize,
+            @Value("${app.email.smtp.idle-timeout-ms:30000}") long idleTimeoutMs,
+            @Value("${app.email.smtp.max-messages-per-connection:100}") int maxMessagesPerConnection,
+            @Value("${app.email.smtp.rate-per-second:0}") double ratePerSecond,
+            @Value("${app.email.smtp.burst:10}") int burst,
+            @Value("${app.email.smtp.max-batch-size:50}") int maxBatchSize
+    ) {
+        this.fromEmail = fromEmail;
+        this.fromName = fromName;
+        this.host = host;
+        this.limits = new EmailProviderLimits(poolSize, ratePerSecond, burst);
+        this.maxBatchSize = Math.max(maxBatchSize, 1);
+
+        Properties properties = new Properties();
+        properties.put("mail.smtp.auth", String.valueOf(username != null && !username.isBlank()));
+        properties.put("mail.smtp.starttls.enable", String.valueOf(startTls));
+        properties.put("mail.smtp.ssl.enable", String.valueOf(ssl));
+        properties.put("mail.smtp.connectiontimeout", String.valueOf(connectTimeoutMs));
+        properties.put("mail.smtp.timeout", String.valueOf(readTimeoutMs));
+        properties.put("mail.smtp.writetimeout", String.valueOf(readTimeoutMs));
+        this.session = Session.getInstance(properties);
+        this.pool = new SmtpTransportPool(
+                session,
+                host,
+                port,
+                username,
+                password,
+                limits.maxConcurrency(),
+                Duration.ofMillis(idleTimeoutMs),
+                maxMessagesPerConnection,
+                Duration.ofMillis(connectTimeoutMs)
+        );
+
+        Gauge.builder("email.smtp.pool.connections", pool, SmtpTransportPool::openCount)
+                .description("Open SMTP connections")
+                .tag("host", host)
+                .register(meterRegistry);
+        Gauge.builder("email.smtp.pool.idle", pool, SmtpTransportPool::idleCount)
+                .description("Idle SMTP connections ready for reuse")
+                .tag("host", host)
+                .register(meterRegistry);
+        Gauge.builder("email.smtp.pool.borrowed", pool, SmtpTransportPool::borrowedCount)
+                .description("SMTP connections currently sending")
+                .tag("host", host)
+                .register(meterRegistry);
+        FunctionCounter.builder("email.smtp.pool.created", pool, SmtpTransportPool::createdCount)
+                .description("SMTP connections opened")
+                .tag("host", host)
+                .register(meterRegistry);
+        FunctionCounter.builder("email.smtp.pool.retired", pool, SmtpTransportPool::retiredCount)
+                .description("SMTP connections closed for idleness, quota or failure")
+                .tag("host", host)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String providerName() {
+        return "SMTP";
+    }
+
+    @Override
+    public EmailProviderLimits limits() {
+        return limits;
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    @Override
+    public String send(EmailMessage message) {
+        EmailSendResult result = sendBatch(List.of(message)).get(0);
+        if (!result.success()) {
+            // Keep the rejected flag so a refused mailbox is not counted against the circuit breaker.
+            throw new EmailProviderException("SMTP send failed: " + result.error(), result.rejected(), result.retryAfter(), null);
+        }
+        return result.providerMessageId();
+    }
+
+    /**
+     * Sends every message on one borrowed connection. A failure on one recipient is reported for that
+     * message only, unless it broke the connection, in which case the rest of the batch fails with it.
+     */
+    @Override
+    public List<EmailSendResult> sendBatch(List<EmailMessage> messages) {
+        if (messages.isEmpty()) return List.of();
+        if (fromEmail == null || fromEmail.isBlank()) {
+            throw new IllegalStateException("Email from-address is missing");
+        }
+        List<EmailSendResult> results = new ArrayList<>(messages.size());
+        SmtpTransportPool.PooledTransport transport;
+        try {
+            transport = pool.borrow();
+        } catch (MessagingException ex) {
+            String error = "SMTP connect failed: " + ex.getMessage();
+            messages.forEach(message -> results.add(EmailSendResult.failed(error)));
+            return results;
+        }
+
+        boolean broken = false;
+        try {
+            for (EmailMessage message : messages) {
+                if (broken) {
+                    results.add(EmailSendResult.failed("SMTP connection lost earlier in batch"));
+                    continue;
+                }
+                try {
+                    MimeMessage mime = toMimeMessage(message);
+                    transport.transport().sendMessage(mime, mime.getAllRecipients());
+                    transport.recordSent();
+                    results.add(EmailSendResult.sent(mime.getMessageID()));
+                } catch (MessagingException ex) {
+                    broken = !transport.transport().isConnected();
+                    // A refusal on a still-open connection is about this message, not the relay.
+                    results.add(broken ? EmailSendResult.failed(ex.getMessage()) : EmailSendResult.rejected(ex.getMessage()));
+                }
+            }
+        } finally {
+            pool.release(transport, broken);
+        }
+        return results;
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.smtp.evict-fixed-delay-ms:15000}", scheduler = WorkloadExecutorConfig.EMAIL_SCHEDULER)
+    public void evictIdleConnections() {
+        int evicted = pool.evictIdle();
+        if (evicted > 0) {
+            log.debug("smtp pool evicted idle connections host={} evicted={} open={}", host, evicted, pool.openCount());
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        pool.close();
+    }
+
+    private MimeMessage toMimeMessage(EmailMessage message) throws MessagingException {
+        MimeMessage mime = new MimeMessage(session) {
+            @Override
+            protected void updateMessageID() throws MessagingException {
+                setHeader("Message-ID", "<" + UUID.randomUUID() + "@" + host + ">");
+            }
+        };
+        try {
+            mime.setFrom(new InternetAddress(fromEmail, fromName, StandardCharsets.UTF_8.name()));
+        } catch (UnsupportedEncodingException e) {
+            throw new MessagingException("Unsupported from-name encoding", e);
+        }
+        mime.setRecipient(Message.RecipientType.TO, new InternetAddress(message.to()));
+        mime.setSubject(message.subject(), StandardCharsets.UTF_8.name());
+
+        MimeBodyPart text = new MimeBodyPart();
+        text.setText(message.textBody(), StandardCharsets.UTF_8.name());
+        MimeBodyPart html = new MimeBodyPart();
+        html.setContent(message.htmlBody(), "text/html; charset=UTF-8");
+        MimeMultipart alternative = new MimeMultipart("alternative");
+        alternative.addBodyPart(text);
+        alternative.addBodyPart(html);
+        mime.setContent(alternative);
+        mime.saveChanges();
+        return mime;
+    }
+}
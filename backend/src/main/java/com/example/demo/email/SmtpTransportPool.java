@@ -0,0 +1,221 @@
+package com.example.demo.email;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of connected, authenticated SMTP transports. A transport is reused for many messages and
+ * retired when it has sat idle too long, has carried its message quota, or reports a failure.
+ */
+class SmtpTransportPool implements AutoCloseable {
+
+    private static final long VALIDATE_AFTER_IDLE_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private final Session session;
+    private final String host;
+    private final int port;
+    private final String username;
+    private final String password;
+    private final int maxSize;
+    private final long idleTimeoutNanos;
+    private final int maxMessagesPerConnection;
+    private final long borrowTimeoutMillis;
+
+    private final BlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicInteger borrowed = new AtomicInteger();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong retired = new AtomicLong();
+    private volatile boolean closed;
+
+    SmtpTransportPool(
+            Session session,
+            String host,
+            int port,
+            String username,
+            String password,
+            int maxSize,
+            Duration idleTimeout,
+            int maxMessagesPerConnection,
+            Duration borrowTimeout
+    ) {
+        this.session = session;
+        this.host = host;
+        this.port = port;
+        this.username = username;
+        this.password = password;
+        this.maxSize = Math.max(maxSize, 1);
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.maxMessagesPerConnection = Math.max(maxMessagesPerConnection, 1);
+        this.borrowTimeoutMillis = borrowTimeout.toMillis();
+    }
+
+    PooledTransport borrow() throws MessagingException {
+        if (closed) throw new IllegalStateException("SMTP transport pool is closed");
+        long deadline = System.currentTimeMillis() + borrowTimeoutMillis;
+        while (true) {
+            PooledTransport transport = idle.pollFirst();
+            if (transport != null) {
+                if (transport.reusable(System.nanoTime()) && transport.validate()) {
+                    borrowed.incrementAndGet();
+                    return transport;
+                }
+                retire(transport);
+                continue;
+            }
+            if (tryReserveSlot()) {
+                try {
+                    PooledTransport connected = connect();
+                    borrowed.incrementAndGet();
+                    return connected;
+                } catch (MessagingException | RuntimeException ex) {
+                    open.decrementAndGet();
+                    throw ex;
+                }
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new MessagingException("Timed out waiting for an SMTP connection");
+            }
+            try {
+                // Short waits so a slot freed by a retired transport is noticed as well as an idle return.
+                transport = idle.pollFirst(Math.min(remaining, 50), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MessagingException("Interrupted waiting for an SMTP connection", e);
+            }
+            if (transport != null) {
+                idle.offerFirst(transport);
+            }
+        }
+    }
+
+    /**
+     * Returns a transport after use. Broken transports are closed instead of going back to the pool.
+     */
+    void release(PooledTransport transport, boolean broken) {
+        borrowed.decrementAndGet();
+        transport.touch();
+        if (broken || closed || !transport.reusable(System.nanoTime())) {
+            retire(transport);
+            return;
+        }
+        // Most recently used first, so surplus connections age out at the tail.
+        idle.offerFirst(transport);
+    }
+
+    /**
+     * Closes idle transports that exceeded the idle timeout. Called periodically by the provider.
+     */
+    int evictIdle() {
+        int evicted = 0;
+        long now = System.nanoTime();
+        for (PooledTransport transport : idle) {
+            if (!transport.reusable(now) && idle.remove(transport)) {
+                retire(transport);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    int openCount() {
+        return open.get();
+    }
+
+    int idleCount() {
+        return idle.size();
+    }
+
+    int borrowedCount() {
+        return borrowed.get();
+    }
+
+    long createdCount() {
+        return created.get();
+    }
+
+    long retiredCount() {
+        return retired.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        PooledTransport transport;
+        while ((transport = idle.pollFirst()) != null) {
+            retire(transport);
+        }
+    }
+
+    private boolean tryReserveSlot() {
+        while (true) {
+            int current = open.get();
+            if (current >= maxSize) return false;
+            if (open.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    private PooledTransport connect() throws MessagingException {
+        Transport transport = session.getTransport("smtp");
+        transport.connect(host, port, blankToNull(username), blankToNull(password));
+        created.incrementAndGet();
+        return new PooledTransport(transport);
+    }
+
+    private void retire(PooledTransport transport) {
+        open.decrementAndGet();
+        retired.incrementAndGet();
+        try {
+            transport.transport().close();
+        } catch (MessagingException ignored) {
+            // Connection is being discarded either way.
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    final class PooledTransport {
+        private final Transport transport;
+        private long lastUsedNanos = System.nanoTime();
+        private int messagesSent;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        Transport transport() {
+            return transport;
+        }
+
+        void recordSent() {
+            messagesSent++;
+        }
+
+        private void touch() {
+            lastUsedNanos = System.nanoTime();
+        }
+
+        private boolean reusable(long nowNanos) {
+            return messagesSent < maxMessagesPerConnection && nowNanos - lastUsedNanos < idleTimeoutNanos;
+        }
+
+        /**
+         * {@link Transport#isConnected()} costs a NOOP round trip, so only check connections that sat idle.
+         */
+        private boolean validate() {
+            if (System.nanoTime() - lastUsedNanos < VALIDATE_AFTER_IDLE_NANOS) return true;
+            return transport.isConnected();
+        }
+    }
+}
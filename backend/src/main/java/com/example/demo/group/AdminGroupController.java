@@ -2,6 +2,9 @@ package com.example.demo.group;
 
 import com.example.demo.auth.AuthService;
 import com.example.demo.auth.Member;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -10,29 +13,57 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin/groups")
 public class AdminGroupController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final AuthService authService;
     private final DepartmentGroupService groupService;
+    private final GroupMembershipImportService importService;
 
-    public AdminGroupController(AuthService authService, DepartmentGroupService groupService) {
+    public AdminGroupController(
+            AuthService authService,
+            DepartmentGroupService groupService,
+            GroupMembershipImportService importService
+    ) {
         this.authService = authService;
         this.groupService = groupService;
+        this.importService = importService;
     }
 
+    /**
+     * Groups with member counts and supervisor only; members of one group come from {@link #members}.
+     */
     @GetMapping
-    public List<GroupResponse> list(
-            @RequestHeader(value = "Authorization", required = false) String authorization
+    public PageResponse<GroupResponse> list(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestParam(value = "page", required = false, defaultValue = "0") int page,
+            @RequestParam(value = "size", required = false, defaultValue = "20") int size
+    ) {
+        authService.requireAdmin(authorization);
+        return PageResponse.from(groupService.listSummaries(pageRequest(page, size)).map(GroupResponse::from));
+    }
+
+    @GetMapping("/{groupId}/members")
+    public PageResponse<GroupMemberResponse> members(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @PathVariable Long groupId,
+            @RequestParam(value = "page", required = false, defaultValue = "0") int page,
+            @RequestParam(value = "size", required = false, defaultValue = "50") int size
     ) {
         authService.requireAdmin(authorization);
-        return groupService.listAll().stream().map(GroupResponse::from).toList();
+        return PageResponse.from(groupService.listMembers(groupId, pageRequest(page, size)).map(GroupMemberResponse::from));
     }
 
     @PostMapping
@@ -41,7 +72,17 @@ public class AdminGroupController {
             @RequestBody CreateGroupRequest request
     ) {
         Member admin = authService.requireAdmin(authorization);
-        return GroupResponse.from(groupService.createGroup(admin, request.name()));
+        return summary(groupService.createGroup(admin, request.name(), request.parentId()).getId());
+    }
+
+    @PatchMapping("/{groupId}/parent")
+    public GroupResponse move(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @PathVariable Long groupId,
+            @RequestBody MoveGroupRequest request
+    ) {
+        Member admin = authService.requireAdmin(authorization);
+        return summary(groupService.moveGroup(admin, groupId, request == null ? null : request.parentId()).getId());
     }
 
     @PatchMapping("/{groupId}/members/{memberId}")
@@ -51,7 +92,7 @@ public class AdminGroupController {
             @PathVariable Long memberId
     ) {
         Member admin = authService.requireAdmin(authorization);
-        return GroupResponse.from(groupService.addMember(admin, groupId, memberId));
+        return summary(groupService.addMember(admin, groupId, memberId).getId());
     }
 
     @DeleteMapping("/{groupId}/members/{memberId}")
@@ -61,7 +102,7 @@ public class AdminGroupController {
             @PathVariable Long memberId
     ) {
         Member admin = authService.requireAdmin(authorization);
-        return GroupResponse.from(groupService.removeMember(admin, groupId, memberId));
+        return summary(groupService.removeMember(admin, groupId, memberId).getId());
     }
 
     @PatchMapping("/{groupId}/supervisor/{memberId}")
@@ -71,22 +112,108 @@ public class AdminGroupController {
             @PathVariable Long memberId
     ) {
         Member admin = authService.requireAdmin(authorization);
-        return GroupResponse.from(groupService.setSupervisor(admin, groupId, memberId));
+        return summary(groupService.setSupervisor(admin, groupId, memberId).getId());
     }
 
-    public record CreateGroupRequest(String name) {
+    /**
+     * Sets the members of each listed group to exactly the given employee ids; see
+     * {@link GroupMembershipImportService}.
+     */
+    @PostMapping(value = "/memberships/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ImportResponse importJson(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestParam(value = "dryRun", required = false, defaultValue = "false") boolean dryRun,
+            @RequestBody ImportRequest request
+    ) {
+        Member admin = authService.requireAdmin(authorization);
+        Map<String, List<String>> desired = new LinkedHashMap<>();
+        if (request != null && request.groups() != null) {
+            for (ImportGroupRequest group : request.groups()) {
+                desired.computeIfAbsent(group.groupName() == null ? "" : group.groupName(), name -> new ArrayList<>())
+                        .addAll(group.employeeIds() == null ? List.of() : group.employeeIds());
+            }
+        }
+        return ImportResponse.from(importService.importMemberships(admin, desired, dryRun));
     }
 
-    public record GroupResponse(Long id, String name, LocalDateTime createdAt, List<GroupMemberResponse> members) {
-        static GroupResponse from(DepartmentGroup group) {
+    @PostMapping(value = "/memberships/import", consumes = "text/csv")
+    public ImportResponse importCsv(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestParam(value = "dryRun", required = false, defaultValue = "false") boolean dryRun,
+            @RequestBody String body
+    ) {
+        Member admin = authService.requireAdmin(authorization);
+        return ImportResponse.from(importService.importMemberships(admin, GroupMembershipImportService.parseCsv(body), dryRun));
+    }
+
+    private GroupResponse summary(Long groupId) {
+        return GroupResponse.from(groupService.requireSummary(groupId));
+    }
+
+    private PageRequest pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    }
+
+    public record CreateGroupRequest(String name, Long parentId) {
+    }
+
+    public record MoveGroupRequest(Long parentId) {
+    }
+
+    public record ImportRequest(List<ImportGroupRequest> groups) {
+    }
+
+    public record ImportGroupRequest(String groupName, List<String> employeeIds) {
+    }
+
+    public record ImportResponse(
+            boolean dryRun,
+            int totalAdded,
+            int totalRemoved,
+            int unknownEmployeeCount,
+            List<String> unknownEmployeeIds,
+            List<GroupMembershipImportService.GroupResult> groups
+    ) {
+        static ImportResponse from(GroupMembershipImportService.ImportResult result) {
+            return new ImportResponse(
+                    result.dryRun(),
+                    result.totalAdded(),
+                    result.totalRemoved(),
+                    result.unknownEmployeeCount(),
+                    result.unknownEmployeeIds(),
+                    result.groups()
+            );
+        }
+    }
+
+    public record PageResponse<T>(List<T> items, int page, int size, long totalElements, int totalPages) {
+        static <T> PageResponse<T> from(Page<T> page) {
+            return new PageResponse<>(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages());
+        }
+    }
+
+    public record GroupResponse(
+            Long id,
+            String name,
+            LocalDateTime createdAt,
+            long memberCount,
+            Long supervisorMemberId,
+            String supervisorEmployeeId,
+            String supervisorName,
+            Long parentId,
+            String parentName
+    ) {
+        static GroupResponse from(DepartmentGroupRepository.GroupSummary group) {
             return new GroupResponse(
                     group.getId(),
                     group.getName(),
                     group.getCreatedAt(),
-                    group.getMemberships().stream()
-                            .map(GroupMemberResponse::from)
-                            .sorted((a, b) -> Long.compare(a.memberId(), b.memberId()))
-                            .toList()
+                    group.getMemberCount(),
+                    group.getSupervisorMemberId(),
+                    group.getSupervisorEmployeeId(),
+                    group.getSupervisorName(),
+                    group.getParentId(),
+                    group.getParentName()
             );
         }
     }
@@ -7,6 +7,8 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
@@ -29,6 +31,13 @@ public class DepartmentGroup {
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    /**
+     * Direct parent; the full ancestry is kept in {@link DepartmentGroupClosure}.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    private DepartmentGroup parent;
+
     @OneToMany(mappedBy = "group", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private Set<DepartmentGroupMember> memberships = new LinkedHashSet<>();
 
@@ -58,6 +67,14 @@ public class DepartmentGroup {
         return createdAt;
     }
 
+    public DepartmentGroup getParent() {
+        return parent;
+    }
+
+    void setParent(DepartmentGroup parent) {
+        this.parent = parent;
+    }
+
     public Set<DepartmentGroupMember> getMemberships() {
         return memberships;
     }
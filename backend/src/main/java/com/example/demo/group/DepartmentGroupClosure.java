@@ -0,0 +1,48 @@
+package com.example.demo.group;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+import java.io.Serializable;
+
+/**
+ * Closure table row: {@code ancestorId} is {@code depth} levels above {@code descendantId}. Every group has a
+ * row for itself at depth 0. Rows are written only through {@link DepartmentGroupClosureRepository}.
+ */
+@Entity
+@Table(name = "department_group_closure")
+@IdClass(DepartmentGroupClosure.Key.class)
+public class DepartmentGroupClosure {
+
+    @Id
+    @Column(name = "ancestor_id", nullable = false)
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id", nullable = false)
+    private Long descendantId;
+
+    @Column(nullable = false)
+    private int depth;
+
+    protected DepartmentGroupClosure() {
+    }
+
+    public Long getAncestorId() {
+        return ancestorId;
+    }
+
+    public Long getDescendantId() {
+        return descendantId;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public record Key(Long ancestorId, Long descendantId) implements Serializable {
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.demo.group;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface DepartmentGroupClosureRepository extends JpaRepository<DepartmentGroupClosure, DepartmentGroupClosure.Key> {
+
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+    /**
+     * {@code groupId} and every group below it.
+     */
+    @Query("select c.descendantId from DepartmentGroupClosure c where c.ancestorId = :groupId")
+    List<Long> findDescendantIds(@Param("groupId") Long groupId);
+
+    /**
+     * Supervisors of {@code groupId} and its ancestors, nearest first.
+     */
+    @Query("""
+            select gm.member.id
+            from DepartmentGroupClosure c
+            join DepartmentGroupMember gm on gm.group.id = c.ancestorId and gm.supervisor = true
+            where c.descendantId = :groupId
+            order by c.depth asc
+            """)
+    List<Long> findSupervisorIdsUpTree(@Param("groupId") Long groupId);
+
+    @Query("""
+            select count(c) > 0
+            from DepartmentGroupClosure c
+            join DepartmentGroupMember gm on gm.group.id = c.ancestorId and gm.supervisor = true
+            where c.descendantId = :groupId and gm.member.id = :memberId
+            """)
+    boolean existsSupervisorUpTree(@Param("groupId") Long groupId, @Param("memberId") Long memberId);
+
+    /**
+     * Every group in the subtrees of the groups {@code memberId} supervises.
+     */
+    @Query("""
+            select distinct c.descendantId
+            from DepartmentGroupMember gm
+            join DepartmentGroupClosure c on c.ancestorId = gm.group.id
+            where gm.member.id = :memberId and gm.supervisor = true
+            """)
+    List<Long> findSupervisedGroupIds(@Param("memberId") Long memberId);
+
+    /**
+     * Locks the hierarchy sentinel row until the transaction ends; empty if the row is missing.
+     */
+    @Query(value = "select id from department_group_hierarchy_lock where id = 1 for update", nativeQuery = true)
+    List<Integer> lockHierarchy();
+
+    @Modifying
+    @Query(value = "insert into department_group_closure (ancestor_id, descendant_id, depth) values (:groupId, :groupId, 0)", nativeQuery = true)
+    int insertSelf(@Param("groupId") Long groupId);
+
+    /**
+     * Cuts the subtree rooted at {@code groupId} off its current ancestors; rows inside the subtree stay.
+     */
+    @Modifying
+    @Query(value = """
+            delete from department_group_closure
+            where descendant_id in (select descendant_id from department_group_closure where ancestor_id = :groupId)
+              and ancestor_id not in (select descendant_id from department_group_closure where ancestor_id = :groupId)
+            """, nativeQuery = true)
+    int detachSubtree(@Param("groupId") Long groupId);
+
+    /**
+     * Links every node of the subtree rooted at {@code groupId} to {@code parentId} and its ancestors.
+     */
+    @Modifying
+    @Query(value = """
+            insert into department_group_closure (ancestor_id, descendant_id, depth)
+            select p.ancestor_id, s.descendant_id, p.depth + s.depth + 1
+            from department_group_closure p
+            cross join department_group_closure s
+            where p.descendant_id = :parentId and s.ancestor_id = :groupId
+            """, nativeQuery = true)
+    int attachSubtree(@Param("groupId") Long groupId, @Param("parentId") Long parentId);
+}
@@ -0,0 +1,24 @@
+package com.example.demo.group;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Sentinel row locked with {@code FOR UPDATE} by {@link GroupHierarchyService#lockHierarchy()}. The table holds
+ * exactly one row, with id 1.
+ */
+@Entity
+@Table(name = "department_group_hierarchy_lock")
+public class DepartmentGroupHierarchyLock {
+
+    @Id
+    private Integer id;
+
+    protected DepartmentGroupHierarchyLock() {
+    }
+
+    public Integer getId() {
+        return id;
+    }
+}
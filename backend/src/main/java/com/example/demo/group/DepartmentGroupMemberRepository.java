@@ -1,8 +1,12 @@
 package com.example.demo.group;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,8 +19,36 @@ public interface DepartmentGroupMemberRepository extends JpaRepository<Departmen
 
     List<DepartmentGroupMember> findByMember_Id(Long memberId);
 
+    @Query(value = """
+            select gm
+            from DepartmentGroupMember gm
+            join fetch gm.member m
+            where gm.group.id = :groupId
+            order by gm.supervisor desc, m.employeeId asc
+            """,
+            countQuery = "select count(gm) from DepartmentGroupMember gm where gm.group.id = :groupId")
+    Page<DepartmentGroupMember> findPageByGroupId(@Param("groupId") Long groupId, Pageable pageable);
+
     @Query("select gm from DepartmentGroupMember gm join fetch gm.group where gm.member.id = :memberId")
     List<DepartmentGroupMember> findByMemberIdWithGroup(Long memberId);
 
     void deleteByGroup_IdAndMember_Id(Long groupId, Long memberId);
+
+    @Query("select gm.group.id as groupId, gm.member.id as memberId, gm.supervisor as supervisor from DepartmentGroupMember gm")
+    List<MembershipRow> findAllMembershipRows();
+
+    @Query("""
+            select gm.group.id as groupId, gm.member.id as memberId, gm.supervisor as supervisor
+            from DepartmentGroupMember gm
+            where gm.group.id in :groupIds
+            """)
+    List<MembershipRow> findMembershipRowsByGroupIdIn(@Param("groupIds") Collection<Long> groupIds);
+
+    interface MembershipRow {
+        Long getGroupId();
+
+        Long getMemberId();
+
+        boolean isSupervisor();
+    }
 }
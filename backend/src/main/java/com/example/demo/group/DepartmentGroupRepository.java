@@ -1,17 +1,98 @@
 package com.example.demo.group;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface DepartmentGroupRepository extends JpaRepository<DepartmentGroup, Long> {
     boolean existsByNameIgnoreCase(String name);
 
-    @EntityGraph(attributePaths = {"memberships", "memberships.member"})
+    @Query("select g from DepartmentGroup g where lower(g.name) in :names")
+    List<DepartmentGroup> findByLowerNameIn(@Param("names") Collection<String> names);
+
     List<DepartmentGroup> findAllByOrderByNameAsc();
 
+    /**
+     * Locks the rows of groups whose place in the tree is about to change, in id order to avoid deadlocks.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select g from DepartmentGroup g where g.id in :ids order by g.id")
+    List<DepartmentGroup> lockAllByIdIn(@Param("ids") Collection<Long> ids);
+
     @EntityGraph(attributePaths = {"memberships", "memberships.member"})
     Optional<DepartmentGroup> findWithMembershipsById(Long id);
+
+    /**
+     * One row per group with its member count and current supervisor, computed in the database.
+     */
+    @Query(value = """
+            select g.id as id,
+                   g.name as name,
+                   g.createdAt as createdAt,
+                   count(gm.id) as memberCount,
+                   s.id as supervisorMemberId,
+                   s.employeeId as supervisorEmployeeId,
+                   s.name as supervisorName,
+                   p.id as parentId,
+                   p.name as parentName
+            from DepartmentGroup g
+            left join g.parent p
+            left join g.memberships gm
+            left join DepartmentGroupMember sgm on sgm.group = g and sgm.supervisor = true
+            left join sgm.member s
+            group by g.id, g.name, g.createdAt, s.id, s.employeeId, s.name, p.id, p.name
+            order by g.name asc
+            """,
+            countQuery = "select count(g) from DepartmentGroup g")
+    Page<GroupSummary> findSummaries(Pageable pageable);
+
+    @Query("""
+            select g.id as id,
+                   g.name as name,
+                   g.createdAt as createdAt,
+                   count(gm.id) as memberCount,
+                   s.id as supervisorMemberId,
+                   s.employeeId as supervisorEmployeeId,
+                   s.name as supervisorName,
+                   p.id as parentId,
+                   p.name as parentName
+            from DepartmentGroup g
+            left join g.parent p
+            left join g.memberships gm
+            left join DepartmentGroupMember sgm on sgm.group = g and sgm.supervisor = true
+            left join sgm.member s
+            where g.id = :groupId
+            group by g.id, g.name, g.createdAt, s.id, s.employeeId, s.name, p.id, p.name
+            """)
+    Optional<GroupSummary> findSummaryById(@Param("groupId") Long groupId);
+
+    interface GroupSummary {
+        Long getId();
+
+        String getName();
+
+        LocalDateTime getCreatedAt();
+
+        long getMemberCount();
+
+        Long getSupervisorMemberId();
+
+        String getSupervisorEmployeeId();
+
+        String getSupervisorName();
+
+        Long getParentId();
+
+        String getParentName();
+    }
 }
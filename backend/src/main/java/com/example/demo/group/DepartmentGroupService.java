@@ -3,8 +3,11 @@ package com.example.demo.group;
 import com.example.demo.audit.AuditLogService;
 import com.example.demo.auth.Member;
 import com.example.demo.auth.MemberRepository;
+import com.example.demo.reference.ReferenceDataService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
@@ -12,6 +15,8 @@ import org.springframework.web.server.ResponseStatusException;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CONFLICT;
@@ -25,28 +30,55 @@ public class DepartmentGroupService {
     private final MemberRepository memberRepository;
     private final AuditLogService auditLogService;
     private final ObjectMapper objectMapper;
+    private final GroupMembershipIndex membershipIndex;
+    private final GroupHierarchyService hierarchyService;
+    private final ReferenceDataService referenceDataService;
 
     public DepartmentGroupService(
             DepartmentGroupRepository groupRepository,
             DepartmentGroupMemberRepository groupMemberRepository,
             MemberRepository memberRepository,
             AuditLogService auditLogService,
-            ObjectMapper objectMapper
+            ObjectMapper objectMapper,
+            GroupMembershipIndex membershipIndex,
+            GroupHierarchyService hierarchyService,
+            ReferenceDataService referenceDataService
     ) {
         this.groupRepository = groupRepository;
         this.groupMemberRepository = groupMemberRepository;
         this.memberRepository = memberRepository;
         this.auditLogService = auditLogService;
         this.objectMapper = objectMapper;
+        this.membershipIndex = membershipIndex;
+        this.hierarchyService = hierarchyService;
+        this.referenceDataService = referenceDataService;
     }
 
-    @Transactional(readOnly = true)
     public List<DepartmentGroup> listAll() {
-        return groupRepository.findAllByOrderByNameAsc();
+        return referenceDataService.snapshot().groups();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<DepartmentGroupRepository.GroupSummary> listSummaries(Pageable pageable) {
+        return groupRepository.findSummaries(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public DepartmentGroupRepository.GroupSummary requireSummary(Long groupId) {
+        return groupRepository.findSummaryById(groupId)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Group not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<DepartmentGroupMember> listMembers(Long groupId, Pageable pageable) {
+        if (!groupRepository.existsById(groupId)) {
+            throw new ResponseStatusException(NOT_FOUND, "Group not found");
+        }
+        return groupMemberRepository.findPageByGroupId(groupId, pageable);
     }
 
     @Transactional
-    public DepartmentGroup createGroup(Member actor, String name) {
+    public DepartmentGroup createGroup(Member actor, String name, Long parentId) {
         String normalized = name == null ? "" : name.trim();
         if (normalized.isBlank()) {
             throw new ResponseStatusException(BAD_REQUEST, "Group name is required");
@@ -54,7 +86,15 @@ public class DepartmentGroupService {
         if (groupRepository.existsByNameIgnoreCase(normalized)) {
             throw new ResponseStatusException(CONFLICT, "Group name already exists");
         }
-        DepartmentGroup created = groupRepository.save(new DepartmentGroup(normalized));
+        // The new group copies the parent's ancestor rows, which must not change under a concurrent move.
+        hierarchyService.lockHierarchy();
+        DepartmentGroup parent = parentId == null ? null : groupRepository.findById(parentId)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Parent group not found"));
+        DepartmentGroup group = new DepartmentGroup(normalized);
+        group.setParent(parent);
+        DepartmentGroup created = groupRepository.save(group);
+        hierarchyService.attachNew(created.getId(), parentId);
+        referenceDataService.rebuildAfterCommit();
         auditLogService.record(
                 actor,
                 "GROUP_CREATE",
@@ -67,6 +107,36 @@ public class DepartmentGroupService {
         return created;
     }
 
+    /**
+     * Moves {@code groupId} with its whole subtree under {@code parentId}, or to the top level when null.
+     */
+    @Transactional
+    public DepartmentGroup moveGroup(Member actor, Long groupId, Long parentId) {
+        hierarchyService.lockHierarchy();
+        List<Long> lockIds = parentId == null ? List.of(groupId) : List.of(groupId, parentId);
+        List<DepartmentGroup> locked = groupRepository.lockAllByIdIn(lockIds);
+        DepartmentGroup group = locked.stream().filter(g -> g.getId().equals(groupId)).findFirst()
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Group not found"));
+        DepartmentGroup parent = parentId == null ? null : locked.stream().filter(g -> g.getId().equals(parentId)).findFirst()
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Parent group not found"));
+        Long previousParentId = group.getParent() == null ? null : group.getParent().getId();
+        if (Objects.equals(previousParentId, parentId)) {
+            return group;
+        }
+        if (parentId != null && hierarchyService.isInSubtree(groupId, parentId)) {
+            throw new ResponseStatusException(BAD_REQUEST, "Group cannot move under itself or its subgroups");
+        }
+        hierarchyService.move(groupId, parentId);
+        group.setParent(parent);
+        groupRepository.save(group);
+        referenceDataService.rebuildAfterCommit();
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("previousParentId", previousParentId);
+        metadata.put("parentId", parentId);
+        auditLogService.record(actor, "GROUP_MOVE", "GROUP", groupId, null, null, toJson(metadata));
+        return group;
+    }
+
     @Transactional
     public DepartmentGroup addMember(Member actor, Long groupId, Long memberId) {
         DepartmentGroup group = groupRepository.findWithMembershipsById(groupId)
@@ -78,6 +148,7 @@ public class DepartmentGroupService {
         if (!groupMemberRepository.existsByGroup_IdAndMember_Id(groupId, memberId)) {
             group.addMembership(new DepartmentGroupMember(group, member, false));
             groupRepository.save(group);
+            membershipIndex.addMemberAfterCommit(groupId, memberId);
             added = true;
         }
         DepartmentGroup updated = groupRepository.findWithMembershipsById(groupId)
@@ -103,6 +174,9 @@ public class DepartmentGroupService {
         Map<String, Object> before = groupSnapshot(group);
         boolean existed = groupMemberRepository.existsByGroup_IdAndMember_Id(groupId, memberId);
         groupMemberRepository.deleteByGroup_IdAndMember_Id(groupId, memberId);
+        if (existed) {
+            membershipIndex.removeMemberAfterCommit(groupId, memberId);
+        }
         DepartmentGroup updated = groupRepository.findWithMembershipsById(groupId)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Group not found"));
         if (existed) {
@@ -133,6 +207,7 @@ public class DepartmentGroupService {
         group.getMemberships().forEach(m -> m.setSupervisor(false));
         target.setSupervisor(true);
         groupRepository.save(group);
+        membershipIndex.setSupervisorAfterCommit(groupId, memberId);
         DepartmentGroup updated = groupRepository.findWithMembershipsById(groupId)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Group not found"));
         if (previousSupervisorId == null || !previousSupervisorId.equals(memberId)) {
@@ -157,33 +232,48 @@ public class DepartmentGroupService {
         return groupMemberRepository.findByMemberIdWithGroup(memberId);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Resolves from the reference-data snapshot, falling back to the database for groups created on another
+     * node since the last rebuild. The returned entity is detached and read-only.
+     */
     public DepartmentGroup requireGroup(Long groupId) {
-        return groupRepository.findById(groupId)
-                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Group not found"));
+        Optional<DepartmentGroup> cached = referenceDataService.findGroup(groupId);
+        if (cached.isPresent()) return cached.get();
+        DepartmentGroup group = groupId == null ? null : groupRepository.findById(groupId).orElse(null);
+        if (group == null) {
+            throw new ResponseStatusException(NOT_FOUND, "Group not found");
+        }
+        referenceDataService.rebuild();
+        return group;
     }
 
-    @Transactional(readOnly = true)
     public boolean isMemberInGroup(Long groupId, Long memberId) {
-        return groupMemberRepository.existsByGroup_IdAndMember_Id(groupId, memberId);
+        return membershipIndex.isMember(groupId, memberId);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * True if the group or one of its ancestors has a supervisor who can approve its urgent tickets.
+     */
     public boolean hasSupervisor(Long groupId) {
-        return groupMemberRepository.findByGroup_IdAndSupervisorTrue(groupId).isPresent();
+        return hierarchyService.nearestSupervisorId(groupId).isPresent();
     }
 
-    @Transactional(readOnly = true)
     public boolean isSupervisor(Long groupId, Long memberId) {
-        return groupMemberRepository.findByGroup_IdAndMember_Id(groupId, memberId)
-                .map(DepartmentGroupMember::isSupervisor)
-                .orElse(false);
+        return membershipIndex.isSupervisor(groupId, memberId);
+    }
+
+    /**
+     * True if {@code memberId} supervises the group or any group above it.
+     */
+    public boolean isSupervisorOver(Long groupId, Long memberId) {
+        return hierarchyService.isSupervisorOver(groupId, memberId);
     }
 
     private Map<String, Object> groupSnapshot(DepartmentGroup group) {
         Map<String, Object> out = new LinkedHashMap<>();
         out.put("id", group.getId());
         out.put("name", group.getName());
+        out.put("parentId", group.getParent() == null ? null : group.getParent().getId());
         out.put("members", group.getMemberships().stream()
                 .map(m -> Map.of(
                         "memberId", m.getMember().getId(),
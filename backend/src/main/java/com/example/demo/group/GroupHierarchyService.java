@@ -0,0 +1,95 @@
+package com.example.demo.group;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Subtree and supervisor-path lookups over the department tree, each answered by one query against
+ * {@code department_group_closure}. A group's own supervisor is checked in {@link GroupMembershipIndex} first,
+ * so only lookups that really need an ancestor reach the database.
+ */
+@Service
+public class GroupHierarchyService {
+
+    private final DepartmentGroupClosureRepository closureRepository;
+    private final GroupMembershipIndex membershipIndex;
+
+    public GroupHierarchyService(DepartmentGroupClosureRepository closureRepository, GroupMembershipIndex membershipIndex) {
+        this.closureRepository = closureRepository;
+        this.membershipIndex = membershipIndex;
+    }
+
+    /**
+     * {@code groupId} and every group below it.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> descendantIds(Long groupId) {
+        if (groupId == null) return List.of();
+        return closureRepository.findDescendantIds(groupId);
+    }
+
+    /**
+     * The supervisor of {@code groupId}, or else of its nearest ancestor that has one.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> nearestSupervisorId(Long groupId) {
+        if (groupId == null) return Optional.empty();
+        Optional<Long> own = membershipIndex.supervisorOf(groupId);
+        if (own.isPresent()) return own;
+        return closureRepository.findSupervisorIdsUpTree(groupId).stream().findFirst();
+    }
+
+    /**
+     * True if {@code memberId} supervises {@code groupId} or any group above it.
+     */
+    @Transactional(readOnly = true)
+    public boolean isSupervisorOver(Long groupId, Long memberId) {
+        if (groupId == null || memberId == null) return false;
+        if (membershipIndex.isSupervisor(groupId, memberId)) return true;
+        return closureRepository.existsSupervisorUpTree(groupId, memberId);
+    }
+
+    /**
+     * Every group in the subtrees that {@code memberId} supervises; empty for non-supervisors.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> supervisedGroupIds(Long memberId) {
+        if (memberId == null) return List.of();
+        return closureRepository.findSupervisedGroupIds(memberId);
+    }
+
+    /**
+     * True if {@code candidateId} is {@code groupId} itself or lies below it.
+     */
+    @Transactional(readOnly = true)
+    public boolean isInSubtree(Long groupId, Long candidateId) {
+        return closureRepository.existsByAncestorIdAndDescendantId(groupId, candidateId);
+    }
+
+    /**
+     * Serializes changes to the tree for the rest of the transaction. Must be taken before a move's cycle check:
+     * two moves that each look valid on their own can still form a cycle when both commit.
+     */
+    void lockHierarchy() {
+        if (closureRepository.lockHierarchy().isEmpty()) {
+            throw new IllegalStateException("department_group_hierarchy_lock row is missing");
+        }
+    }
+
+    void attachNew(Long groupId, Long parentId) {
+        closureRepository.insertSelf(groupId);
+        if (parentId != null) {
+            closureRepository.attachSubtree(groupId, parentId);
+        }
+    }
+
+    void move(Long groupId, Long parentId) {
+        closureRepository.detachSubtree(groupId);
+        if (parentId != null) {
+            closureRepository.attachSubtree(groupId, parentId);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.demo.group;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC batch writes for {@code department_group_members}, used by bulk imports where saving one entity per
+ * membership would cost a round trip each.
+ */
+@Repository
+public class GroupMembershipBatchWriter {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT = """
+            insert into department_group_members (group_id, member_id, supervisor, created_at)
+            values (?, ?, false, ?)
+            on conflict (group_id, member_id) do nothing
+            """;
+    private static final String DELETE = "delete from department_group_members where group_id = ? and member_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GroupMembershipBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts plain (non-supervisor) memberships; pairs that already exist are skipped.
+     */
+    public void insert(List<Pair> pairs, LocalDateTime createdAt) {
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+        List<Object[]> args = new ArrayList<>(pairs.size());
+        for (Pair pair : pairs) {
+            args.add(new Object[]{pair.groupId(), pair.memberId(), timestamp});
+        }
+        run(INSERT, args);
+    }
+
+    public void delete(List<Pair> pairs) {
+        List<Object[]> args = new ArrayList<>(pairs.size());
+        for (Pair pair : pairs) {
+            args.add(new Object[]{pair.groupId(), pair.memberId()});
+        }
+        run(DELETE, args);
+    }
+
+    private void run(String sql, List<Object[]> args) {
+        for (int from = 0; from < args.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, args.subList(from, Math.min(from + BATCH_SIZE, args.size())));
+        }
+    }
+
+    public record Pair(long groupId, long memberId) {
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.demo.group;
+
+import com.example.demo.audit.AuditLogService;
+import com.example.demo.auth.Member;
+import com.example.demo.auth.MemberRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Replaces the member set of each listed group with the desired set from an HR export. The diff against the
+ * current memberships is computed in memory and applied with JDBC batches; each changed group gets one audit
+ * entry holding only the delta. Groups not listed are left alone, and employee ids without an account are
+ * skipped and reported back.
+ */
+@Service
+public class GroupMembershipImportService {
+
+    static final String AUDIT_ACTION = "GROUP_MEMBERS_IMPORT";
+
+    private static final Logger log = LoggerFactory.getLogger(GroupMembershipImportService.class);
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_UNKNOWN = 100;
+
+    private final DepartmentGroupRepository groupRepository;
+    private final DepartmentGroupMemberRepository groupMemberRepository;
+    private final MemberRepository memberRepository;
+    private final GroupMembershipBatchWriter batchWriter;
+    private final GroupMembershipIndex membershipIndex;
+    private final AuditLogService auditLogService;
+    private final ObjectMapper objectMapper;
+    private final int maxMemberships;
+
+    public GroupMembershipImportService(
+            DepartmentGroupRepository groupRepository,
+            DepartmentGroupMemberRepository groupMemberRepository,
+            MemberRepository memberRepository,
+            GroupMembershipBatchWriter batchWriter,
+            GroupMembershipIndex membershipIndex,
+            AuditLogService auditLogService,
+            ObjectMapper objectMapper,
+            @Value("${app.group.import-max-memberships:50000}") int maxMemberships
+    ) {
+        this.groupRepository = groupRepository;
+        this.groupMemberRepository = groupMemberRepository;
+        this.memberRepository = memberRepository;
+        this.batchWriter = batchWriter;
+        this.membershipIndex = membershipIndex;
+        this.auditLogService = auditLogService;
+        this.objectMapper = objectMapper;
+        this.maxMemberships = Math.max(maxMemberships, 1);
+    }
+
+    /**
+     * @param desiredByGroupName employee ids per group name; an empty set removes every member of that group
+     * @param dryRun             computes and returns the diff without writing anything
+     */
+    @Transactional
+    public ImportResult importMemberships(Member actor, Map<String, ? extends Collection<String>> desiredByGroupName, boolean dryRun) {
+        long startedAt = System.currentTimeMillis();
+        Map<String, Set<String>> desired = normalize(desiredByGroupName);
+        if (desired.isEmpty()) {
+            throw new ResponseStatusException(BAD_REQUEST, "No groups to import");
+        }
+        int requested = desired.values().stream().mapToInt(Set::size).sum();
+        if (requested > maxMemberships) {
+            throw new ResponseStatusException(BAD_REQUEST, "Import exceeds " + maxMemberships + " memberships");
+        }
+
+        Map<String, DepartmentGroup> groupsByName = new HashMap<>();
+        for (DepartmentGroup group : inChunks(desired.keySet(), groupRepository::findByLowerNameIn)) {
+            groupsByName.put(group.getName().toLowerCase(Locale.ROOT), group);
+        }
+        List<String> unknownGroups = desired.keySet().stream().filter(name -> !groupsByName.containsKey(name)).toList();
+        if (!unknownGroups.isEmpty()) {
+            throw new ResponseStatusException(BAD_REQUEST, "Unknown groups: " + String.join(", ", unknownGroups));
+        }
+
+        Set<String> employeeIds = new HashSet<>();
+        desired.values().forEach(employeeIds::addAll);
+        Map<String, Long> memberIdByEmployeeId = new HashMap<>(employeeIds.size() * 2);
+        for (MemberRepository.MemberKey key : inChunks(employeeIds, memberRepository::findKeysByEmployeeIdIn)) {
+            memberIdByEmployeeId.put(key.getEmployeeId(), key.getId());
+        }
+        Set<String> unknownEmployeeIds = new TreeSet<>(employeeIds);
+        unknownEmployeeIds.removeAll(memberIdByEmployeeId.keySet());
+
+        List<Long> groupIds = desired.keySet().stream().map(name -> groupsByName.get(name).getId()).toList();
+        Map<Long, Set<Long>> currentByGroup = new HashMap<>();
+        Map<Long, Long> supervisorByGroup = new HashMap<>();
+        for (DepartmentGroupMemberRepository.MembershipRow row : inChunks(groupIds, groupMemberRepository::findMembershipRowsByGroupIdIn)) {
+            currentByGroup.computeIfAbsent(row.getGroupId(), id -> new HashSet<>()).add(row.getMemberId());
+            if (row.isSupervisor()) supervisorByGroup.put(row.getGroupId(), row.getMemberId());
+        }
+
+        List<GroupDiff> diffs = new ArrayList<>(desired.size());
+        desired.forEach((name, wanted) -> {
+            DepartmentGroup group = groupsByName.get(name);
+            Set<Long> current = currentByGroup.getOrDefault(group.getId(), Set.of());
+            Set<Long> target = new HashSet<>(wanted.size() * 2);
+            for (String employeeId : wanted) {
+                Long memberId = memberIdByEmployeeId.get(employeeId);
+                if (memberId != null) target.add(memberId);
+            }
+            long[] added = target.stream().filter(id -> !current.contains(id)).mapToLong(Long::longValue).sorted().toArray();
+            long[] removed = current.stream().filter(id -> !target.contains(id)).mapToLong(Long::longValue).sorted().toArray();
+            Long supervisorId = supervisorByGroup.get(group.getId());
+            Long supervisorRemoved = supervisorId != null && !target.contains(supervisorId) ? supervisorId : null;
+            diffs.add(new GroupDiff(group, added, removed, current.size() - removed.length, supervisorRemoved));
+        });
+
+        if (!dryRun) {
+            apply(actor, diffs);
+        }
+        ImportResult result = new ImportResult(
+                dryRun,
+                diffs.stream().map(GroupDiff::toResult).toList(),
+                unknownEmployeeIds.stream().limit(MAX_REPORTED_UNKNOWN).toList(),
+                unknownEmployeeIds.size(),
+                diffs.stream().mapToInt(diff -> diff.added().length).sum(),
+                diffs.stream().mapToInt(diff -> diff.removed().length).sum()
+        );
+        log.info(
+                "group membership import dryRun={} groups={} added={} removed={} unknownEmployees={} durationMs={}",
+                dryRun,
+                diffs.size(),
+                result.totalAdded(),
+                result.totalRemoved(),
+                result.unknownEmployeeCount(),
+                System.currentTimeMillis() - startedAt
+        );
+        return result;
+    }
+
+    /**
+     * Parses {@code groupName,employeeId} rows. A header row, blank lines and surrounding double quotes are
+     * accepted; a group can only be emptied through the JSON form since CSV has no row for it.
+     */
+    public static Map<String, List<String>> parseCsv(String body) {
+        Map<String, List<String>> out = new LinkedHashMap<>();
+        if (body == null) return out;
+        String[] lines = body.split("\\r?\\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].strip();
+            if (line.isEmpty()) continue;
+            String[] cells = line.split(",", -1);
+            if (cells.length != 2) {
+                throw new ResponseStatusException(BAD_REQUEST, "CSV line " + (i + 1) + " must be groupName,employeeId");
+            }
+            String groupName = unquote(cells[0]);
+            String employeeId = unquote(cells[1]);
+            if (i == 0 && groupName.equalsIgnoreCase("groupName") && employeeId.equalsIgnoreCase("employeeId")) continue;
+            out.computeIfAbsent(groupName, name -> new ArrayList<>()).add(employeeId);
+        }
+        return out;
+    }
+
+    private void apply(Member actor, List<GroupDiff> diffs) {
+        List<GroupMembershipBatchWriter.Pair> inserts = new ArrayList<>();
+        List<GroupMembershipBatchWriter.Pair> deletes = new ArrayList<>();
+        Map<Long, long[]> addedByGroup = new HashMap<>();
+        Map<Long, long[]> removedByGroup = new HashMap<>();
+        for (GroupDiff diff : diffs) {
+            long groupId = diff.group().getId();
+            for (long memberId : diff.added()) inserts.add(new GroupMembershipBatchWriter.Pair(groupId, memberId));
+            for (long memberId : diff.removed()) deletes.add(new GroupMembershipBatchWriter.Pair(groupId, memberId));
+            if (diff.added().length > 0) addedByGroup.put(groupId, diff.added());
+            if (diff.removed().length > 0) removedByGroup.put(groupId, diff.removed());
+        }
+        batchWriter.delete(deletes);
+        batchWriter.insert(inserts, LocalDateTime.now());
+        membershipIndex.applyAfterCommit(addedByGroup, removedByGroup);
+
+        for (GroupDiff diff : diffs) {
+            if (diff.added().length == 0 && diff.removed().length == 0) continue;
+            Map<String, Object> delta = new LinkedHashMap<>();
+            delta.put("groupName", diff.group().getName());
+            delta.put("addedMemberIds", diff.added());
+            delta.put("removedMemberIds", diff.removed());
+            delta.put("supervisorRemoved", diff.supervisorRemoved());
+            auditLogService.record(actor, AUDIT_ACTION, "GROUP", diff.group().getId(), null, null, toJson(delta));
+        }
+    }
+
+    private static Map<String, Set<String>> normalize(Map<String, ? extends Collection<String>> source) {
+        Map<String, Set<String>> out = new LinkedHashMap<>();
+        if (source == null) return out;
+        source.forEach((name, employeeIds) -> {
+            String key = name == null ? "" : name.strip().toLowerCase(Locale.ROOT);
+            if (key.isEmpty()) {
+                throw new ResponseStatusException(BAD_REQUEST, "Group name is required");
+            }
+            Set<String> ids = out.computeIfAbsent(key, k -> new LinkedHashSet<>());
+            if (employeeIds == null) return;
+            for (String employeeId : employeeIds) {
+                String normalized = employeeId == null ? "" : employeeId.strip();
+                if (!normalized.isEmpty()) ids.add(normalized);
+            }
+        });
+        return out;
+    }
+
+    private static <K, R> List<R> inChunks(Collection<K> keys, Function<List<K>, List<R>> lookup) {
+        List<K> all = new ArrayList<>(keys);
+        List<R> out = new ArrayList<>(all.size());
+        for (int from = 0; from < all.size(); from += LOOKUP_CHUNK_SIZE) {
+            out.addAll(lookup.apply(all.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, all.size()))));
+        }
+        return out;
+    }
+
+    private static String unquote(String cell) {
+        String value = cell.strip();
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1).replace("\"\"", "\"").strip();
+        }
+        return value;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize audit payload", e);
+        }
+    }
+
+    private record GroupDiff(DepartmentGroup group, long[] added, long[] removed, int unchanged, Long supervisorRemoved) {
+        GroupResult toResult() {
+            return new GroupResult(group.getId(), group.getName(), added.length, removed.length, unchanged, supervisorRemoved != null);
+        }
+    }
+
+    public record ImportResult(
+            boolean dryRun,
+            List<GroupResult> groups,
+            List<String> unknownEmployeeIds,
+            int unknownEmployeeCount,
+            int totalAdded,
+            int totalRemoved
+    ) {
+    }
+
+    public record GroupResult(Long groupId, String groupName, int added, int removed, int unchanged, boolean supervisorRemoved) {
+    }
+}
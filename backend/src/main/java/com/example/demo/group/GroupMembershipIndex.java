@@ -0,0 +1,217 @@
+package com.example.demo.group;
+
+import com.example.demo.config.WorkloadExecutorConfig;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory copy of department memberships so membership and supervisor checks on the ticket path need no
+ * query. Member ids are kept as sorted {@code long[]} per group (and group ids per member) and looked up by
+ * binary search. The snapshot is immutable and swapped whole: readers never lock, and writers copy only the
+ * entries they change.
+ * <p>
+ * Changes made through {@link DepartmentGroupService} are applied after their transaction commits. A
+ * periodic full reload picks up changes made on other nodes or outside the service.
+ */
+@Component
+public class GroupMembershipIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupMembershipIndex.class);
+    private static final long[] NONE = new long[0];
+
+    private final DepartmentGroupMemberRepository groupMemberRepository;
+    private final Object writeLock = new Object();
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of(), Map.of());
+    private volatile long version;
+
+    public GroupMembershipIndex(DepartmentGroupMemberRepository groupMemberRepository) {
+        this.groupMemberRepository = groupMemberRepository;
+    }
+
+    @PostConstruct
+    void load() {
+        reload();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.group.index-refresh-ms:60000}",
+            initialDelayString = "${app.group.index-refresh-ms:60000}",
+            scheduler = WorkloadExecutorConfig.DEFAULT_SCHEDULER
+    )
+    public void reload() {
+        long startedAt = System.currentTimeMillis();
+        Snapshot loaded;
+        int rowCount;
+        while (true) {
+            long versionBefore = version;
+            List<DepartmentGroupMemberRepository.MembershipRow> rows = groupMemberRepository.findAllMembershipRows();
+            Map<Long, List<Long>> membersByGroup = new HashMap<>();
+            Map<Long, List<Long>> groupsByMember = new HashMap<>();
+            Map<Long, Long> supervisorByGroup = new HashMap<>();
+            for (DepartmentGroupMemberRepository.MembershipRow row : rows) {
+                membersByGroup.computeIfAbsent(row.getGroupId(), id -> new ArrayList<>()).add(row.getMemberId());
+                groupsByMember.computeIfAbsent(row.getMemberId(), id -> new ArrayList<>()).add(row.getGroupId());
+                if (row.isSupervisor()) supervisorByGroup.put(row.getGroupId(), row.getMemberId());
+            }
+            loaded = new Snapshot(toSortedArrays(membersByGroup), toSortedArrays(groupsByMember), supervisorByGroup);
+            rowCount = rows.size();
+            synchronized (writeLock) {
+                // A change committed while the rows were read may be missing from them; read again.
+                if (version != versionBefore) continue;
+                snapshot = loaded;
+                break;
+            }
+        }
+        log.debug(
+                "group membership index loaded memberships={} groups={} durationMs={}",
+                rowCount,
+                loaded.membersByGroup().size(),
+                System.currentTimeMillis() - startedAt
+        );
+    }
+
+    public boolean isMember(Long groupId, Long memberId) {
+        if (groupId == null || memberId == null) return false;
+        return Arrays.binarySearch(snapshot.membersByGroup().getOrDefault(groupId, NONE), memberId) >= 0;
+    }
+
+    public boolean hasSupervisor(Long groupId) {
+        return groupId != null && snapshot.supervisorByGroup().containsKey(groupId);
+    }
+
+    public boolean isSupervisor(Long groupId, Long memberId) {
+        return groupId != null && memberId != null && memberId.equals(snapshot.supervisorByGroup().get(groupId));
+    }
+
+    public Optional<Long> supervisorOf(Long groupId) {
+        return groupId == null ? Optional.empty() : Optional.ofNullable(snapshot.supervisorByGroup().get(groupId));
+    }
+
+    /**
+     * Group ids of {@code memberId} in ascending order.
+     */
+    public long[] groupsOf(Long memberId) {
+        if (memberId == null) return NONE;
+        return snapshot.groupsByMember().getOrDefault(memberId, NONE).clone();
+    }
+
+    void addMemberAfterCommit(Long groupId, Long memberId) {
+        afterCommit(() -> update(groupId, memberId, true));
+    }
+
+    void removeMemberAfterCommit(Long groupId, Long memberId) {
+        afterCommit(() -> update(groupId, memberId, false));
+    }
+
+    void setSupervisorAfterCommit(Long groupId, Long memberId) {
+        afterCommit(() -> {
+            synchronized (writeLock) {
+                Map<Long, Long> supervisors = new HashMap<>(snapshot.supervisorByGroup());
+                supervisors.put(groupId, memberId);
+                snapshot = new Snapshot(snapshot.membersByGroup(), snapshot.groupsByMember(), supervisors);
+                version++;
+            }
+        });
+    }
+
+    /**
+     * Applies a bulk import in one snapshot swap. Both maps are keyed by group id and hold member ids.
+     */
+    void applyAfterCommit(Map<Long, long[]> addedByGroup, Map<Long, long[]> removedByGroup) {
+        afterCommit(() -> {
+            synchronized (writeLock) {
+                Snapshot current = snapshot;
+                Map<Long, long[]> membersByGroup = new HashMap<>(current.membersByGroup());
+                Map<Long, long[]> groupsByMember = new HashMap<>(current.groupsByMember());
+                Map<Long, Long> supervisors = new HashMap<>(current.supervisorByGroup());
+                addedByGroup.forEach((groupId, memberIds) -> {
+                    for (long memberId : memberIds) {
+                        membersByGroup.put(groupId, withOrWithout(membersByGroup.getOrDefault(groupId, NONE), memberId, true));
+                        groupsByMember.put(memberId, withOrWithout(groupsByMember.getOrDefault(memberId, NONE), groupId, true));
+                    }
+                });
+                removedByGroup.forEach((groupId, memberIds) -> {
+                    for (long memberId : memberIds) {
+                        membersByGroup.put(groupId, withOrWithout(membersByGroup.getOrDefault(groupId, NONE), memberId, false));
+                        groupsByMember.put(memberId, withOrWithout(groupsByMember.getOrDefault(memberId, NONE), groupId, false));
+                        supervisors.remove(groupId, memberId);
+                    }
+                });
+                snapshot = new Snapshot(membersByGroup, groupsByMember, supervisors);
+                version++;
+            }
+        });
+    }
+
+    private void update(Long groupId, Long memberId, boolean add) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            Map<Long, long[]> membersByGroup = new HashMap<>(current.membersByGroup());
+            Map<Long, long[]> groupsByMember = new HashMap<>(current.groupsByMember());
+            membersByGroup.put(groupId, withOrWithout(current.membersByGroup().getOrDefault(groupId, NONE), memberId, add));
+            groupsByMember.put(memberId, withOrWithout(current.groupsByMember().getOrDefault(memberId, NONE), groupId, add));
+            Map<Long, Long> supervisors = current.supervisorByGroup();
+            if (!add && memberId.equals(supervisors.get(groupId))) {
+                supervisors = new HashMap<>(supervisors);
+                supervisors.remove(groupId);
+            }
+            snapshot = new Snapshot(membersByGroup, groupsByMember, supervisors);
+            version++;
+        }
+    }
+
+    private static long[] withOrWithout(long[] sorted, long id, boolean add) {
+        int position = Arrays.binarySearch(sorted, id);
+        if (add == (position >= 0)) return sorted;
+        if (add) {
+            int insertAt = -position - 1;
+            long[] out = new long[sorted.length + 1];
+            System.arraycopy(sorted, 0, out, 0, insertAt);
+            out[insertAt] = id;
+            System.arraycopy(sorted, insertAt, out, insertAt + 1, sorted.length - insertAt);
+            return out;
+        }
+        long[] out = new long[sorted.length - 1];
+        System.arraycopy(sorted, 0, out, 0, position);
+        System.arraycopy(sorted, position + 1, out, position, sorted.length - position - 1);
+        return out;
+    }
+
+    private static Map<Long, long[]> toSortedArrays(Map<Long, List<Long>> source) {
+        Map<Long, long[]> out = new HashMap<>(source.size() * 2);
+        source.forEach((key, values) -> out.put(key, values.stream().mapToLong(Long::longValue).sorted().toArray()));
+        return out;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+
+    private record Snapshot(
+            Map<Long, long[]> membersByGroup,
+            Map<Long, long[]> groupsByMember,
+            Map<Long, Long> supervisorByGroup
+    ) {
+    }
+}
@@ -2,6 +2,7 @@ package com.example.demo.helpdesk;
 
 import com.example.demo.audit.AuditLogService;
 import com.example.demo.auth.Member;
+import com.example.demo.reference.ReferenceDataService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
@@ -11,6 +12,7 @@ import org.springframework.web.server.ResponseStatusException;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CONFLICT;
@@ -23,28 +25,36 @@ public class HelpdeskCategoryService {
     private final HelpdeskTicketRepository ticketRepository;
     private final AuditLogService auditLogService;
     private final ObjectMapper objectMapper;
+    private final ReferenceDataService referenceDataService;
 
     public HelpdeskCategoryService(
             HelpdeskCategoryRepository categoryRepository,
             HelpdeskTicketRepository ticketRepository,
             AuditLogService auditLogService,
-            ObjectMapper objectMapper
+            ObjectMapper objectMapper,
+            ReferenceDataService referenceDataService
     ) {
         this.categoryRepository = categoryRepository;
         this.ticketRepository = ticketRepository;
         this.auditLogService = auditLogService;
         this.objectMapper = objectMapper;
+        this.referenceDataService = referenceDataService;
     }
 
-    @Transactional(readOnly = true)
     public List<HelpdeskCategory> listAll() {
-        return categoryRepository.findAllByOrderByNameAsc();
+        return referenceDataService.snapshot().categories();
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Resolves from the reference-data snapshot. A miss is checked against the database in case the category
+     * was created on another node since the last rebuild. The returned entity is detached and read-only.
+     */
     public HelpdeskCategory requireCategory(Long categoryId) {
-        return categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Category not found"));
+        Optional<HelpdeskCategory> cached = referenceDataService.findCategory(categoryId);
+        if (cached.isPresent()) return cached.get();
+        HelpdeskCategory category = loadCategory(categoryId);
+        referenceDataService.rebuild();
+        return category;
     }
 
     @Transactional
@@ -57,6 +67,7 @@ public class HelpdeskCategoryService {
             throw new ResponseStatusException(CONFLICT, "Category name already exists");
         }
         HelpdeskCategory created = categoryRepository.save(new HelpdeskCategory(normalized));
+        referenceDataService.rebuildAfterCommit();
         auditLogService.record(
                 actor,
                 "HELPDESK_CATEGORY_CREATE",
@@ -71,7 +82,7 @@ public class HelpdeskCategoryService {
 
     @Transactional
     public HelpdeskCategory updateCategory(Member actor, Long categoryId, String name) {
-        HelpdeskCategory category = requireCategory(categoryId);
+        HelpdeskCategory category = loadCategory(categoryId);
         String normalized = name == null ? "" : name.trim();
         if (normalized.isBlank()) {
             throw new ResponseStatusException(BAD_REQUEST, "Category name is required");
@@ -82,6 +93,7 @@ public class HelpdeskCategoryService {
         Map<String, Object> before = categorySnapshot(category);
         category.setName(normalized);
         HelpdeskCategory updated = categoryRepository.save(category);
+        referenceDataService.rebuildAfterCommit();
         auditLogService.record(
                 actor,
                 "HELPDESK_CATEGORY_UPDATE",
@@ -96,12 +108,13 @@ public class HelpdeskCategoryService {
 
     @Transactional
     public HelpdeskCategory deleteCategory(Member actor, Long categoryId) {
-        HelpdeskCategory category = requireCategory(categoryId);
+        HelpdeskCategory category = loadCategory(categoryId);
         if (ticketRepository.existsByCategory_Id(categoryId)) {
             throw new ResponseStatusException(CONFLICT, "Category is in use by tickets");
         }
         Map<String, Object> before = categorySnapshot(category);
         categoryRepository.delete(category);
+        referenceDataService.rebuildAfterCommit();
         auditLogService.record(
                 actor,
                 "HELPDESK_CATEGORY_DELETE",
@@ -114,6 +127,14 @@ public class HelpdeskCategoryService {
         return category;
     }
 
+    private HelpdeskCategory loadCategory(Long categoryId) {
+        if (categoryId == null) {
+            throw new ResponseStatusException(NOT_FOUND, "Category not found");
+        }
+        return categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Category not found"));
+    }
+
     private Map<String, Object> categorySnapshot(HelpdeskCategory category) {
         Map<String, Object> out = new LinkedHashMap<>();
         out.put("id", category.getId());
@@ -73,12 +73,17 @@ public class HelpdeskController {
         return TicketResponse.from(saved, service);
     }
 
+    /**
+     * Newest tickets the caller may see; see {@link HelpdeskTicketVisibilityService}.
+     */
     @GetMapping
     public List<TicketResponse> listRecent(
-            @RequestHeader(value = "Authorization", required = false) String authorization
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestParam(value = "page", required = false, defaultValue = "0") int page,
+            @RequestParam(value = "size", required = false, defaultValue = "20") int size
     ) {
-        authService.requireMember(authorization);
-        return service.listRecentTickets().stream()
+        Member member = authService.requireMember(authorization);
+        return service.listVisibleTickets(member, page, size).stream()
                 .map(ticket -> TicketResponse.from(ticket, service))
                 .toList();
     }
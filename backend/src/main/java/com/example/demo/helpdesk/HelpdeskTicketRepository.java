@@ -1,16 +1,44 @@
 package com.example.demo.helpdesk;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface HelpdeskTicketRepository extends JpaRepository<HelpdeskTicket, Long> {
     boolean existsByCategory_Id(Long categoryId);
 
+    @Query("select t.id from HelpdeskTicket t order by t.createdAt desc, t.id desc")
+    Slice<Long> findVisibleIdsForStaff(Pageable pageable);
+
+    @Query("""
+            select t.id
+            from HelpdeskTicket t
+            where t.createdByMemberId = :memberId
+            order by t.createdAt desc, t.id desc
+            """)
+    Slice<Long> findVisibleIdsForCreator(@Param("memberId") Long memberId, Pageable pageable);
+
+    @Query("""
+            select t.id
+            from HelpdeskTicket t
+            where t.createdByMemberId = :memberId or t.group.id in :groupIds
+            order by t.createdAt desc, t.id desc
+            """)
+    Slice<Long> findVisibleIdsForCreatorOrGroups(
+            @Param("memberId") Long memberId,
+            @Param("groupIds") Collection<Long> groupIds,
+            Pageable pageable
+    );
+
     @EntityGraph(attributePaths = {"attachments", "messages", "statusHistories", "group", "category"})
-    List<HelpdeskTicket> findTop20ByOrderByCreatedAtDesc();
+    List<HelpdeskTicket> findWithDetailsByIdIn(Collection<Long> ids);
 
     @EntityGraph(attributePaths = {"attachments", "messages", "statusHistories", "group", "category"})
     Optional<HelpdeskTicket> findWithDetailsById(Long id);
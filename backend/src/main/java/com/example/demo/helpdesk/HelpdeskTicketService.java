@@ -36,6 +36,7 @@ public class HelpdeskTicketService {
     private final HelpdeskTicketHistoryService historyService;
     private final HelpdeskTicketSnapshotService snapshotService;
     private final HelpdeskRealtimePublisher realtimePublisher;
+    private final HelpdeskTicketVisibilityService visibilityService;
 
     public HelpdeskTicketService(
             HelpdeskTicketRepository repository,
@@ -49,7 +50,8 @@ public class HelpdeskTicketService {
             HelpdeskAttachmentService attachmentService,
             HelpdeskTicketHistoryService historyService,
             HelpdeskTicketSnapshotService snapshotService,
-            HelpdeskRealtimePublisher realtimePublisher
+            HelpdeskRealtimePublisher realtimePublisher,
+            HelpdeskTicketVisibilityService visibilityService
     ) {
         this.repository = repository;
         this.messageRepository = messageRepository;
@@ -63,6 +65,7 @@ public class HelpdeskTicketService {
         this.historyService = historyService;
         this.snapshotService = snapshotService;
         this.realtimePublisher = realtimePublisher;
+        this.visibilityService = visibilityService;
     }
 
     @Transactional
@@ -122,8 +125,8 @@ public class HelpdeskTicketService {
         return finalTicket;
     }
 
-    public List<HelpdeskTicket> listRecentTickets() {
-        return repository.findTop20ByOrderByCreatedAtDesc();
+    public List<HelpdeskTicket> listVisibleTickets(Member viewer, int page, int size) {
+        return visibilityService.listVisible(viewer, page, size);
     }
 
     @Transactional
@@ -259,7 +262,7 @@ public class HelpdeskTicketService {
         if (ticket.getPriority() != HelpdeskTicketPriority.URGENT) {
             throw new ResponseStatusException(FORBIDDEN, "Only urgent tickets require supervisor approval");
         }
-        if (ticket.getGroup() == null || !groupService.isSupervisor(ticket.getGroup().getId(), actor.getId())) {
+        if (ticket.getGroup() == null || !groupService.isSupervisorOver(ticket.getGroup().getId(), actor.getId())) {
             throw new ResponseStatusException(FORBIDDEN, "Group supervisor only");
         }
         if (!ticket.isSupervisorApproved()) {
@@ -0,0 +1,62 @@
+package com.example.demo.helpdesk;
+
+import com.example.demo.auth.Member;
+import com.example.demo.auth.MemberRole;
+import com.example.demo.group.GroupHierarchyService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lists the tickets a member may see, with the visibility rule applied in the query:
+ * <ul>
+ *     <li>IT and ADMIN see every ticket;</li>
+ *     <li>a supervisor sees their own tickets and those of every group in the subtrees they supervise;</li>
+ *     <li>anyone else sees only the tickets they created.</li>
+ * </ul>
+ * One query pages the visible ids on the (creator | group, created_at) indexes, a second loads those tickets
+ * with their details, so a page is always exactly {@code size} visible tickets.
+ */
+@Service
+public class HelpdeskTicketVisibilityService {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final HelpdeskTicketRepository repository;
+    private final GroupHierarchyService hierarchyService;
+
+    public HelpdeskTicketVisibilityService(HelpdeskTicketRepository repository, GroupHierarchyService hierarchyService) {
+        this.repository = repository;
+        this.hierarchyService = hierarchyService;
+    }
+
+    @Transactional(readOnly = true)
+    public List<HelpdeskTicket> listVisible(Member viewer, int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        List<Long> ids = findVisibleIds(viewer, pageable);
+        if (ids.isEmpty()) return List.of();
+
+        Map<Long, Integer> position = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) position.put(ids.get(i), i);
+        return repository.findWithDetailsByIdIn(ids).stream()
+                .sorted(Comparator.comparingInt(ticket -> position.get(ticket.getId())))
+                .toList();
+    }
+
+    private List<Long> findVisibleIds(Member viewer, Pageable pageable) {
+        if (viewer.getRole() == MemberRole.IT || viewer.getRole() == MemberRole.ADMIN) {
+            return repository.findVisibleIdsForStaff(pageable).getContent();
+        }
+        List<Long> supervisedGroupIds = hierarchyService.supervisedGroupIds(viewer.getId());
+        if (supervisedGroupIds.isEmpty()) {
+            return repository.findVisibleIdsForCreator(viewer.getId(), pageable).getContent();
+        }
+        return repository.findVisibleIdsForCreatorOrGroups(viewer.getId(), supervisedGroupIds, pageable).getContent();
+    }
+}
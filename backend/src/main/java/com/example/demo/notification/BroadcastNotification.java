@@ -0,0 +1,89 @@
+package com.example.demo.notification;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "broadcast_notifications")
+public class BroadcastNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private NotificationAudience audience;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private NotificationType type;
+
+    @Column(nullable = false, length = 500)
+    private String message;
+
+    @Column
+    private Long ticketId;
+
+    @Column
+    private Long actorMemberId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    protected BroadcastNotification() {
+    }
+
+    public BroadcastNotification(NotificationAudience audience, NotificationType type, String message, Long ticketId,
+                                 Long actorMemberId) {
+        this.audience = audience;
+        this.type = type;
+        this.message = message;
+        this.ticketId = ticketId;
+        this.actorMemberId = actorMemberId;
+    }
+
+    @PrePersist
+    void prePersist() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public NotificationAudience getAudience() {
+        return audience;
+    }
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Long getTicketId() {
+        return ticketId;
+    }
+
+    public Long getActorMemberId() {
+        return actorMemberId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demo.notification;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface BroadcastNotificationRepository extends JpaRepository<BroadcastNotification, Long> {
+
+    @Query("""
+            select b
+            from BroadcastNotification b
+            where b.audience in :audiences
+              and b.createdAt >= :visibleFrom
+              and (b.actorMemberId is null or b.actorMemberId <> :memberId)
+            order by b.id desc
+            """)
+    List<BroadcastNotification> findVisible(
+            @Param("audiences") Collection<NotificationAudience> audiences,
+            @Param("memberId") Long memberId,
+            @Param("visibleFrom") LocalDateTime visibleFrom,
+            Pageable pageable
+    );
+
+    @Query("""
+            select count(b)
+            from BroadcastNotification b
+            where b.audience in :audiences
+              and b.id > :afterId
+              and b.id <= :upToId
+              and b.createdAt >= :visibleFrom
+              and (b.actorMemberId is null or b.actorMemberId <> :memberId)
+            """)
+    long countVisibleInRange(
+            @Param("audiences") Collection<NotificationAudience> audiences,
+            @Param("memberId") Long memberId,
+            @Param("visibleFrom") LocalDateTime visibleFrom,
+            @Param("afterId") long afterId,
+            @Param("upToId") long upToId
+    );
+
+    @Query("""
+            select max(b.id)
+            from BroadcastNotification b
+            where b.audience in :audiences
+            """)
+    Optional<Long> findLatestId(@Param("audiences") Collection<NotificationAudience> audiences);
+}
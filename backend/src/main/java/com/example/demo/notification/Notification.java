@@ -41,6 +41,9 @@ public class Notification {
     @Column(nullable = false)
     private boolean isRead;
 
+    @Column(nullable = false)
+    private int eventCount = 1;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -85,6 +88,10 @@ public class Notification {
         return isRead;
     }
 
+    public int getEventCount() {
+        return eventCount;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,31 @@
+package com.example.demo.notification;
+
+import com.example.demo.auth.MemberRole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Role-targeted audience of a {@link BroadcastNotification}. Broadcasts are stored once and resolved per
+ * member at read time instead of being fanned out into one {@link Notification} row per recipient.
+ */
+public enum NotificationAudience {
+    STAFF(Set.of(MemberRole.IT, MemberRole.ADMIN));
+
+    private final Set<MemberRole> roles;
+
+    NotificationAudience(Set<MemberRole> roles) {
+        this.roles = roles;
+    }
+
+    public boolean includes(MemberRole role) {
+        return roles.contains(role);
+    }
+
+    public static List<NotificationAudience> audiencesFor(MemberRole role) {
+        return Arrays.stream(values())
+                .filter(audience -> audience.includes(role))
+                .toList();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.notification;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notification_broadcast_cursors")
+public class NotificationBroadcastCursor {
+
+    @Id
+    @Column(name = "member_id")
+    private Long memberId;
+
+    @Column(nullable = false)
+    private long lastReadBroadcastId;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    protected NotificationBroadcastCursor() {
+    }
+
+    public NotificationBroadcastCursor(Long memberId, long lastReadBroadcastId) {
+        this.memberId = memberId;
+        this.lastReadBroadcastId = lastReadBroadcastId;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public long getLastReadBroadcastId() {
+        return lastReadBroadcastId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
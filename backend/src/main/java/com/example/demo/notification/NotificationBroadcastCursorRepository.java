@@ -0,0 +1,22 @@
+package com.example.demo.notification;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface NotificationBroadcastCursorRepository extends JpaRepository<NotificationBroadcastCursor, Long> {
+
+    /**
+     * Moves the cursor forward only; a stale request can never un-read broadcasts.
+     */
+    @Modifying
+    @Query(value = """
+            insert into notification_broadcast_cursors (member_id, last_read_broadcast_id, updated_at)
+            values (:memberId, :broadcastId, now())
+            on conflict (member_id) do update
+            set last_read_broadcast_id = greatest(notification_broadcast_cursors.last_read_broadcast_id, excluded.last_read_broadcast_id),
+                updated_at = now()
+            """, nativeQuery = true)
+    int advance(@Param("memberId") Long memberId, @Param("broadcastId") long broadcastId);
+}
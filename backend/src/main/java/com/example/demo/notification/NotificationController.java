@@ -47,6 +47,16 @@ public class NotificationController {
         return Map.of("message", "ok");
     }
 
+    @PatchMapping("/broadcasts/{broadcastId}/read")
+    public Map<String, String> markBroadcastRead(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @PathVariable Long broadcastId
+    ) {
+        Member member = authService.requireMember(authorization);
+        notificationService.markBroadcastRead(member, broadcastId);
+        return Map.of("message", "ok");
+    }
+
     @PatchMapping("/read-all")
     public Map<String, String> markAllRead(
             @RequestHeader(value = "Authorization", required = false) String authorization
@@ -59,16 +69,18 @@ public class NotificationController {
     public record NotificationListResponse(List<NotificationResponse> notifications, long unreadCount) {
     }
 
-    public record NotificationResponse(Long id, String type, String message, Long ticketId, boolean read,
-                                       LocalDateTime createdAt) {
-        static NotificationResponse from(Notification notification) {
+    public record NotificationResponse(Long id, String source, String type, String message, Long ticketId, boolean read,
+                                       int eventCount, LocalDateTime createdAt) {
+        static NotificationResponse from(NotificationView notification) {
             return new NotificationResponse(
-                    notification.getId(),
-                    notification.getType().name(),
-                    notification.getMessage(),
-                    notification.getTicketId(),
-                    notification.isRead(),
-                    notification.getCreatedAt()
+                    notification.id(),
+                    notification.source().name(),
+                    notification.type().name(),
+                    notification.message(),
+                    notification.ticketId(),
+                    notification.read(),
+                    notification.eventCount(),
+                    notification.createdAt()
             );
         }
     }
@@ -0,0 +1,211 @@
+package com.example.demo.notification;
+
+import com.example.demo.config.StompAuthChannelInterceptor;
+import com.example.demo.config.WorkloadExecutorConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+@Service
+public class NotificationRealtimePublisher {
+
+    static final String USER_DESTINATION = "/queue/notifications";
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRealtimePublisher.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final SerialLane[] lanes;
+
+    /**
+     * @param laneCount one serial lane per realtime pool thread; a recipient always maps to the same lane
+     */
+    public NotificationRealtimePublisher(
+            SimpMessagingTemplate messagingTemplate,
+            SimpUserRegistry userRegistry,
+            @Qualifier(WorkloadExecutorConfig.REALTIME_EXECUTOR) Executor realtimeExecutor,
+            @Value("${app.executor.realtime.pool-size:2}") int laneCount
+    ) {
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+        this.lanes = new SerialLane[Math.max(laneCount, 1)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new SerialLane(realtimeExecutor);
+        }
+    }
+
+    public void publishCreated(Notification notification) {
+        Long recipientId = notification.getRecipient().getId();
+        NotificationRealtimeEvent event = new NotificationRealtimeEvent(
+                "NOTIFICATION_CREATED",
+                NotificationController.NotificationResponse.from(NotificationView.of(notification)),
+                1,
+                null,
+                OffsetDateTime.now().toString()
+        );
+        afterCommit(() -> send(String.valueOf(recipientId), event));
+    }
+
+    /**
+     * A coalesced event rewrites an unread row in place, so the unread count does not move.
+     */
+    public void publishCoalesced(Long recipientId, NotificationView notification) {
+        NotificationRealtimeEvent event = new NotificationRealtimeEvent(
+                "NOTIFICATION_COALESCED",
+                NotificationController.NotificationResponse.from(notification),
+                0,
+                null,
+                OffsetDateTime.now().toString()
+        );
+        afterCommit(() -> send(String.valueOf(recipientId), event));
+    }
+
+    /**
+     * Broadcasts are not fanned out in the database, so the push goes only to currently connected
+     * sessions whose role is in the audience; everyone else picks the broadcast up on their next list.
+     */
+    public void publishBroadcast(BroadcastNotification broadcast) {
+        NotificationRealtimeEvent event = new NotificationRealtimeEvent(
+                "NOTIFICATION_CREATED",
+                NotificationController.NotificationResponse.from(NotificationView.of(broadcast, false)),
+                1,
+                null,
+                OffsetDateTime.now().toString()
+        );
+        String actorName = broadcast.getActorMemberId() == null ? null : String.valueOf(broadcast.getActorMemberId());
+        afterCommit(() -> {
+            for (SimpUser user : userRegistry.getUsers()) {
+                if (!(user.getPrincipal() instanceof StompAuthChannelInterceptor.MemberPrincipal principal)) continue;
+                if (!broadcast.getAudience().includes(principal.role())) continue;
+                if (principal.getName().equals(actorName)) continue;
+                send(principal.getName(), event);
+            }
+        });
+    }
+
+    public void publishRead(Notification notification) {
+        Long recipientId = notification.getRecipient().getId();
+        NotificationRealtimeEvent event = new NotificationRealtimeEvent(
+                "NOTIFICATION_READ",
+                NotificationController.NotificationResponse.from(NotificationView.of(notification)),
+                -1,
+                null,
+                OffsetDateTime.now().toString()
+        );
+        afterCommit(() -> send(String.valueOf(recipientId), event));
+    }
+
+    public void publishAllRead(Long recipientId, long readCount) {
+        if (readCount <= 0) return;
+        NotificationRealtimeEvent event = new NotificationRealtimeEvent(
+                "NOTIFICATIONS_ALL_READ",
+                null,
+                -readCount,
+                null,
+                OffsetDateTime.now().toString()
+        );
+        afterCommit(() -> send(String.valueOf(recipientId), event));
+    }
+
+    public void publishBroadcastsRead(Long recipientId, long broadcastCursor, long readCount) {
+        NotificationRealtimeEvent event = new NotificationRealtimeEvent(
+                "BROADCASTS_READ",
+                null,
+                -readCount,
+                broadcastCursor,
+                OffsetDateTime.now().toString()
+        );
+        afterCommit(() -> send(String.valueOf(recipientId), event));
+    }
+
+    private void afterCommit(Runnable action) {
+        // Notification rows are written inside the ticket transaction; only push once they are visible to readers.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+
+    /**
+     * Hands the push to the recipient's lane on the realtime pool, so the committing thread does not wait on
+     * delivery while events for one recipient still arrive in commit order; clients apply unread deltas
+     * incrementally and would drift if a read overtook the create it refers to.
+     */
+    private void send(String userName, NotificationRealtimeEvent event) {
+        lanes[Math.floorMod(userName.hashCode(), lanes.length)]
+                .execute(() -> messagingTemplate.convertAndSendToUser(userName, USER_DESTINATION, event));
+    }
+
+    /**
+     * Runs tasks one at a time, in submission order, on a shared pool. At most one pool thread drains a lane.
+     */
+    private static final class SerialLane {
+        private final Executor executor;
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private boolean draining;
+
+        SerialLane(Executor executor) {
+            this.executor = executor;
+        }
+
+        void execute(Runnable task) {
+            synchronized (this) {
+                tasks.add(task);
+                if (draining) return;
+                draining = true;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RuntimeException ex) {
+                synchronized (this) {
+                    draining = false;
+                }
+                throw ex;
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Runnable task;
+                synchronized (this) {
+                    task = tasks.poll();
+                    if (task == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException ex) {
+                    log.warn("realtime notification push failed", ex);
+                }
+            }
+        }
+    }
+
+    public record NotificationRealtimeEvent(
+            String type,
+            NotificationController.NotificationResponse notification,
+            long unreadDelta,
+            Long broadcastCursor,
+            String at
+    ) {
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.demo.notification;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +16,47 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     long countByRecipientIdAndIsReadFalse(Long recipientId);
 
     Optional<Notification> findByIdAndRecipientId(Long id, Long recipientId);
+
+    @Query("""
+            select n
+            from Notification n
+            where n.recipient.id = :recipientId
+              and n.ticketId = :ticketId
+              and n.type = :type
+              and n.isRead = false
+              and n.createdAt >= :since
+            order by n.createdAt desc
+            limit 1
+            """)
+    Optional<Notification> findCoalesceTarget(
+            @Param("recipientId") Long recipientId,
+            @Param("ticketId") Long ticketId,
+            @Param("type") NotificationType type,
+            @Param("since") LocalDateTime since
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Notification n
+            set n.message = :message, n.eventCount = n.eventCount + 1, n.createdAt = :now
+            where n.id = :id and n.isRead = false
+            """)
+    int coalesceIfUnread(@Param("id") Long id, @Param("message") String message, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.isRead = true where n.id = :id and n.recipient.id = :recipientId and n.isRead = false")
+    int markReadIfUnread(@Param("id") Long id, @Param("recipientId") Long recipientId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.isRead = true where n.recipient.id = :recipientId and n.isRead = false")
+    int markAllReadByRecipientId(@Param("recipientId") Long recipientId);
+
+    @Query("""
+            select n.recipient.id, count(n)
+            from Notification n
+            where n.recipient.id in :recipientIds
+              and n.isRead = false
+            group by n.recipient.id
+            """)
+    List<Object[]> countUnreadGroupedByRecipient(@Param("recipientIds") Collection<Long> recipientIds);
 }
@@ -2,83 +2,140 @@ package com.example.demo.notification;
 
 import com.example.demo.auth.Member;
 import com.example.demo.auth.MemberRepository;
-import com.example.demo.auth.MemberRole;
-import com.example.demo.group.DepartmentGroupMember;
-import com.example.demo.group.DepartmentGroupMemberRepository;
+import com.example.demo.group.GroupHierarchyService;
 import com.example.demo.helpdesk.HelpdeskTicket;
 import com.example.demo.helpdesk.HelpdeskTicketPriority;
 import com.example.demo.helpdesk.HelpdeskTicketStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
 @Service
 public class NotificationService {
 
+    private static final int LIST_LIMIT = 50;
+
     private final NotificationRepository notificationRepository;
+    private final BroadcastNotificationRepository broadcastRepository;
+    private final NotificationBroadcastCursorRepository broadcastCursorRepository;
     private final MemberRepository memberRepository;
-    private final DepartmentGroupMemberRepository groupMemberRepository;
+    private final GroupHierarchyService hierarchyService;
+    private final NotificationRealtimePublisher realtimePublisher;
+    private final NotificationUnreadCounterService unreadCounterService;
+    private final long coalesceWindowSeconds;
 
     public NotificationService(
             NotificationRepository notificationRepository,
+            BroadcastNotificationRepository broadcastRepository,
+            NotificationBroadcastCursorRepository broadcastCursorRepository,
             MemberRepository memberRepository,
-            DepartmentGroupMemberRepository groupMemberRepository
+            GroupHierarchyService hierarchyService,
+            NotificationRealtimePublisher realtimePublisher,
+            NotificationUnreadCounterService unreadCounterService,
+            @Value("${app.notification.coalesce-window-seconds:300}") long coalesceWindowSeconds
     ) {
         this.notificationRepository = notificationRepository;
+        this.broadcastRepository = broadcastRepository;
+        this.broadcastCursorRepository = broadcastCursorRepository;
         this.memberRepository = memberRepository;
-        this.groupMemberRepository = groupMemberRepository;
+        this.hierarchyService = hierarchyService;
+        this.realtimePublisher = realtimePublisher;
+        this.unreadCounterService = unreadCounterService;
+        this.coalesceWindowSeconds = Math.max(coalesceWindowSeconds, 0);
     }
 
     @Transactional(readOnly = true)
-    public List<Notification> listForMember(Member member) {
-        return notificationRepository.findTop50ByRecipientIdOrderByCreatedAtDesc(member.getId());
+    public List<NotificationView> listForMember(Member member) {
+        List<NotificationView> merged = new ArrayList<>();
+        notificationRepository.findTop50ByRecipientIdOrderByCreatedAtDesc(member.getId())
+                .forEach(notification -> merged.add(NotificationView.of(notification)));
+
+        List<NotificationAudience> audiences = NotificationAudience.audiencesFor(member.getRole());
+        if (!audiences.isEmpty()) {
+            long cursor = broadcastCursor(member.getId());
+            broadcastRepository.findVisible(audiences, member.getId(), member.getCreatedAt(), PageRequest.of(0, LIST_LIMIT))
+                    .forEach(broadcast -> merged.add(NotificationView.of(broadcast, broadcast.getId() <= cursor)));
+        }
+        return merged.stream()
+                .sorted(Comparator.comparing(NotificationView::createdAt).reversed())
+                .limit(LIST_LIMIT)
+                .toList();
     }
 
     @Transactional(readOnly = true)
     public long unreadCount(Member member) {
-        return notificationRepository.countByRecipientIdAndIsReadFalse(member.getId());
+        return unreadCounterService.unreadCount(member.getId()) + unreadBroadcastCount(member);
     }
 
     @Transactional
     public void markRead(Member member, Long notificationId) {
         Notification notification = notificationRepository.findByIdAndRecipientId(notificationId, member.getId())
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Notification not found"));
+        // Conditional update so two concurrent clicks only decrement the counter once.
+        if (notificationRepository.markReadIfUnread(notificationId, member.getId()) == 0) {
+            return;
+        }
         notification.markRead();
-        notificationRepository.save(notification);
+        unreadCounterService.decrement(member.getId(), 1);
+        realtimePublisher.publishRead(notification);
     }
 
+    /**
+     * Broadcasts are tracked with a single read cursor per member, so reading one advances the cursor
+     * past every older broadcast as well.
+     */
     @Transactional
-    public void markAllRead(Member member) {
-        List<Notification> all = notificationRepository.findTop50ByRecipientIdOrderByCreatedAtDesc(member.getId());
-        all.forEach(Notification::markRead);
-        notificationRepository.saveAll(all);
+    public void markBroadcastRead(Member member, Long broadcastId) {
+        List<NotificationAudience> audiences = NotificationAudience.audiencesFor(member.getRole());
+        broadcastRepository.findById(broadcastId)
+                .filter(broadcast -> audiences.contains(broadcast.getAudience()))
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Notification not found"));
+        advanceBroadcastCursor(member, audiences, broadcastId);
     }
 
     @Transactional
-    public void notifyTicketCreated(HelpdeskTicket ticket, Member creator) {
-        Map<Long, Member> recipientMap = new LinkedHashMap<>();
-        memberRepository.findByRoleIn(List.of(MemberRole.IT, MemberRole.ADMIN))
-                .forEach(member -> recipientMap.put(member.getId(), member));
-
-        if (ticket.getPriority() == HelpdeskTicketPriority.URGENT && ticket.getGroup() != null) {
-            groupMemberRepository.findByGroup_IdAndSupervisorTrue(ticket.getGroup().getId())
-                    .map(DepartmentGroupMember::getMember)
-                    .ifPresent(supervisor -> recipientMap.put(supervisor.getId(), supervisor));
+    public void markAllRead(Member member) {
+        int readCount = notificationRepository.markAllReadByRecipientId(member.getId());
+        unreadCounterService.decrement(member.getId(), readCount);
+        realtimePublisher.publishAllRead(member.getId(), readCount);
+
+        List<NotificationAudience> audiences = NotificationAudience.audiencesFor(member.getRole());
+        if (!audiences.isEmpty()) {
+            broadcastRepository.findLatestId(audiences)
+                    .ifPresent(latestId -> advanceBroadcastCursor(member, audiences, latestId));
         }
+    }
 
-        List<Member> recipients = new ArrayList<>(recipientMap.values());
+    @Transactional
+    public void notifyTicketCreated(HelpdeskTicket ticket, Member creator) {
         String message = ticket.getPriority() == HelpdeskTicketPriority.URGENT
                 ? String.format("急件工單 #%d 待主管確認：%s", ticket.getId(), ticket.getSubject())
                 : String.format("新工單 #%d：%s", ticket.getId(), ticket.getSubject());
-        createBulk(recipients, NotificationType.TICKET_CREATED, message, ticket.getId(), Set.of(creator.getId()));
+        BroadcastNotification broadcast = broadcastRepository.save(new BroadcastNotification(
+                NotificationAudience.STAFF,
+                NotificationType.TICKET_CREATED,
+                message,
+                ticket.getId(),
+                creator.getId()
+        ));
+        realtimePublisher.publishBroadcast(broadcast);
+
+        if (ticket.getPriority() == HelpdeskTicketPriority.URGENT && ticket.getGroup() != null) {
+            hierarchyService.nearestSupervisorId(ticket.getGroup().getId())
+                    .flatMap(memberRepository::findById)
+                    .filter(supervisor -> !supervisor.getId().equals(creator.getId()))
+                    .filter(supervisor -> !NotificationAudience.STAFF.includes(supervisor.getRole()))
+                    .ifPresent(supervisor -> coalesceOrSave(supervisor, NotificationType.TICKET_CREATED, message, ticket.getId()));
+        }
     }
 
     @Transactional
@@ -91,8 +148,7 @@ public class NotificationService {
                 return;
             }
             String message = String.format("工單 #%d 有新回覆：%s", ticket.getId(), ticket.getSubject());
-            Notification notification = new Notification(owner, NotificationType.TICKET_REPLY, message, ticket.getId());
-            notificationRepository.save(notification);
+            coalesceOrSave(owner, NotificationType.TICKET_REPLY, message, ticket.getId());
         });
     }
 
@@ -106,16 +162,69 @@ public class NotificationService {
                 return;
             }
             String message = String.format("工單 #%d 狀態更新為 %s", ticket.getId(), status.name());
-            Notification notification = new Notification(owner, NotificationType.TICKET_STATUS, message, ticket.getId());
-            notificationRepository.save(notification);
+            coalesceOrSave(owner, NotificationType.TICKET_STATUS, message, ticket.getId());
         });
     }
 
-    private void createBulk(List<Member> recipients, NotificationType type, String message, Long ticketId, Set<Long> skipIds) {
-        List<Notification> notifications = recipients.stream()
-                .filter(member -> !skipIds.contains(member.getId()))
-                .map(member -> new Notification(member, type, message, ticketId))
-                .toList();
-        notificationRepository.saveAll(notifications);
+    /**
+     * Repeated events for the same (recipient, ticket, type) inside the coalescing window update the
+     * recipient's latest unread row instead of inserting another one. The unread counter is untouched
+     * because the row was already counted; the update is conditional so a concurrent mark-read wins.
+     */
+    private void coalesceOrSave(Member recipient, NotificationType type, String message, Long ticketId) {
+        if (coalesceWindowSeconds > 0) {
+            LocalDateTime now = LocalDateTime.now();
+            Notification existing = notificationRepository
+                    .findCoalesceTarget(recipient.getId(), ticketId, type, now.minusSeconds(coalesceWindowSeconds))
+                    .orElse(null);
+            if (existing != null && notificationRepository.coalesceIfUnread(existing.getId(), message, now) > 0) {
+                realtimePublisher.publishCoalesced(recipient.getId(), new NotificationView(
+                        existing.getId(),
+                        NotificationSource.DIRECT,
+                        type,
+                        message,
+                        ticketId,
+                        false,
+                        existing.getEventCount() + 1,
+                        now
+                ));
+                return;
+            }
+        }
+        Notification saved = notificationRepository.save(new Notification(recipient, type, message, ticketId));
+        unreadCounterService.increment(saved.getRecipient().getId());
+        realtimePublisher.publishCreated(saved);
+    }
+
+    private long unreadBroadcastCount(Member member) {
+        List<NotificationAudience> audiences = NotificationAudience.audiencesFor(member.getRole());
+        if (audiences.isEmpty()) return 0;
+        return broadcastRepository.countVisibleInRange(
+                audiences,
+                member.getId(),
+                member.getCreatedAt(),
+                broadcastCursor(member.getId()),
+                Long.MAX_VALUE
+        );
+    }
+
+    private void advanceBroadcastCursor(Member member, List<NotificationAudience> audiences, long broadcastId) {
+        long cursor = broadcastCursor(member.getId());
+        if (broadcastId <= cursor) return;
+        long newlyRead = broadcastRepository.countVisibleInRange(
+                audiences,
+                member.getId(),
+                member.getCreatedAt(),
+                cursor,
+                broadcastId
+        );
+        broadcastCursorRepository.advance(member.getId(), broadcastId);
+        realtimePublisher.publishBroadcastsRead(member.getId(), broadcastId, newlyRead);
+    }
+
+    private long broadcastCursor(Long memberId) {
+        return broadcastCursorRepository.findById(memberId)
+                .map(NotificationBroadcastCursor::getLastReadBroadcastId)
+                .orElse(0L);
     }
 }
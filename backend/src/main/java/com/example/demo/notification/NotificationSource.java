@@ -0,0 +1,6 @@
+package com.example.demo.notification;
+
+public enum NotificationSource {
+    DIRECT,
+    BROADCAST
+}
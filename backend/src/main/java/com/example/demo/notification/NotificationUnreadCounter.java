@@ -0,0 +1,51 @@
+package com.example.demo.notification;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notification_unread_counters")
+public class NotificationUnreadCounter {
+
+    @Id
+    @Column(name = "member_id")
+    private Long memberId;
+
+    @Column(nullable = false)
+    private long unreadCount;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    protected NotificationUnreadCounter() {
+    }
+
+    public NotificationUnreadCounter(Long memberId, long unreadCount) {
+        this.memberId = memberId;
+        this.unreadCount = unreadCount;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public long getUnreadCount() {
+        return unreadCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
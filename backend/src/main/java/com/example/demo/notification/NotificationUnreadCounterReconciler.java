@@ -0,0 +1,69 @@
+package com.example.demo.notification;
+
+import com.example.demo.scheduling.SchedulerLockService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class NotificationUnreadCounterReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationUnreadCounterReconciler.class);
+
+    static final String LOCK_NAME = "notification-unread-reconcile";
+
+    private final NotificationUnreadCounterService counterService;
+    private final SchedulerLockService lockService;
+    private final Duration lockLease;
+    private final int batchSize;
+
+    public NotificationUnreadCounterReconciler(
+            NotificationUnreadCounterService counterService,
+            SchedulerLockService lockService,
+            @Value("${app.notification.unread-reconcile-batch-size:500}") int batchSize,
+            @Value("${app.scheduler.lock.lease-seconds:600}") long lockLeaseSeconds
+    ) {
+        this.counterService = counterService;
+        this.lockService = lockService;
+        this.batchSize = Math.max(batchSize, 1);
+        this.lockLease = Duration.ofSeconds(Math.max(lockLeaseSeconds, 30));
+    }
+
+    @Scheduled(cron = "${app.notification.unread-reconcile-cron:0 */10 * * * *}")
+    public void reconcile() {
+        lockService.runExclusively(LOCK_NAME, lockLease, lease -> reconcileAll());
+    }
+
+    private void reconcileAll() {
+        long startedAt = System.currentTimeMillis();
+        long scanned = 0;
+        long repaired = 0;
+        Long afterMemberId = 0L;
+        NotificationUnreadCounterService.ReconcileBatchResult result;
+        do {
+            result = counterService.reconcileBatch(afterMemberId, batchSize);
+            scanned += result.scannedCount();
+            repaired += result.repairedCount();
+            afterMemberId = result.lastMemberId();
+        } while (!result.done());
+
+        if (repaired > 0) {
+            log.warn(
+                    "notification unread counter drift repaired scanned={} repaired={} durationMs={}",
+                    scanned,
+                    repaired,
+                    System.currentTimeMillis() - startedAt
+            );
+            return;
+        }
+        log.info(
+                "notification unread counter reconcile scanned={} repaired=0 durationMs={}",
+                scanned,
+                System.currentTimeMillis() - startedAt
+        );
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.notification;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationUnreadCounterRepository extends JpaRepository<NotificationUnreadCounter, Long> {
+
+    @Modifying
+    @Query(value = """
+            insert into notification_unread_counters (member_id, unread_count, updated_at)
+            values (:memberId, greatest(:delta, 0), now())
+            on conflict (member_id) do update
+            set unread_count = greatest(notification_unread_counters.unread_count + :delta, 0),
+                updated_at = now()
+            """, nativeQuery = true)
+    int applyDelta(@Param("memberId") Long memberId, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = """
+            insert into notification_unread_counters (member_id, unread_count, updated_at)
+            values (:memberId, :unreadCount, now())
+            on conflict (member_id) do update
+            set unread_count = excluded.unread_count,
+                updated_at = now()
+            """, nativeQuery = true)
+    int overwrite(@Param("memberId") Long memberId, @Param("unreadCount") long unreadCount);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from NotificationUnreadCounter c where c.memberId in :memberIds")
+    List<NotificationUnreadCounter> lockByMemberIds(@Param("memberIds") Collection<Long> memberIds);
+
+    @Query("select m.id from Member m where m.id > :afterMemberId order by m.id asc")
+    List<Long> findMemberIdsAfter(@Param("afterMemberId") Long afterMemberId, Pageable pageable);
+}
@@ -0,0 +1,83 @@
+package com.example.demo.notification;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class NotificationUnreadCounterService {
+
+    private final NotificationUnreadCounterRepository counterRepository;
+    private final NotificationRepository notificationRepository;
+
+    public NotificationUnreadCounterService(
+            NotificationUnreadCounterRepository counterRepository,
+            NotificationRepository notificationRepository
+    ) {
+        this.counterRepository = counterRepository;
+        this.notificationRepository = notificationRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public long unreadCount(Long memberId) {
+        return counterRepository.findById(memberId)
+                .map(NotificationUnreadCounter::getUnreadCount)
+                .orElse(0L);
+    }
+
+    @Transactional
+    public void increment(Long memberId) {
+        counterRepository.applyDelta(memberId, 1);
+    }
+
+    @Transactional
+    public void decrement(Long memberId, long count) {
+        if (count <= 0) return;
+        counterRepository.applyDelta(memberId, -count);
+    }
+
+    /**
+     * Recounts unread notifications for one page of members (ordered by id) and overwrites any counter
+     * that drifted. Existing counter rows are locked first so concurrent increments either land before
+     * the recount or queue behind it.
+     */
+    @Transactional
+    public ReconcileBatchResult reconcileBatch(Long afterMemberId, int batchSize) {
+        List<Long> memberIds = counterRepository.findMemberIdsAfter(afterMemberId, PageRequest.of(0, batchSize));
+        if (memberIds.isEmpty()) {
+            return new ReconcileBatchResult(afterMemberId, 0, 0, true);
+        }
+
+        Map<Long, Long> stored = new HashMap<>();
+        counterRepository.lockByMemberIds(memberIds)
+                .forEach(counter -> stored.put(counter.getMemberId(), counter.getUnreadCount()));
+        Map<Long, Long> actual = new HashMap<>();
+        for (Object[] row : notificationRepository.countUnreadGroupedByRecipient(memberIds)) {
+            actual.put((Long) row[0], (Long) row[1]);
+        }
+
+        int repaired = 0;
+        for (Long memberId : memberIds) {
+            long expected = actual.getOrDefault(memberId, 0L);
+            Long current = stored.get(memberId);
+            if (current == null && expected == 0) continue;
+            if (current == null || current != expected) {
+                counterRepository.overwrite(memberId, expected);
+                repaired++;
+            }
+        }
+        Long lastMemberId = memberIds.get(memberIds.size() - 1);
+        return new ReconcileBatchResult(lastMemberId, memberIds.size(), repaired, memberIds.size() < batchSize);
+    }
+
+    public record ReconcileBatchResult(
+            Long lastMemberId,
+            int scannedCount,
+            int repairedCount,
+            boolean done
+    ) {}
+}
@@ -0,0 +1,44 @@
+package com.example.demo.notification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model that merges a member's direct notifications with the role broadcasts visible to them.
+ * Ids are only unique within a {@link NotificationSource}.
+ */
+public record NotificationView(
+        Long id,
+        NotificationSource source,
+        NotificationType type,
+        String message,
+        Long ticketId,
+        boolean read,
+        int eventCount,
+        LocalDateTime createdAt
+) {
+    static NotificationView of(Notification notification) {
+        return new NotificationView(
+                notification.getId(),
+                NotificationSource.DIRECT,
+                notification.getType(),
+                notification.getMessage(),
+                notification.getTicketId(),
+                notification.isRead(),
+                notification.getEventCount(),
+                notification.getCreatedAt()
+        );
+    }
+
+    static NotificationView of(BroadcastNotification broadcast, boolean read) {
+        return new NotificationView(
+                broadcast.getId(),
+                NotificationSource.BROADCAST,
+                broadcast.getType(),
+                broadcast.getMessage(),
+                broadcast.getTicketId(),
+                read,
+                1,
+                broadcast.getCreatedAt()
+        );
+    }
+}
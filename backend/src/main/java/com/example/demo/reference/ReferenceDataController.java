@@ -0,0 +1,79 @@
+package com.example.demo.reference;
+
+import com.example.demo.auth.AuthService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Categories and groups in one response. Clients revalidate with {@code If-None-Match} on every load and get
+ * an empty 304 while the snapshot is unchanged.
+ */
+@RestController
+@RequestMapping("/api/reference-data")
+public class ReferenceDataController {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final AuthService authService;
+    private final ReferenceDataService referenceDataService;
+
+    public ReferenceDataController(AuthService authService, ReferenceDataService referenceDataService) {
+        this.authService = authService;
+        this.referenceDataService = referenceDataService;
+    }
+
+    @GetMapping
+    public ResponseEntity<ReferenceDataResponse> get(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        authService.requireMember(authorization);
+        ReferenceDataService.Snapshot snapshot = referenceDataService.snapshot();
+        if (matches(ifNoneMatch, snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag()).cacheControl(CACHE_CONTROL).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CACHE_CONTROL)
+                .body(ReferenceDataResponse.from(snapshot));
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag.isEmpty()) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.strip();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals("\"" + etag + "\"")) return true;
+        }
+        return false;
+    }
+
+    public record ReferenceDataResponse(long version, List<CategoryResponse> categories, List<GroupResponse> groups) {
+        static ReferenceDataResponse from(ReferenceDataService.Snapshot snapshot) {
+            return new ReferenceDataResponse(
+                    snapshot.version(),
+                    snapshot.categories().stream()
+                            .map(c -> new CategoryResponse(c.getId(), c.getName(), c.getCreatedAt()))
+                            .toList(),
+                    snapshot.groups().stream()
+                            .map(g -> new GroupResponse(g.getId(), g.getName(), ReferenceDataService.parentId(g)))
+                            .toList()
+            );
+        }
+    }
+
+    public record CategoryResponse(Long id, String name, LocalDateTime createdAt) {
+    }
+
+    public record GroupResponse(Long id, String name, Long parentId) {
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.demo.reference;
+
+import com.example.demo.config.WorkloadExecutorConfig;
+import com.example.demo.group.DepartmentGroup;
+import com.example.demo.group.DepartmentGroupRepository;
+import com.example.demo.helpdesk.HelpdeskCategory;
+import com.example.demo.helpdesk.HelpdeskCategoryRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory snapshot of ticket categories and department groups, the reference data every dashboard load
+ * and ticket creation needs. It is rebuilt after a category or group change commits on this node, and
+ * periodically to pick up changes made on other nodes; a rebuild that finds the same content keeps the
+ * current version.
+ * <p>
+ * The snapshot holds detached entities so tickets can reference them without loading them again. They are
+ * shared between threads and must be treated as read-only.
+ */
+@Service
+public class ReferenceDataService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataService.class);
+
+    private final HelpdeskCategoryRepository categoryRepository;
+    private final DepartmentGroupRepository groupRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public ReferenceDataService(
+            HelpdeskCategoryRepository categoryRepository,
+            DepartmentGroupRepository groupRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.categoryRepository = categoryRepository;
+        this.groupRepository = groupRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Rebuilds run from afterCommit callbacks and must not join the finished transaction.
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    void load() {
+        rebuild();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.reference-data.refresh-ms:60000}",
+            initialDelayString = "${app.reference-data.refresh-ms:60000}",
+            scheduler = WorkloadExecutorConfig.DEFAULT_SCHEDULER
+    )
+    public void refresh() {
+        rebuild();
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public Optional<HelpdeskCategory> findCategory(Long categoryId) {
+        return categoryId == null ? Optional.empty() : Optional.ofNullable(snapshot.categoriesById().get(categoryId));
+    }
+
+    public Optional<DepartmentGroup> findGroup(Long groupId) {
+        return groupId == null ? Optional.empty() : Optional.ofNullable(snapshot.groupsById().get(groupId));
+    }
+
+    /**
+     * Rebuilds once the current transaction commits, or right away outside a transaction.
+     */
+    public void rebuildAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild();
+                }
+            });
+            return;
+        }
+        rebuild();
+    }
+
+    /**
+     * Serialised so a slow rebuild cannot overwrite the result of a later one.
+     */
+    public synchronized void rebuild() {
+        Loaded loaded = readOnlyTransaction.execute(status -> new Loaded(
+                categoryRepository.findAllByOrderByNameAsc(),
+                groupRepository.findAllByOrderByNameAsc()
+        ));
+        if (loaded == null) return;
+        String etag = contentHash(loaded);
+        Snapshot current = snapshot;
+        if (etag.equals(current.etag())) return;
+
+        Map<Long, HelpdeskCategory> categoriesById = new LinkedHashMap<>();
+        loaded.categories().forEach(category -> categoriesById.put(category.getId(), category));
+        Map<Long, DepartmentGroup> groupsById = new LinkedHashMap<>();
+        loaded.groups().forEach(group -> groupsById.put(group.getId(), group));
+        snapshot = new Snapshot(
+                current.version() + 1,
+                etag,
+                LocalDateTime.now(),
+                List.copyOf(loaded.categories()),
+                List.copyOf(loaded.groups()),
+                Map.copyOf(categoriesById),
+                Map.copyOf(groupsById)
+        );
+        log.info(
+                "reference data rebuilt version={} categories={} groups={}",
+                current.version() + 1,
+                categoriesById.size(),
+                groupsById.size()
+        );
+    }
+
+    private static String contentHash(Loaded loaded) {
+        StringBuilder content = new StringBuilder();
+        for (HelpdeskCategory category : loaded.categories()) {
+            content.append("c|").append(category.getId()).append('|').append(category.getName())
+                    .append('|').append(category.getCreatedAt()).append('\n');
+        }
+        for (DepartmentGroup group : loaded.groups()) {
+            content.append("g|").append(group.getId()).append('|').append(group.getName())
+                    .append('|').append(parentId(group)).append('\n');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static Long parentId(DepartmentGroup group) {
+        return group.getParent() == null ? null : group.getParent().getId();
+    }
+
+    /**
+     * @param etag content hash, identical on every node that holds the same data
+     */
+    public record Snapshot(
+            long version,
+            String etag,
+            LocalDateTime builtAt,
+            List<HelpdeskCategory> categories,
+            List<DepartmentGroup> groups,
+            Map<Long, HelpdeskCategory> categoriesById,
+            Map<Long, DepartmentGroup> groupsById
+    ) {
+        static final Snapshot EMPTY = new Snapshot(0, "", null, List.of(), List.of(), Map.of(), Map.of());
+    }
+
+    private record Loaded(List<HelpdeskCategory> categories, List<DepartmentGroup> groups) {
+    }
+}
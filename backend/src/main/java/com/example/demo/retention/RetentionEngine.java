@@ -0,0 +1,209 @@
+package com.example.demo.retention;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Deletes expired rows in small chunks, each in its own short transaction. A chunk walks the
+ * {@code (ageColumn, id)} index from a cursor, locks at most {@code chunk-size} rows with
+ * {@code SKIP LOCKED} so rows busy in a user transaction are left for the next run, deletes them and saves the
+ * cursor in {@code retention_checkpoints} in the same transaction. A run that hits its time budget resumes
+ * from the saved cursor next time.
+ */
+@Service
+public class RetentionEngine {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean postgres;
+    private final int chunkSize;
+    private final long chunkPauseMs;
+    private final long lockTimeoutMs;
+
+    public RetentionEngine(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.retention.chunk-size:1000}") int chunkSize,
+            @Value("${app.retention.chunk-pause-ms:200}") long chunkPauseMs,
+            @Value("${app.retention.lock-timeout-ms:2000}") long lockTimeoutMs
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.postgres = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())));
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.chunkPauseMs = Math.max(chunkPauseMs, 0);
+        this.lockTimeoutMs = Math.max(lockTimeoutMs, 100);
+    }
+
+    /**
+     * Purges {@code policy} until nothing expired is left or {@code deadline} passes. With {@code resume} the
+     * run continues from the policy's saved cursor and keeps it up to date; ad-hoc runs start from the
+     * beginning and leave the checkpoint alone.
+     */
+    public RetentionReport purge(RetentionPolicy policy, Instant deadline, boolean resume) {
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(policy.keepDays());
+        Cursor cursor = resume ? loadCursor(policy) : null;
+        long deleted = 0;
+        int chunks = 0;
+        boolean completed = false;
+
+        while (true) {
+            if (Instant.now().isAfter(deadline)) break;
+            Cursor from = cursor;
+            long deletedSoFar = deleted;
+            ChunkResult chunk = transactionTemplate.execute(status -> deleteChunk(policy, cutoff, from, resume, deletedSoFar));
+            chunks++;
+            deleted += chunk.deleted();
+            cursor = chunk.cursor();
+            if (chunk.deleted() < chunkSize) {
+                completed = true;
+                break;
+            }
+            if (!pause()) break;
+        }
+        if (resume && completed) {
+            saveCheckpoint(policy, null, true, deleted);
+        }
+
+        long durationMs = System.currentTimeMillis() - startedAt;
+        Counter.builder("retention.rows.deleted")
+                .description("Rows deleted by the retention engine")
+                .tag("table", policy.table())
+                .register(meterRegistry)
+                .increment(deleted);
+        Timer.builder("retention.run")
+                .description("Time spent purging one table")
+                .tag("table", policy.table())
+                .register(meterRegistry)
+                .record(Duration.ofMillis(durationMs));
+        return new RetentionReport(policy.name(), cutoff, deleted, chunks, durationMs, completed);
+    }
+
+    private ChunkResult deleteChunk(RetentionPolicy policy, LocalDateTime cutoff, Cursor from, boolean saveCursor, long deletedSoFar) {
+        if (postgres) {
+            // Never queue behind a long user transaction; a timed-out chunk is retried on the next run.
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '" + lockTimeoutMs + "ms'");
+        }
+        List<Object> args = new ArrayList<>(4);
+        args.add(Timestamp.valueOf(cutoff));
+        if (from != null) {
+            args.add(Timestamp.valueOf(from.age()));
+            args.add(from.id());
+        }
+        args.add(chunkSize);
+        List<Cursor> removed = jdbcTemplate.query(
+                chunkSql(policy, from != null),
+                (rs, rowNum) -> new Cursor(rs.getTimestamp("age").toLocalDateTime(), rs.getLong("id")),
+                args.toArray()
+        );
+        Cursor next = removed.stream()
+                .max(Comparator.comparing(Cursor::age).thenComparing(Cursor::id))
+                .orElse(from);
+        if (saveCursor && !removed.isEmpty()) {
+            saveCheckpoint(policy, next, false, deletedSoFar + removed.size());
+        }
+        return new ChunkResult(removed.size(), next);
+    }
+
+    static String chunkSql(RetentionPolicy policy, boolean withCursor) {
+        String table = policy.table();
+        String age = policy.ageColumn();
+        StringBuilder sql = new StringBuilder()
+                .append("WITH doomed AS (\n")
+                .append("    SELECT id, ").append(age).append(" AS age\n")
+                .append("    FROM ").append(table).append('\n')
+                .append("    WHERE ").append(age).append(" < ?\n");
+        if (withCursor) {
+            sql.append("      AND (").append(age).append(", id) > (?, ?)\n");
+        }
+        if (policy.predicate() != null) {
+            sql.append("      AND (").append(policy.predicate()).append(")\n");
+        }
+        sql.append("    ORDER BY ").append(age).append(", id\n")
+                .append("    LIMIT ?\n")
+                .append("    FOR UPDATE SKIP LOCKED\n")
+                .append(")\n")
+                .append("DELETE FROM ").append(table).append(" t\n")
+                .append("USING doomed\n")
+                .append("WHERE t.id = doomed.id\n")
+                .append("RETURNING doomed.id, doomed.age");
+        return sql.toString();
+    }
+
+    private Cursor loadCursor(RetentionPolicy policy) {
+        List<Cursor> cursors = jdbcTemplate.query(
+                "SELECT cursor_age, cursor_id FROM retention_checkpoints WHERE policy_name = ? AND completed = FALSE AND cursor_id IS NOT NULL",
+                (rs, rowNum) -> new Cursor(rs.getTimestamp("cursor_age").toLocalDateTime(), rs.getLong("cursor_id")),
+                policy.name()
+        );
+        return cursors.isEmpty() ? null : cursors.get(0);
+    }
+
+    private void saveCheckpoint(RetentionPolicy policy, Cursor cursor, boolean completed, long deleted) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("""
+                        INSERT INTO retention_checkpoints (policy_name, cursor_age, cursor_id, completed, run_deleted, updated_at)
+                        VALUES (?, ?, ?, ?, ?, ?)
+                        ON CONFLICT (policy_name) DO UPDATE
+                        SET cursor_age = EXCLUDED.cursor_age,
+                            cursor_id = EXCLUDED.cursor_id,
+                            completed = EXCLUDED.completed,
+                            run_deleted = EXCLUDED.run_deleted,
+                            updated_at = EXCLUDED.updated_at
+                        """,
+                policy.name(),
+                cursor == null ? null : Timestamp.valueOf(cursor.age()),
+                cursor == null ? null : cursor.id(),
+                completed,
+                deleted,
+                now
+        );
+    }
+
+    private boolean pause() {
+        if (chunkPauseMs == 0) return true;
+        try {
+            Thread.sleep(chunkPauseMs);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record Cursor(LocalDateTime age, long id) {
+    }
+
+    private record ChunkResult(int deleted, Cursor cursor) {
+    }
+
+    public record RetentionReport(
+            String policy,
+            LocalDateTime cutoff,
+            long deletedCount,
+            int chunks,
+            long durationMs,
+            boolean completed
+    ) {
+    }
+}
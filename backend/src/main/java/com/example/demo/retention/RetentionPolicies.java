@@ -0,0 +1,51 @@
+package com.example.demo.retention;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Retention rules for every table that grows with traffic, in the order they run. Delivery logs go before
+ * jobs because they reference them. A keep-days of 0 disables a policy.
+ */
+@Component
+public class RetentionPolicies {
+
+    public static final String AUDIT_LOGS = "audit_logs";
+
+    private final List<RetentionPolicy> policies;
+
+    public RetentionPolicies(
+            @Value("${app.audit.retention-days:180}") int auditLogDays,
+            @Value("${app.notification.retention-days:90}") int notificationDays,
+            @Value("${app.retention.email-delivery-logs.keep-days:60}") int deliveryLogDays,
+            @Value("${app.retention.notification-jobs.keep-days:90}") int jobDays,
+            @Value("${app.retention.auth-tokens.keep-days:7}") int expiredTokenDays
+    ) {
+        this.policies = List.of(
+                new RetentionPolicy(AUDIT_LOGS, "audit_logs", "created_at", null, auditLogDays),
+                // Unread rows stay so the per-member unread counters remain valid.
+                new RetentionPolicy("notifications", "notifications", "created_at", "is_read = TRUE", notificationDays),
+                new RetentionPolicy("broadcast_notifications", "broadcast_notifications", "created_at", null, notificationDays),
+                new RetentionPolicy("email_delivery_logs", "email_delivery_logs", "created_at", null, deliveryLogDays),
+                new RetentionPolicy(
+                        "notification_jobs",
+                        "notification_jobs",
+                        "updated_at",
+                        "status IN ('SENT', 'FAILED') AND NOT EXISTS (SELECT 1 FROM email_delivery_logs l WHERE l.job_id = notification_jobs.id)",
+                        jobDays
+                ),
+                new RetentionPolicy("auth_tokens", "auth_tokens", "expires_at", null, expiredTokenDays)
+        );
+    }
+
+    public List<RetentionPolicy> all() {
+        return policies;
+    }
+
+    public Optional<RetentionPolicy> find(String name) {
+        return policies.stream().filter(policy -> policy.name().equals(name)).findFirst();
+    }
+}
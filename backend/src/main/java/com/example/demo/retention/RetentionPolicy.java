@@ -0,0 +1,23 @@
+package com.example.demo.retention;
+
+/**
+ * Which rows of one table expire: rows whose {@code ageColumn} is older than {@code keepDays} and that match
+ * {@code predicate}. The table needs a {@code BIGINT id} primary key and an index on {@code (ageColumn, id)}
+ * (partial on the predicate where there is one) so each chunk is an index range scan.
+ */
+public record RetentionPolicy(
+        String name,
+        String table,
+        String ageColumn,
+        String predicate,
+        int keepDays
+) {
+
+    public boolean enabled() {
+        return keepDays > 0;
+    }
+
+    public RetentionPolicy withKeepDays(int days) {
+        return new RetentionPolicy(name, table, ageColumn, predicate, days);
+    }
+}
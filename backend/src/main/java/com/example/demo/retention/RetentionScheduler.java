@@ -0,0 +1,74 @@
+package com.example.demo.retention;
+
+import com.example.demo.config.WorkloadExecutorConfig;
+import com.example.demo.scheduling.SchedulerLockService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+public class RetentionScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RetentionScheduler.class);
+
+    static final String LOCK_NAME = "retention";
+    private static final Duration LEASE_MARGIN = Duration.ofMinutes(5);
+
+    private final RetentionPolicies policies;
+    private final RetentionEngine engine;
+    private final SchedulerLockService lockService;
+    private final long maxRunMinutes;
+
+    public RetentionScheduler(
+            RetentionPolicies policies,
+            RetentionEngine engine,
+            SchedulerLockService lockService,
+            @Value("${app.retention.max-run-minutes:30}") long maxRunMinutes
+    ) {
+        this.policies = policies;
+        this.engine = engine;
+        this.lockService = lockService;
+        this.maxRunMinutes = Math.max(maxRunMinutes, 1);
+    }
+
+    /**
+     * Runs every policy in order under one time budget on exactly one node; a policy cut short resumes from
+     * its checkpoint on the next run. The lease outlasts the budget, and the holder re-checks its fencing
+     * token before each table so a node that lost the lock stops.
+     */
+    @Scheduled(cron = "${app.retention.cron:0 30 3 * * *}", scheduler = WorkloadExecutorConfig.RETENTION_SCHEDULER)
+    public void purgeExpiredRows() {
+        Duration budget = Duration.ofMinutes(maxRunMinutes);
+        lockService.runExclusively(LOCK_NAME, budget.plus(LEASE_MARGIN), lease -> purgeAll(lease, Instant.now().plus(budget)));
+    }
+
+    private void purgeAll(SchedulerLockService.Lease lease, Instant deadline) {
+        for (RetentionPolicy policy : policies.all()) {
+            if (!policy.enabled()) continue;
+            if (!lockService.isValid(lease)) {
+                log.warn("retention stopped lock lost token={}", lease.fencingToken());
+                return;
+            }
+            try {
+                RetentionEngine.RetentionReport report = engine.purge(policy, deadline, true);
+                log.info(
+                        "retention table={} keepDays={} cutoff={} deleted={} chunks={} completed={} durationMs={}",
+                        policy.table(),
+                        policy.keepDays(),
+                        report.cutoff(),
+                        report.deletedCount(),
+                        report.chunks(),
+                        report.completed(),
+                        report.durationMs()
+                );
+            } catch (RuntimeException ex) {
+                log.warn("retention failed table={} error={}", policy.table(), ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.scheduling;
+
+import com.example.demo.auth.AuthService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/scheduler-locks")
+public class AdminSchedulerLockController {
+
+    private final AuthService authService;
+    private final SchedulerLockService lockService;
+
+    public AdminSchedulerLockController(AuthService authService, SchedulerLockService lockService) {
+        this.authService = authService;
+        this.lockService = lockService;
+    }
+
+    @GetMapping
+    public SchedulerLocksResponse list(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        authService.requireAdmin(authorization);
+        LocalDateTime now = LocalDateTime.now();
+        List<SchedulerLockResponse> locks = lockService.findAll().stream()
+                .map(lock -> SchedulerLockResponse.from(lock, now))
+                .toList();
+        return new SchedulerLocksResponse(lockService.nodeId(), now, locks);
+    }
+
+    public record SchedulerLocksResponse(String nodeId, LocalDateTime serverTime, List<SchedulerLockResponse> locks) {
+    }
+
+    public record SchedulerLockResponse(
+            String lockName,
+            String lockGroup,
+            String holder,
+            long fencingToken,
+            LocalDateTime acquiredAt,
+            LocalDateTime leaseUntil,
+            boolean held
+    ) {
+        static SchedulerLockResponse from(SchedulerLock lock, LocalDateTime now) {
+            return new SchedulerLockResponse(
+                    lock.getLockName(),
+                    lock.getLockGroup(),
+                    lock.getHolder(),
+                    lock.getFencingToken(),
+                    lock.getAcquiredAt(),
+                    lock.getLeaseUntil(),
+                    lock.getHolder() != null && !lock.getLeaseUntil().isBefore(now)
+            );
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo.scheduling;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * A named lease shared by every node through the database. {@code fencingToken} grows by one on every
+ * acquisition, so work stamped with an older token can be told apart from the current holder's. Rows with a
+ * {@code lockGroup} are per-node membership leases used to partition work.
+ */
+@Entity
+@Table(name = "scheduler_locks")
+public class SchedulerLock {
+
+    @Id
+    @Column(length = 200)
+    private String lockName;
+
+    @Column(length = 100)
+    private String lockGroup;
+
+    @Column(length = 120)
+    private String holder;
+
+    @Column(nullable = false)
+    private long fencingToken;
+
+    @Column
+    private LocalDateTime acquiredAt;
+
+    @Column(nullable = false)
+    private LocalDateTime leaseUntil;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    protected SchedulerLock() {
+    }
+
+    public SchedulerLock(String lockName, String lockGroup, String holder, LocalDateTime now, LocalDateTime leaseUntil) {
+        this.lockName = lockName;
+        this.lockGroup = lockGroup;
+        this.holder = holder;
+        this.fencingToken = 1;
+        this.acquiredAt = now;
+        this.leaseUntil = leaseUntil;
+        this.updatedAt = now;
+    }
+
+    public String getLockName() {
+        return lockName;
+    }
+
+    public String getLockGroup() {
+        return lockGroup;
+    }
+
+    public String getHolder() {
+        return holder;
+    }
+
+    public long getFencingToken() {
+        return fencingToken;
+    }
+
+    public LocalDateTime getAcquiredAt() {
+        return acquiredAt;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.scheduling;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    /**
+     * Takes the lock when it is free, its lease has run out, or {@code holder} already has it, and bumps the
+     * fencing token. Returns 0 while another node holds a live lease.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update SchedulerLock l
+            set l.holder = :holder,
+                l.fencingToken = l.fencingToken + 1,
+                l.acquiredAt = :now,
+                l.leaseUntil = :leaseUntil,
+                l.updatedAt = :now
+            where l.lockName = :lockName
+              and (l.holder is null or l.holder = :holder or l.leaseUntil < :now)
+            """)
+    int acquire(
+            @Param("lockName") String lockName,
+            @Param("holder") String holder,
+            @Param("leaseUntil") LocalDateTime leaseUntil,
+            @Param("now") LocalDateTime now
+    );
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update SchedulerLock l
+            set l.leaseUntil = :leaseUntil,
+                l.updatedAt = :now
+            where l.lockName = :lockName
+              and l.holder = :holder
+              and l.fencingToken = :fencingToken
+              and l.leaseUntil >= :now
+            """)
+    int extend(
+            @Param("lockName") String lockName,
+            @Param("holder") String holder,
+            @Param("fencingToken") long fencingToken,
+            @Param("leaseUntil") LocalDateTime leaseUntil,
+            @Param("now") LocalDateTime now
+    );
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update SchedulerLock l
+            set l.holder = null,
+                l.leaseUntil = :now,
+                l.updatedAt = :now
+            where l.lockName = :lockName
+              and l.holder = :holder
+              and l.fencingToken = :fencingToken
+            """)
+    int release(
+            @Param("lockName") String lockName,
+            @Param("holder") String holder,
+            @Param("fencingToken") long fencingToken,
+            @Param("now") LocalDateTime now
+    );
+
+    @Query("""
+            select count(l)
+            from SchedulerLock l
+            where l.lockName = :lockName
+              and l.holder = :holder
+              and l.fencingToken = :fencingToken
+              and l.leaseUntil >= :now
+            """)
+    long countValid(
+            @Param("lockName") String lockName,
+            @Param("holder") String holder,
+            @Param("fencingToken") long fencingToken,
+            @Param("now") LocalDateTime now
+    );
+
+    @Query("""
+            select l.holder
+            from SchedulerLock l
+            where l.lockGroup = :lockGroup
+              and l.holder is not null
+              and l.leaseUntil >= :now
+            order by l.holder asc
+            """)
+    List<String> findLiveHolders(@Param("lockGroup") String lockGroup, @Param("now") LocalDateTime now);
+
+    List<SchedulerLock> findAllByOrderByLockNameAsc();
+}
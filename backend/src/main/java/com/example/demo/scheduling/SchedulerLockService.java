@@ -0,0 +1,195 @@
+package com.example.demo.scheduling;
+
+import com.example.demo.config.NodeIdentity;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Database-backed leases for scheduled jobs that run on several nodes. Two modes:
+ * <ul>
+ *     <li>{@link #runExclusively}: the job runs on whichever node takes the lock first; the others skip that
+ *     tick. A holder that dies keeps the lock only until its lease runs out.</li>
+ *     <li>{@link #partition}: every node runs the job and keeps a membership lease in a group; live members are
+ *     ordered by node id and each takes the items whose id falls into its slot.</li>
+ * </ul>
+ * Every acquisition bumps the lock's fencing token. Long jobs should check {@link #isValid} between steps so a
+ * node that lost its lease (e.g. after a long GC pause) stops instead of racing the new holder.
+ */
+@Service
+public class SchedulerLockService {
+
+    private static final Logger log = LoggerFactory.getLogger(SchedulerLockService.class);
+
+    private final SchedulerLockRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final NodeIdentity nodeIdentity;
+    private final Clock clock;
+    private final Map<String, Lease> memberships = new ConcurrentHashMap<>();
+    private final Map<String, CachedPartition> partitions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SchedulerLockService(
+            SchedulerLockRepository repository,
+            PlatformTransactionManager transactionManager,
+            NodeIdentity nodeIdentity
+    ) {
+        this(repository, transactionManager, nodeIdentity, Clock.systemDefaultZone());
+    }
+
+    SchedulerLockService(
+            SchedulerLockRepository repository,
+            PlatformTransactionManager transactionManager,
+            NodeIdentity nodeIdentity,
+            Clock clock
+    ) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nodeIdentity = nodeIdentity;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs {@code task} only if this node can take {@code lockName}, releasing the lock afterwards. Returns
+     * whether the task ran.
+     */
+    public boolean runExclusively(String lockName, Duration leaseDuration, Consumer<Lease> task) {
+        Optional<Lease> lease = tryAcquire(lockName, leaseDuration);
+        if (lease.isEmpty()) {
+            log.debug("scheduler lock busy name={} node={}", lockName, nodeIdentity.id());
+            return false;
+        }
+        try {
+            task.accept(lease.get());
+        } finally {
+            release(lease.get());
+        }
+        return true;
+    }
+
+    public Optional<Lease> tryAcquire(String lockName, Duration leaseDuration) {
+        return acquire(lockName, null, leaseDuration);
+    }
+
+    /**
+     * Pushes the lease out by {@code leaseDuration}; empty if the lease was already lost.
+     */
+    public Optional<Lease> extend(Lease lease, Duration leaseDuration) {
+        LocalDateTime now = now();
+        LocalDateTime leaseUntil = now.plus(leaseDuration);
+        Integer updated = transactionTemplate.execute(status ->
+                repository.extend(lease.lockName(), lease.holder(), lease.fencingToken(), leaseUntil, now));
+        if (updated == null || updated == 0) return Optional.empty();
+        return Optional.of(new Lease(lease.lockName(), lease.holder(), lease.fencingToken(), leaseUntil));
+    }
+
+    /**
+     * True while {@code lease} is still the current, unexpired holder of its lock.
+     */
+    public boolean isValid(Lease lease) {
+        Long count = transactionTemplate.execute(status ->
+                repository.countValid(lease.lockName(), lease.holder(), lease.fencingToken(), now()));
+        return count != null && count > 0;
+    }
+
+    public void release(Lease lease) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    repository.release(lease.lockName(), lease.holder(), lease.fencingToken(), now()));
+        } catch (DataAccessException ex) {
+            // The lease still expires on its own.
+            log.warn("scheduler lock release failed name={} token={} error={}", lease.lockName(), lease.fencingToken(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Renews this node's membership in {@code group} and returns its slot among the live members. Membership
+     * is refreshed at most every third of {@code ttl}; a node that stops renewing drops out after {@code ttl}
+     * and the remaining members split its share. Falls back to the whole range if membership cannot be taken.
+     */
+    public WorkPartition partition(String group, Duration ttl) {
+        LocalDateTime now = now();
+        CachedPartition cached = partitions.get(group);
+        if (cached != null && now.isBefore(cached.refreshAfter())) return cached.partition();
+
+        String holder = nodeIdentity.id();
+        Optional<Lease> membership = acquire(group + "/" + holder, group, ttl);
+        membership.ifPresent(lease -> memberships.put(group, lease));
+        List<String> liveHolders = transactionTemplate.execute(status -> repository.findLiveHolders(group, now));
+        int index = liveHolders == null ? -1 : liveHolders.indexOf(holder);
+        WorkPartition partition = membership.isEmpty() || index < 0
+                ? WorkPartition.WHOLE
+                : new WorkPartition(index, liveHolders.size());
+        if (cached == null || !cached.partition().equals(partition)) {
+            log.info("scheduler partition group={} node={} index={} count={}", group, holder, partition.index(), partition.count());
+        }
+        partitions.put(group, new CachedPartition(partition, now.plus(ttl.dividedBy(3))));
+        return partition;
+    }
+
+    public List<SchedulerLock> findAll() {
+        return transactionTemplate.execute(status -> repository.findAllByOrderByLockNameAsc());
+    }
+
+    public String nodeId() {
+        return nodeIdentity.id();
+    }
+
+    /**
+     * Gives up group memberships on shutdown so the other nodes take over this node's share right away.
+     */
+    @PreDestroy
+    void leaveGroups() {
+        memberships.values().forEach(this::release);
+        memberships.clear();
+        partitions.clear();
+    }
+
+    private Optional<Lease> acquire(String lockName, String group, Duration leaseDuration) {
+        String holder = nodeIdentity.id();
+        LocalDateTime now = now();
+        LocalDateTime leaseUntil = now.plus(leaseDuration);
+        Lease taken = transactionTemplate.execute(status -> {
+            if (repository.acquire(lockName, holder, leaseUntil, now) == 0) return null;
+            return repository.findById(lockName)
+                    .map(lock -> new Lease(lockName, holder, lock.getFencingToken(), leaseUntil))
+                    .orElse(null);
+        });
+        if (taken != null) return Optional.of(taken);
+        if (Boolean.TRUE.equals(transactionTemplate.execute(status -> repository.existsById(lockName)))) {
+            return Optional.empty();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    repository.saveAndFlush(new SchedulerLock(lockName, group, holder, now, leaseUntil)));
+            return Optional.of(new Lease(lockName, holder, 1, leaseUntil));
+        } catch (DataAccessException ex) {
+            // Another node created the row first.
+            return Optional.empty();
+        }
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    public record Lease(String lockName, String holder, long fencingToken, LocalDateTime leaseUntil) {
+    }
+
+    private record CachedPartition(WorkPartition partition, LocalDateTime refreshAfter) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.scheduling;
+
+/**
+ * This node's share of partitioned work: items whose {@code id mod count} equals {@code index}.
+ */
+public record WorkPartition(int index, int count) {
+
+    public static final WorkPartition WHOLE = new WorkPartition(0, 1);
+
+    public WorkPartition {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid partition " + index + "/" + count);
+        }
+    }
+
+    public boolean owns(long id) {
+        return Math.floorMod(id, count) == index;
+    }
+}
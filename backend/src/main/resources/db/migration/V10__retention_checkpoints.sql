@@ -0,0 +1,33 @@
+CREATE TABLE IF NOT EXISTS retention_checkpoints (
+    policy_name VARCHAR(80) PRIMARY KEY,
+    cursor_age TIMESTAMP,
+    cursor_id BIGINT,
+    completed BOOLEAN NOT NULL DEFAULT TRUE,
+    run_deleted BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Keyset indexes for chunked retention: each chunk is a range scan from the saved (age, id) cursor.
+DROP INDEX IF EXISTS idx_audit_logs_created_at;
+CREATE INDEX IF NOT EXISTS idx_audit_logs_created_at_id
+ON audit_logs (created_at, id);
+
+DROP INDEX IF EXISTS idx_notifications_read_created_at;
+CREATE INDEX IF NOT EXISTS idx_notifications_read_created_at_id
+ON notifications (created_at, id)
+WHERE is_read = TRUE;
+
+DROP INDEX IF EXISTS idx_broadcast_notifications_created_at;
+CREATE INDEX IF NOT EXISTS idx_broadcast_notifications_created_at_id
+ON broadcast_notifications (created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_email_delivery_logs_created_at_id
+ON email_delivery_logs (created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_notification_jobs_finished_updated_at_id
+ON notification_jobs (updated_at, id)
+WHERE status IN ('SENT', 'FAILED');
+
+DROP INDEX IF EXISTS idx_auth_tokens_expires_at;
+CREATE INDEX IF NOT EXISTS idx_auth_tokens_expires_at_id
+ON auth_tokens (expires_at, id);
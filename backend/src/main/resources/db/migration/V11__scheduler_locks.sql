@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS scheduler_locks (
+    lock_name VARCHAR(200) PRIMARY KEY,
+    lock_group VARCHAR(100),
+    holder VARCHAR(120),
+    fencing_token BIGINT NOT NULL DEFAULT 0,
+    acquired_at TIMESTAMP,
+    lease_until TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Live members of a partitioned job are looked up by group on every membership refresh.
+CREATE INDEX IF NOT EXISTS idx_scheduler_locks_group_lease
+ON scheduler_locks (lock_group, lease_until)
+WHERE lock_group IS NOT NULL;
@@ -0,0 +1,26 @@
+ALTER TABLE department_groups
+ADD COLUMN IF NOT EXISTS parent_id BIGINT REFERENCES department_groups(id);
+
+CREATE INDEX IF NOT EXISTS idx_department_groups_parent_id
+ON department_groups (parent_id);
+
+-- One row per (ancestor, descendant) pair including each group with itself at depth 0, so subtree and
+-- path lookups are a single index range scan instead of a recursive walk.
+CREATE TABLE IF NOT EXISTS department_group_closure (
+    ancestor_id BIGINT NOT NULL REFERENCES department_groups(id) ON DELETE CASCADE,
+    descendant_id BIGINT NOT NULL REFERENCES department_groups(id) ON DELETE CASCADE,
+    depth INT NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_department_group_closure_descendant_depth
+ON department_group_closure (descendant_id, depth, ancestor_id);
+
+INSERT INTO department_group_closure (ancestor_id, descendant_id, depth)
+SELECT id, id, 0 FROM department_groups
+ON CONFLICT DO NOTHING;
+
+-- Supervisors of the groups on a path are joined by group id.
+CREATE INDEX IF NOT EXISTS idx_department_group_members_supervisor
+ON department_group_members (group_id, member_id)
+WHERE supervisor = TRUE;
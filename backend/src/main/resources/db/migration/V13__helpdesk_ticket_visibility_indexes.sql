@@ -0,0 +1,11 @@
+-- Ticket lists are filtered by who may see them and ordered newest first; each visibility branch is a range
+-- scan on its own index so cost follows the visible rows, not the whole table.
+CREATE INDEX IF NOT EXISTS idx_helpdesk_tickets_creator_created_at
+ON helpdesk_tickets (created_by_member_id, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_helpdesk_tickets_group_created_at
+ON helpdesk_tickets (group_id, created_at, id);
+
+-- IT and ADMIN see every ticket.
+CREATE INDEX IF NOT EXISTS idx_helpdesk_tickets_created_at_id
+ON helpdesk_tickets (created_at, id);
@@ -0,0 +1,8 @@
+-- Single row locked by every change to the department tree, so concurrent moves are checked against the
+-- closure table and applied one at a time.
+CREATE TABLE IF NOT EXISTS department_group_hierarchy_lock (
+    id INT PRIMARY KEY
+);
+
+INSERT INTO department_group_hierarchy_lock (id) VALUES (1)
+ON CONFLICT DO NOTHING;
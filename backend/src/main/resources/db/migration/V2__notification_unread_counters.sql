@@ -0,0 +1,25 @@
+-- notifications was originally created by Hibernate (ddl-auto=update); make sure it exists before indexing it.
+CREATE TABLE IF NOT EXISTS notifications (
+    id BIGSERIAL PRIMARY KEY,
+    recipient_id BIGINT NOT NULL REFERENCES members(id),
+    type VARCHAR(255) NOT NULL,
+    message VARCHAR(500) NOT NULL,
+    ticket_id BIGINT,
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_is_read
+ON notifications (recipient_id, is_read);
+
+CREATE TABLE IF NOT EXISTS notification_unread_counters (
+    member_id BIGINT PRIMARY KEY REFERENCES members(id) ON DELETE CASCADE,
+    unread_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+INSERT INTO notification_unread_counters (member_id, unread_count, updated_at)
+SELECT recipient_id, COUNT(*), NOW()
+FROM notifications
+WHERE is_read = FALSE
+GROUP BY recipient_id
+ON CONFLICT (member_id) DO NOTHING;
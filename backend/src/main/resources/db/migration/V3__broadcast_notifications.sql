@@ -0,0 +1,17 @@
+CREATE TABLE IF NOT EXISTS broadcast_notifications (
+    id BIGSERIAL PRIMARY KEY,
+    audience VARCHAR(32) NOT NULL,
+    type VARCHAR(32) NOT NULL,
+    message VARCHAR(500) NOT NULL,
+    ticket_id BIGINT,
+    actor_member_id BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+CREATE INDEX IF NOT EXISTS idx_broadcast_notifications_audience_id
+ON broadcast_notifications (audience, id);
+
+CREATE TABLE IF NOT EXISTS notification_broadcast_cursors (
+    member_id BIGINT PRIMARY KEY REFERENCES members(id) ON DELETE CASCADE,
+    last_read_broadcast_id BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
@@ -0,0 +1,9 @@
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_created_at
+ON notifications (recipient_id, created_at DESC) INCLUDE (is_read);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_read_created_at
+ON notifications (created_at)
+WHERE is_read = TRUE;
+
+CREATE INDEX IF NOT EXISTS idx_broadcast_notifications_created_at
+ON broadcast_notifications (created_at);
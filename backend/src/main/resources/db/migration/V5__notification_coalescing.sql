@@ -0,0 +1,13 @@
+ALTER TABLE notifications
+ADD COLUMN IF NOT EXISTS event_count INT NOT NULL DEFAULT 1;
+
+CREATE INDEX IF NOT EXISTS idx_notifications_coalesce_unread
+ON notifications (recipient_id, ticket_id, type, created_at DESC)
+WHERE is_read = FALSE;
+
+ALTER TABLE notification_jobs
+ADD COLUMN IF NOT EXISTS coalesce_key VARCHAR(200);
+
+CREATE INDEX IF NOT EXISTS idx_notification_jobs_coalesce_pending
+ON notification_jobs (coalesce_key)
+WHERE coalesce_key IS NOT NULL AND status = 'PENDING';
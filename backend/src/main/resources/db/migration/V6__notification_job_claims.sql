@@ -0,0 +1,7 @@
+ALTER TABLE notification_jobs
+ADD COLUMN IF NOT EXISTS lease_owner VARCHAR(120);
+
+-- Claim scans filter on due PENDING/RETRYING rows in creation order.
+CREATE INDEX IF NOT EXISTS idx_notification_jobs_dispatchable
+ON notification_jobs (created_at)
+WHERE status IN ('PENDING', 'RETRYING');
@@ -0,0 +1,6 @@
+ALTER TABLE notification_jobs
+ADD COLUMN IF NOT EXISTS lease_until TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_notification_jobs_processing_lease
+ON notification_jobs (lease_until)
+WHERE status = 'PROCESSING';
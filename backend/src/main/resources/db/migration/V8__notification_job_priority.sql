@@ -0,0 +1,14 @@
+ALTER TABLE notification_jobs
+ADD COLUMN IF NOT EXISTS priority VARCHAR(20) NOT NULL DEFAULT 'NORMAL';
+
+UPDATE notification_jobs
+SET priority = CASE event_type
+    WHEN 'TICKET_URGENT_SUPERVISOR_REQUIRED' THEN 'HIGH'
+    WHEN 'USER_REGISTERED' THEN 'LOW'
+    ELSE 'NORMAL'
+END
+WHERE status IN ('PENDING', 'RETRYING', 'PROCESSING');
+
+CREATE INDEX IF NOT EXISTS idx_notification_jobs_lane_dispatch
+ON notification_jobs (priority, created_at)
+WHERE status IN ('PENDING', 'RETRYING');
@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS email_digest_events (
+    id BIGSERIAL PRIMARY KEY,
+    recipient_member_id BIGINT NOT NULL,
+    recipient_email VARCHAR(320) NOT NULL,
+    recipient_name VARCHAR(255),
+    event_type VARCHAR(80) NOT NULL,
+    ticket_id BIGINT NOT NULL,
+    ticket_subject VARCHAR(255),
+    action_label VARCHAR(120) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_email_digest_events_recipient
+ON email_digest_events (recipient_member_id, id);
@@ -0,0 +1,81 @@
+package com.example.demo.email;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailCircuitBreakerTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EmailCircuitBreaker breaker = new EmailCircuitBreaker(
+            "TEST", meterRegistry, 10, 4, 50, Duration.ofSeconds(30), 2, clock
+    );
+
+    @Test
+    void opensOnFailureRateAndClosesAfterSuccessfulTrials() {
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure("timeout", null);
+        assertThat(breaker.snapshot().state()).isEqualTo(EmailCircuitBreaker.State.CLOSED);
+        breaker.onFailure("timeout", null);
+
+        assertThat(breaker.snapshot().state()).isEqualTo(EmailCircuitBreaker.State.OPEN);
+        assertThat(breaker.allowsDispatch()).isFalse();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        clock.advance(Duration.ofSeconds(31));
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.snapshot().state()).isEqualTo(EmailCircuitBreaker.State.HALF_OPEN);
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertThat(breaker.snapshot().state()).isEqualTo(EmailCircuitBreaker.State.CLOSED);
+        assertThat(meterRegistry.get("email.provider.circuit.state").gauge().value()).isZero();
+    }
+
+    @Test
+    void failedTrialReopensAndRetryAfterExtendsThePause() {
+        breaker.onFailure("429", Duration.ofMinutes(5));
+        assertThat(breaker.snapshot().openUntil()).isEqualTo(clock.instant().plus(Duration.ofMinutes(5)));
+
+        clock.advance(Duration.ofMinutes(5));
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onFailure("503", null);
+
+        assertThat(breaker.snapshot().state()).isEqualTo(EmailCircuitBreaker.State.OPEN);
+        assertThat(breaker.retryAt()).isEqualTo(clock.instant().plus(Duration.ofSeconds(30)));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.email;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmailDigestServiceTest {
+
+    @Mock
+    private EmailDigestEventRepository digestEventRepository;
+    @Mock
+    private EmailNotificationService emailNotificationService;
+
+    private EmailDigestService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new EmailDigestService(
+                digestEventRepository,
+                emailNotificationService,
+                new EmailPayloadFactory("http://localhost:5173"),
+                2
+        );
+    }
+
+    @Test
+    void buildsOneDigestPerRecipientAndDeletesTheirEvents() {
+        when(digestEventRepository.findRecipientIdsAfter(eq(100L), eq(0L), any())).thenReturn(List.of(7L, 9L));
+        when(digestEventRepository.findByRecipientMemberIdInAndIdLessThanEqualOrderByRecipientMemberIdAscIdAsc(List.of(7L, 9L), 100L))
+                .thenReturn(List.of(
+                        event(1L, 7L, 40L, EmailEventType.TICKET_REPLIED, "新回覆"),
+                        event(2L, 7L, 40L, EmailEventType.TICKET_REPLIED, "新回覆"),
+                        event(3L, 7L, 40L, EmailEventType.TICKET_CLOSED, "已完成"),
+                        event(4L, 7L, 41L, EmailEventType.TICKET_REPLIED, "新回覆"),
+                        event(5L, 9L, 50L, EmailEventType.TICKET_REPLIED, "新回覆")
+                ));
+
+        EmailDigestService.DigestBatchResult result = service.buildDigestBatch(100L, 0L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EmailJobRequest>> requests = ArgumentCaptor.forClass(List.class);
+        verify(emailNotificationService).enqueueBatch(requests.capture());
+        verify(digestEventRepository).deleteByRecipientsUpTo(List.of(7L, 9L), 100L);
+        assertThat(requests.getValue()).hasSize(2);
+        EmailJobRequest first = requests.getValue().get(0);
+        assertThat(first.templateKey()).isEqualTo(EmailDigestService.TEMPLATE_KEY);
+        assertThat(first.dedupeKey()).isEqualTo("ticket_digest:7:4");
+        assertThat(first.payload()).containsEntry("eventCount", 4).containsEntry("ticketCount", 2);
+        assertThat(first.payload().get("digestItems")).isEqualTo("#40 Ticket 40：新回覆 ×2、已完成\n#41 Ticket 41：新回覆");
+        assertThat(result.lastRecipientId()).isEqualTo(9L);
+        assertThat(result.eventCount()).isEqualTo(5);
+        assertThat(result.hasMore()).isTrue();
+    }
+
+    private EmailDigestEvent event(Long id, Long recipientId, Long ticketId, EmailEventType type, String label) {
+        EmailDigestEvent event = new EmailDigestEvent(recipientId, "m" + recipientId + "@example.com", "Member " + recipientId,
+                type, ticketId, "Ticket " + ticketId, label);
+        ReflectionTestUtils.setField(event, "id", id);
+        return event;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.demo.email;
+
+import com.example.demo.config.NodeIdentity;
+import com.example.demo.scheduling.SchedulerLockService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+@ExtendWith(MockitoExtension.class)
+class EmailDispatchServiceTest {
+
+    private static final String OWNER = "node-1";
+
+    @Mock
+    private EmailNotificationJobRepository jobRepository;
+    @Mock
+    private EmailDeliveryLogRepository deliveryLogRepository;
+    @Mock
+    private EmailProvider emailProvider;
+    @Mock
+    private EmailTemplateService emailTemplateService;
+    @Mock
+    private EmailJobClaimService claimService;
+    @Mock
+    private SchedulerLockService lockService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EmailCircuitBreaker circuitBreaker;
+    private EmailDispatchService service;
+
+    @BeforeEach
+    void setUp() {
+        when(emailProvider.providerName()).thenReturn("TEST");
+        when(emailProvider.limits()).thenReturn(EmailProviderLimits.UNLIMITED);
+        // A zero open duration lets the next tryAcquire move straight to half-open with a single trial permit.
+        circuitBreaker = new EmailCircuitBreaker("TEST", meterRegistry, 10, 1, 50, Duration.ZERO, 1, Clock.systemUTC());
+        service = new EmailDispatchService(
+                jobRepository,
+                deliveryLogRepository,
+                emailProvider,
+                new ObjectMapper(),
+                emailTemplateService,
+                claimService,
+                new NodeIdentity(OWNER),
+                circuitBreaker,
+                lockService,
+                Runnable::run,
+                meterRegistry,
+                50,
+                30
+        );
+    }
+
+    @Test
+    void halfOpenTrialIsSettledEvenWhenBookkeepingFails() {
+        circuitBreaker.onFailure("503", null);
+        assertThat(circuitBreaker.snapshot().state()).isEqualTo(EmailCircuitBreaker.State.OPEN);
+
+        EmailNotificationJob job = claimedJob(7L);
+        when(claimService.claimSingle(7L, OWNER)).thenReturn(true);
+        when(jobRepository.findAllById(List.of(7L))).thenReturn(List.of(job));
+        when(emailTemplateService.renderMessage(eq("ticket-created"), eq("zh-TW"), anyMap(), anyString()))
+                .thenReturn(new EmailMessage("user@example.com", "subject", "<p>body</p>", "body"));
+        when(emailProvider.send(any())).thenReturn("provider-1");
+        when(claimService.finish(any(), eq(OWNER))).thenThrow(new IllegalStateException("database unavailable"));
+
+        service.dispatchSingleJob(7L);
+
+        assertThat(circuitBreaker.snapshot().state()).isEqualTo(EmailCircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void refusedSingleRecipientDoesNotCountAgainstTheCircuit() {
+        EmailNotificationJob job = claimedJob(8L);
+        when(claimService.claimSingle(8L, OWNER)).thenReturn(true);
+        when(jobRepository.findAllById(List.of(8L))).thenReturn(List.of(job));
+        when(emailTemplateService.renderMessage(eq("ticket-created"), eq("zh-TW"), anyMap(), anyString()))
+                .thenReturn(new EmailMessage("user@example.com", "subject", "<p>body</p>", "body"));
+        when(emailProvider.send(any())).thenThrow(new EmailProviderException("550 mailbox unavailable", true, null, null));
+        when(claimService.finish(job, OWNER)).thenReturn(true);
+
+        service.dispatchSingleJob(8L);
+
+        // One counted failure would open this breaker (minimum calls 1, threshold 50%).
+        assertThat(circuitBreaker.snapshot().state()).isEqualTo(EmailCircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.snapshot().windowFailures()).isZero();
+        assertThat(job.getStatus()).isEqualTo(EmailJobStatus.RETRYING);
+    }
+
+    private EmailNotificationJob claimedJob(Long id) {
+        EmailNotificationJob job = new EmailNotificationJob(
+                EmailEventType.TICKET_CREATED,
+                1L,
+                "user@example.com",
+                "ticket-created",
+                "zh-TW",
+                "{}",
+                "dedupe-" + id,
+                "trace-" + id
+        );
+        setField(job, "id", id);
+        setField(job, "createdAt", LocalDateTime.now());
+        job.markClaimed(OWNER, LocalDateTime.now().plusMinutes(1));
+        return job;
+    }
+}
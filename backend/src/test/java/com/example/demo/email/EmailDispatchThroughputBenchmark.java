@@ -0,0 +1,103 @@
+package com.example.demo.email;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends through {@link SendGridEmailProvider} against a local stub that answers after a fixed delay,
+ * at increasing dispatch concurrency. Not part of the regular suite; run with
+ * {@code mvn -Dtest=EmailDispatchThroughputBenchmark -Demail.benchmark=true test}.
+ */
+@EnabledIfSystemProperty(named = "email.benchmark", matches = "true")
+class EmailDispatchThroughputBenchmark {
+
+    private static final int STUB_LATENCY_MS = 40;
+    private static final int MESSAGES_PER_RUN = 200;
+    private static final int[] CONCURRENCY_LEVELS = {1, 2, 4, 8, 16};
+
+    @Test
+    void throughputScalesWithConcurrency() throws Exception {
+        HttpServer stub = startStub();
+        try {
+            String endpoint = "http://127.0.0.1:" + stub.getAddress().getPort() + "/v3/mail/send";
+            double baseline = 0;
+            for (int concurrency : CONCURRENCY_LEVELS) {
+                double perSecond = run(endpoint, concurrency);
+                if (concurrency == 1) baseline = perSecond;
+                System.out.printf("concurrency=%d messages=%d throughput=%.1f msg/s%n", concurrency, MESSAGES_PER_RUN, perSecond);
+            }
+            assertThat(run(endpoint, 8)).isGreaterThan(baseline * 3);
+        } finally {
+            stub.stop(0);
+        }
+    }
+
+    private double run(String endpoint, int concurrency) {
+        SendGridEmailProvider provider = new SendGridEmailProvider(
+                new ObjectMapper(),
+                "benchmark-key",
+                "no-reply@helpdesk.local",
+                "Helpdesk",
+                endpoint,
+                concurrency,
+                0,
+                1,
+                1,
+                3000,
+                10000,
+                30000
+        );
+        EmailSendThrottle throttle = new EmailSendThrottle(provider.limits());
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            long startedAt = System.nanoTime();
+            CompletableFuture<?>[] sends = new CompletableFuture[MESSAGES_PER_RUN];
+            for (int i = 0; i < MESSAGES_PER_RUN; i++) {
+                EmailMessage message = new EmailMessage("user" + i + "@example.com", "subject", "<p>body</p>", "body");
+                sends[i] = CompletableFuture.runAsync(() -> throttle.execute(() -> provider.send(message)), executor);
+            }
+            CompletableFuture.allOf(sends).join();
+            double elapsedSeconds = (System.nanoTime() - startedAt) / 1_000_000_000d;
+            return MESSAGES_PER_RUN / elapsedSeconds;
+        } finally {
+            executor.shutdownNow();
+            closeQuietly(provider);
+        }
+    }
+
+    private void closeQuietly(SendGridEmailProvider provider) {
+        try {
+            provider.close();
+        } catch (IOException ignored) {
+            // benchmark teardown
+        }
+    }
+
+    private HttpServer startStub() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v3/mail/send", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(STUB_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("X-Message-Id", "stub-" + System.nanoTime());
+            exchange.sendResponseHeaders(202, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        return server;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.demo.email;
+
+import com.example.demo.scheduling.WorkPartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmailJobClaimServiceTest {
+
+    @Mock
+    private EmailNotificationJobRepository jobRepository;
+
+    @Test
+    void laneQuotasFollowWeightsAndKeepLowLaneAlive() {
+        EmailJobClaimService service = new EmailJobClaimService(jobRepository, 300, 6, 3, 1);
+
+        assertThat(service.laneQuotas(50)).containsExactlyInAnyOrderEntriesOf(Map.of(
+                EmailPriority.HIGH, 30,
+                EmailPriority.NORMAL, 15,
+                EmailPriority.LOW, 5
+        ));
+        assertThat(service.laneQuotas(3).values()).containsOnly(1);
+        assertThat(service.laneQuotas(1)).containsEntry(EmailPriority.HIGH, 1).containsEntry(EmailPriority.LOW, 0);
+    }
+
+    @Test
+    void spareSlotsGoToHighestLaneFirst() {
+        EmailJobClaimService service = new EmailJobClaimService(jobRepository, 300, 6, 3, 1);
+        EmailNotificationJob urgent = job(1L, EmailEventType.TICKET_URGENT_SUPERVISOR_REQUIRED);
+        EmailNotificationJob moreUrgent = job(2L, EmailEventType.TICKET_URGENT_SUPERVISOR_REQUIRED);
+        EmailNotificationJob welcome = job(3L, EmailEventType.USER_REGISTERED);
+
+        when(jobRepository.lockDispatchableJobs(eq(EmailPriority.HIGH), anyList(), any(), eq(1L), eq(0L), argThat(p -> p.getPageSize() == 6)))
+                .thenReturn(List.of(urgent));
+        when(jobRepository.lockDispatchableJobs(eq(EmailPriority.HIGH), anyList(), any(), eq(1L), eq(0L), argThat(p -> p.getPageSize() == 8)))
+                .thenReturn(List.of(moreUrgent));
+        when(jobRepository.lockDispatchableJobs(eq(EmailPriority.NORMAL), anyList(), any(), eq(1L), eq(0L), any()))
+                .thenReturn(List.of());
+        when(jobRepository.lockDispatchableJobs(eq(EmailPriority.LOW), anyList(), any(), eq(1L), eq(0L), argThat(p -> p.getPageSize() == 1)))
+                .thenReturn(List.of(welcome));
+        when(jobRepository.lockDispatchableJobs(eq(EmailPriority.LOW), anyList(), any(), eq(1L), eq(0L), argThat(p -> p.getPageSize() == 7)))
+                .thenReturn(List.of());
+
+        assertThat(service.claimBatch("node-a", 10, WorkPartition.WHOLE)).containsExactly(1L, 3L, 2L);
+        assertThat(urgent.getStatus()).isEqualTo(EmailJobStatus.PROCESSING);
+        assertThat(welcome.getLeaseOwner()).isEqualTo("node-a");
+    }
+
+    @Test
+    void lanePassStaysInPartitionAndSparePassCoversEveryPartition() {
+        EmailJobClaimService service = new EmailJobClaimService(jobRepository, 300, 6, 3, 1);
+        EmailNotificationJob mine = job(4L, EmailEventType.TICKET_URGENT_SUPERVISOR_REQUIRED);
+        EmailNotificationJob orphaned = job(9L, EmailEventType.TICKET_URGENT_SUPERVISOR_REQUIRED);
+
+        when(jobRepository.lockDispatchableJobs(any(), anyList(), any(), anyLong(), anyLong(), any()))
+                .thenReturn(List.of());
+        when(jobRepository.lockDispatchableJobs(eq(EmailPriority.HIGH), anyList(), any(), eq(3L), eq(1L), any()))
+                .thenReturn(List.of(mine));
+        when(jobRepository.lockDispatchableJobs(eq(EmailPriority.HIGH), anyList(), any(), eq(1L), eq(0L), any()))
+                .thenReturn(List.of(orphaned));
+
+        assertThat(service.claimBatch("node-b", 10, new WorkPartition(1, 3))).containsExactly(4L, 9L);
+        assertThat(orphaned.getLeaseOwner()).isEqualTo("node-b");
+    }
+
+    private EmailNotificationJob job(Long id, EmailEventType eventType) {
+        EmailNotificationJob job = new EmailNotificationJob(eventType, 1L, "a@example.com", "t", "zh-TW", "{}", null, null);
+        ReflectionTestUtils.setField(job, "id", id);
+        return job;
+    }
+}
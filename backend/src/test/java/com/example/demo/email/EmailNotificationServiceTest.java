@@ -0,0 +1,94 @@
+package com.example.demo.email;
+
+import com.example.demo.auth.MemberRepository;
+import com.example.demo.group.GroupHierarchyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmailNotificationServiceTest {
+
+    @Mock
+    private EmailNotificationJobRepository jobRepository;
+    @Mock
+    private EmailJobBatchInserter batchInserter;
+    @Mock
+    private MemberRepository memberRepository;
+    @Mock
+    private GroupHierarchyService hierarchyService;
+    @Mock
+    private EmailPayloadFactory payloadFactory;
+    @Mock
+    private EmailDispatchService emailDispatchService;
+    @Mock
+    private EmailDispatchSignal dispatchSignal;
+    @Mock
+    private EmailDigestEventRepository digestEventRepository;
+
+    private EmailNotificationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new EmailNotificationService(
+                jobRepository,
+                batchInserter,
+                memberRepository,
+                hierarchyService,
+                payloadFactory,
+                emailDispatchService,
+                new ObjectMapper(),
+                dispatchSignal,
+                digestEventRepository,
+                120,
+                false
+        );
+    }
+
+    @Test
+    void enqueueBatchInsertsOnceAndReportsDuplicates() {
+        when(batchInserter.insertIgnoringDuplicates(anyList()))
+                .thenReturn(List.of(new EmailJobBatchInserter.InsertedJob(11L, "ticket_created:1:2")));
+
+        EmailNotificationService.EnqueueResult result = service.enqueueBatch(List.of(
+                EmailJobRequest.of(EmailEventType.TICKET_CREATED, 2L, " Owner@Example.com ", "ticket_created_v1", Map.of(), "ticket_created:1:2"),
+                EmailJobRequest.of(EmailEventType.TICKET_URGENT_SUPERVISOR_REQUIRED, 3L, "lead@example.com",
+                        "ticket_urgent_supervisor_required_v1", Map.of(), "ticket_urgent_supervisor_required:1:3"),
+                EmailJobRequest.of(EmailEventType.TICKET_CREATED, 4L, " ", "ticket_created_v1", Map.of(), "ticket_created:1:4")
+        ));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EmailJobBatchInserter.Row>> rows = ArgumentCaptor.forClass(List.class);
+        verify(batchInserter).insertIgnoringDuplicates(rows.capture());
+        assertThat(rows.getValue()).hasSize(2);
+        assertThat(rows.getValue().get(0).recipientEmail()).isEqualTo("owner@example.com");
+        assertThat(result.createdJobIds()).containsExactly(11L);
+        assertThat(result.duplicateDedupeKeys()).containsExactly("ticket_urgent_supervisor_required:1:3");
+        verify(dispatchSignal).signalAfterCommit();
+    }
+
+    @Test
+    void heldCoalescingJobDoesNotWakeWorker() {
+        when(batchInserter.insertIgnoringDuplicates(anyList()))
+                .thenReturn(List.of(new EmailJobBatchInserter.InsertedJob(12L, null)));
+
+        service.enqueueBatch(List.of(new EmailJobRequest(
+                EmailEventType.TICKET_REPLIED, 2L, "owner@example.com", "ticket_replied_v1", Map.of(), null, "ticket_replied:1:2"
+        )));
+
+        verify(dispatchSignal, never()).signalAfterCommit();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.demo.email;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the compiled template registry with the previous {@code switch} + {@code formatted} +
+ * chained-{@code replace} renderer, kept below as {@link LegacyRenderer}. Not part of the regular suite; run
+ * with {@code mvn -Dtest=EmailTemplateRenderBenchmark -Demail.benchmark=true test}. JMH runs in-process
+ * because surefire's classpath is not reliably visible to a forked JVM, so treat the numbers as relative.
+ */
+@EnabledIfSystemProperty(named = "email.benchmark", matches = "true")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(0)
+public class EmailTemplateRenderBenchmark {
+
+    private static final String APP_URL = "http://localhost:5173";
+    private static final Map<String, Object> PAYLOAD = Map.of(
+            "recipientName", "王小明 <ops>",
+            "ticketId", 12345,
+            "subject", "印表機無法列印 & 卡紙 \"3F\"",
+            "ticketUrl", APP_URL + "/#ticket-12345",
+            "actionLabel", "工單有新回覆"
+    );
+
+    private EmailTemplateService compiled;
+    private LegacyRenderer legacy;
+
+    @Setup
+    public void setUp() {
+        compiled = new EmailTemplateService(new EmailTemplateRegistry("classpath*:email-templates"), APP_URL);
+        legacy = new LegacyRenderer(APP_URL);
+    }
+
+    @Benchmark
+    public EmailMessage compiledRegistry() {
+        return compiled.renderMessage("ticket_replied_v1", "zh-TW", PAYLOAD, "user@example.com");
+    }
+
+    @Benchmark
+    public EmailMessage legacySwitchAndReplace() {
+        return legacy.renderMessage("ticket_replied_v1", PAYLOAD, "user@example.com");
+    }
+
+    @Test
+    void compiledRendererMatchesLegacyAndRunsBenchmark() throws Exception {
+        setUp();
+        assertThat(compiledRegistry()).isEqualTo(legacySwitchAndReplace());
+        new Runner(new OptionsBuilder().include(EmailTemplateRenderBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    static final class LegacyRenderer {
+
+        private final String appUrl;
+
+        LegacyRenderer(String appUrl) {
+            this.appUrl = appUrl;
+        }
+
+        EmailMessage renderMessage(String templateKey, Map<String, Object> payload, String to) {
+            String recipientName = asString(payload.get("recipientName"), "User");
+            String ticketId = asString(payload.get("ticketId"), "-");
+            String subject = asString(payload.get("subject"), "(no subject)");
+            String ticketUrl = asString(payload.get("ticketUrl"), appUrl);
+            String actionLabel = asString(payload.get("actionLabel"), "通知");
+
+            String mailSubject = switch (templateKey) {
+                case "user_registered_v1" -> "[Helpdesk] 註冊成功通知";
+                case "ticket_created_v1" -> "[Helpdesk] 工單 #%s 已建立".formatted(ticketId);
+                case "ticket_replied_v1" -> "[Helpdesk] 工單 #%s 有新回覆".formatted(ticketId);
+                case "ticket_closed_v1" -> "[Helpdesk] 工單 #%s 已完成".formatted(ticketId);
+                case "ticket_urgent_supervisor_required_v1" -> "[Helpdesk] 急件工單 #%s 待主管確認".formatted(ticketId);
+                default -> "[Helpdesk] 通知";
+            };
+
+            String text = """
+                    %s 您好，
+
+                    %s
+                    工單編號：#%s
+                    主旨：%s
+                    連結：%s
+
+                    Helpdesk 系統通知
+                    """.formatted(recipientName, actionLabel, ticketId, subject, ticketUrl);
+            String html = "<p>%s 您好，</p><p>%s</p><p>工單編號：<b>#%s</b><br/>主旨：%s<br/>連結：<a href=\"%s\">查看工單</a></p><p>Helpdesk 系統通知</p>"
+                    .formatted(escapeHtml(recipientName), escapeHtml(actionLabel), escapeHtml(ticketId), escapeHtml(subject), escapeHtml(ticketUrl));
+            return new EmailMessage(to, mailSubject, html, text);
+        }
+
+        private String asString(Object value, String fallback) {
+            if (value == null) return fallback;
+            String text = String.valueOf(value).trim();
+            return text.isEmpty() ? fallback : text;
+        }
+
+        private String escapeHtml(String input) {
+            return input
+                    .replace("&", "&amp;")
+                    .replace("<", "&lt;")
+                    .replace(">", "&gt;")
+                    .replace("\"", "&quot;")
+                    .replace("'", "&#39;");
+        }
+    }
+}
@@ -8,7 +8,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 class EmailTemplateServiceTest {
 
-    private final EmailTemplateService templateService = new EmailTemplateService("http://localhost:5173");
+    private final EmailTemplateService templateService = new EmailTemplateService(
+            new EmailTemplateRegistry("classpath*:email-templates"),
+            "http://localhost:5173"
+    );
 
     @Test
     void renderMessageEscapesHtmlInPayload() {
@@ -28,4 +31,12 @@ class EmailTemplateServiceTest {
         assertThat(message.htmlBody()).contains("&lt;Admin&gt;");
         assertThat(message.htmlBody()).contains("&lt;script&gt;alert(1)&lt;/script&gt;");
     }
+
+    @Test
+    void unknownTemplateAndLocaleFallBackToDefaultTemplate() {
+        EmailMessage message = templateService.renderMessage("missing_v1", "en", Map.of(), "user@example.com");
+
+        assertThat(message.subject()).isEqualTo("[Helpdesk] 通知");
+        assertThat(message.textBody()).startsWith("User 您好，").contains("連結：http://localhost:5173");
+    }
 }
@@ -0,0 +1,106 @@
+package com.example.demo.email;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SendGridEmailProviderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<JsonNode> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger responseStatus = new AtomicInteger(202);
+    private HttpServer stub;
+    private SendGridEmailProvider provider;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/v3/mail/send", exchange -> {
+            requests.add(objectMapper.readTree(exchange.getRequestBody()));
+            exchange.getResponseHeaders().add("X-Message-Id", "batch-1");
+            if (responseStatus.get() == 429) {
+                exchange.getResponseHeaders().add("Retry-After", "120");
+            }
+            exchange.sendResponseHeaders(responseStatus.get(), -1);
+            exchange.close();
+        });
+        stub.start();
+        provider = new SendGridEmailProvider(
+                objectMapper,
+                "test-key",
+                "no-reply@helpdesk.local",
+                "Helpdesk",
+                "http://127.0.0.1:" + stub.getAddress().getPort() + "/v3/mail/send",
+                2,
+                0,
+                1,
+                3,
+                1000,
+                2000,
+                30000
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        provider.close();
+        stub.stop(0);
+    }
+
+    @Test
+    void sendBatchUsesOnePersonalizationPerRecipient() {
+        List<EmailSendResult> results = provider.sendBatch(List.of(
+                message("a@example.com"),
+                message("b@example.com"),
+                message("c@example.com")
+        ));
+
+        assertThat(requests).hasSize(1);
+        JsonNode personalizations = requests.get(0).get("personalizations");
+        assertThat(personalizations).hasSize(3);
+        assertThat(personalizations.get(1).get("to").get(0).get("email").asText()).isEqualTo("b@example.com");
+        assertThat(results).hasSize(3).allMatch(EmailSendResult::success);
+        assertThat(results.get(2).providerMessageId()).isEqualTo("batch-1");
+    }
+
+    @Test
+    void rejectedBatchFailsEveryRecipient() {
+        responseStatus.set(500);
+
+        List<EmailSendResult> results = provider.sendBatch(List.of(message("a@example.com"), message("b@example.com")));
+
+        assertThat(results).hasSize(2).noneMatch(EmailSendResult::success);
+        assertThat(results.get(0).error()).contains("500");
+    }
+
+    @Test
+    void rateLimitCarriesRetryAfterAndBadRequestIsRejected() {
+        responseStatus.set(429);
+        EmailSendResult throttled = provider.sendBatch(List.of(message("a@example.com"), message("b@example.com"))).get(0);
+
+        assertThat(throttled.rejected()).isFalse();
+        assertThat(throttled.retryAfter()).isEqualTo(Duration.ofSeconds(120));
+
+        responseStatus.set(400);
+        EmailSendResult invalid = provider.sendBatch(List.of(message("a@example.com"), message("b@example.com"))).get(0);
+
+        assertThat(invalid.rejected()).isTrue();
+        assertThat(invalid.retryAfter()).isNull();
+    }
+
+    private EmailMessage message(String to) {
+        return new EmailMessage(to, "新工單", "<p>內容</p>", "內容");
+    }
+}
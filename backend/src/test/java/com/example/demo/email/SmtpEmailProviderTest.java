@@ -0,0 +1,84 @@
+package com.example.demo.email;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SmtpEmailProviderTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SmtpEmailProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new SmtpEmailProvider(
+                meterRegistry,
+                "no-reply@helpdesk.local",
+                "Helpdesk",
+                "127.0.0.1",
+                ServerSetupTest.SMTP.getPort(),
+                "",
+                "",
+                false,
+                false,
+                2000,
+                5000,
+                2,
+                30000,
+                100,
+                0,
+                1,
+                50
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        provider.close();
+    }
+
+    @Test
+    void batchesReuseOnePooledConnection() throws Exception {
+        List<EmailSendResult> first = provider.sendBatch(List.of(message("a@example.com"), message("b@example.com")));
+        List<EmailSendResult> second = provider.sendBatch(List.of(message("c@example.com")));
+
+        assertThat(first).allMatch(EmailSendResult::success);
+        assertThat(second).allMatch(EmailSendResult::success);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(3);
+        assertThat(received[0].getSubject()).isEqualTo("工單有新回覆");
+        assertThat(meterRegistry.get("email.smtp.pool.created").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("email.smtp.pool.idle").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidRecipientFailsOnlyThatMessage() {
+        List<EmailSendResult> results = provider.sendBatch(List.of(message("a@example.com"), message("not an address")));
+
+        assertThat(results.get(0).success()).isTrue();
+        assertThat(results.get(1).success()).isFalse();
+    }
+
+    @Test
+    void refusedSingleRecipientIsReportedAsARejection() {
+        assertThatThrownBy(() -> provider.send(message("not an address")))
+                .isInstanceOfSatisfying(EmailProviderException.class, ex -> assertThat(ex.isRejected()).isTrue());
+    }
+
+    private EmailMessage message(String to) {
+        return new EmailMessage(to, "工單有新回覆", "<p>內容</p>", "內容");
+    }
+}
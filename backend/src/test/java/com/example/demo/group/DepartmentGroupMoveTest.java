@@ -0,0 +1,98 @@
+package com.example.demo.group;
+
+import com.example.demo.audit.AuditLogService;
+import com.example.demo.auth.MemberRepository;
+import com.example.demo.reference.ReferenceDataService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the closure-table SQL behind group moves against the test database.
+ */
+@DataJpaTest
+class DepartmentGroupMoveTest {
+
+    @Autowired
+    private DepartmentGroupRepository groupRepository;
+    @Autowired
+    private DepartmentGroupMemberRepository groupMemberRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private DepartmentGroupClosureRepository closureRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private AuditLogService auditLogService;
+    @MockitoBean
+    private GroupMembershipIndex membershipIndex;
+    @MockitoBean
+    private ReferenceDataService referenceDataService;
+
+    private DepartmentGroupService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into department_group_hierarchy_lock (id) values (1)");
+        service = new DepartmentGroupService(
+                groupRepository,
+                groupMemberRepository,
+                memberRepository,
+                auditLogService,
+                new ObjectMapper(),
+                membershipIndex,
+                new GroupHierarchyService(closureRepository, membershipIndex),
+                referenceDataService
+        );
+    }
+
+    @Test
+    void movingASubtreeRewritesItsAncestorRows() {
+        Long root = service.createGroup(null, "Root", null).getId();
+        Long branch = service.createGroup(null, "Branch", root).getId();
+        Long leaf = service.createGroup(null, "Leaf", branch).getId();
+        Long other = service.createGroup(null, "Other", null).getId();
+
+        service.moveGroup(null, branch, other);
+
+        assertThat(ancestorDepths(leaf)).isEqualTo(Map.of(leaf, 0, branch, 1, other, 2));
+        assertThat(ancestorDepths(branch)).isEqualTo(Map.of(branch, 0, other, 1));
+        assertThat(ancestorDepths(root)).isEqualTo(Map.of(root, 0));
+        assertThat(closureRepository.findDescendantIds(root)).containsExactly(root);
+        assertThat(closureRepository.findDescendantIds(other)).containsExactlyInAnyOrder(other, branch, leaf);
+        assertThat(groupRepository.findById(branch).orElseThrow().getParent().getId()).isEqualTo(other);
+    }
+
+    @Test
+    void rejectsMovingAGroupUnderItsOwnSubtree() {
+        Long root = service.createGroup(null, "Root", null).getId();
+        Long branch = service.createGroup(null, "Branch", root).getId();
+        Long leaf = service.createGroup(null, "Leaf", branch).getId();
+
+        assertThatThrownBy(() -> service.moveGroup(null, root, leaf))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("under itself");
+        assertThat(ancestorDepths(leaf)).isEqualTo(Map.of(leaf, 0, branch, 1, root, 2));
+    }
+
+    private Map<Long, Integer> ancestorDepths(Long descendantId) {
+        List<DepartmentGroupClosure> rows = closureRepository.findAll();
+        return rows.stream()
+                .filter(row -> row.getDescendantId().equals(descendantId))
+                .collect(Collectors.toMap(DepartmentGroupClosure::getAncestorId, DepartmentGroupClosure::getDepth));
+    }
+}
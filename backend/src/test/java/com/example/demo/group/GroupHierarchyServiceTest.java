@@ -0,0 +1,61 @@
+package com.example.demo.group;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GroupHierarchyServiceTest {
+
+    @Mock
+    private DepartmentGroupClosureRepository closureRepository;
+    @Mock
+    private GroupMembershipIndex membershipIndex;
+
+    private GroupHierarchyService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new GroupHierarchyService(closureRepository, membershipIndex);
+    }
+
+    @Test
+    void ownSupervisorIsAnsweredFromTheIndex() {
+        when(membershipIndex.supervisorOf(3L)).thenReturn(Optional.of(7L));
+        when(membershipIndex.isSupervisor(3L, 7L)).thenReturn(true);
+
+        assertThat(service.nearestSupervisorId(3L)).contains(7L);
+        assertThat(service.isSupervisorOver(3L, 7L)).isTrue();
+        verifyNoInteractions(closureRepository);
+    }
+
+    @Test
+    void fallsBackToTheNearestSupervisorUpTheTree() {
+        when(membershipIndex.supervisorOf(3L)).thenReturn(Optional.empty());
+        when(closureRepository.findSupervisorIdsUpTree(3L)).thenReturn(List.of(5L, 1L));
+        when(membershipIndex.isSupervisor(3L, 1L)).thenReturn(false);
+        when(closureRepository.existsSupervisorUpTree(3L, 1L)).thenReturn(true);
+
+        assertThat(service.nearestSupervisorId(3L)).contains(5L);
+        assertThat(service.isSupervisorOver(3L, 1L)).isTrue();
+    }
+
+    @Test
+    void newTopLevelGroupGetsOnlyItsSelfRow() {
+        service.attachNew(4L, null);
+
+        verify(closureRepository).insertSelf(4L);
+        verify(closureRepository, never()).attachSubtree(4L, null);
+    }
+}
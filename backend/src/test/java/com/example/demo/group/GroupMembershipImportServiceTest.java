@@ -0,0 +1,168 @@
+package com.example.demo.group;
+
+import com.example.demo.audit.AuditLogService;
+import com.example.demo.auth.MemberRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GroupMembershipImportServiceTest {
+
+    @Mock
+    private DepartmentGroupRepository groupRepository;
+    @Mock
+    private DepartmentGroupMemberRepository groupMemberRepository;
+    @Mock
+    private MemberRepository memberRepository;
+    @Mock
+    private GroupMembershipBatchWriter batchWriter;
+    @Mock
+    private GroupMembershipIndex membershipIndex;
+    @Mock
+    private AuditLogService auditLogService;
+
+    private GroupMembershipImportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new GroupMembershipImportService(
+                groupRepository,
+                groupMemberRepository,
+                memberRepository,
+                batchWriter,
+                membershipIndex,
+                auditLogService,
+                new ObjectMapper(),
+                1000
+        );
+    }
+
+    @Test
+    void appliesOnlyTheDiffAndAuditsOneDeltaPerChangedGroup() {
+        when(groupRepository.findByLowerNameIn(any())).thenReturn(List.of(group(1L, "Finance"), group(2L, "Sales")));
+        when(memberRepository.findKeysByEmployeeIdIn(any())).thenReturn(List.of(key(10L, "E10"), key(11L, "E11"), key(12L, "E12")));
+        when(groupMemberRepository.findMembershipRowsByGroupIdIn(any())).thenReturn(List.of(
+                row(1L, 10L, false),
+                row(1L, 20L, true),
+                row(2L, 12L, false)
+        ));
+
+        GroupMembershipImportService.ImportResult result = service.importMemberships(null, Map.of(
+                "finance", List.of("E10", "E11", "E99"),
+                "Sales ", List.of("E12")
+        ), false);
+
+        assertThat(result.totalAdded()).isEqualTo(1);
+        assertThat(result.totalRemoved()).isEqualTo(1);
+        assertThat(result.unknownEmployeeIds()).containsExactly("E99");
+        assertThat(result.groups()).filteredOn(g -> g.groupId() == 1L).singleElement()
+                .satisfies(g -> assertThat(g.supervisorRemoved()).isTrue());
+        verify(batchWriter).insert(eq(List.of(new GroupMembershipBatchWriter.Pair(1L, 11L))), any());
+        verify(batchWriter).delete(List.of(new GroupMembershipBatchWriter.Pair(1L, 20L)));
+
+        ArgumentCaptor<String> delta = ArgumentCaptor.forClass(String.class);
+        verify(auditLogService).record(isNull(), eq(GroupMembershipImportService.AUDIT_ACTION), eq("GROUP"), eq(1L), isNull(), isNull(), delta.capture());
+        assertThat(delta.getValue()).contains("\"addedMemberIds\":[11]", "\"removedMemberIds\":[20]", "\"supervisorRemoved\":20");
+        verify(auditLogService, never()).record(any(), anyString(), anyString(), eq(2L), any(), any(), any());
+        verify(membershipIndex).applyAfterCommit(anyMap(), anyMap());
+    }
+
+    @Test
+    void dryRunReportsTheDiffWithoutWriting() {
+        when(groupRepository.findByLowerNameIn(any())).thenReturn(List.of(group(1L, "Finance")));
+        when(memberRepository.findKeysByEmployeeIdIn(any())).thenReturn(List.of(key(11L, "E11")));
+        when(groupMemberRepository.findMembershipRowsByGroupIdIn(any())).thenReturn(List.of(row(1L, 10L, false)));
+
+        GroupMembershipImportService.ImportResult result = service.importMemberships(null, Map.of("Finance", List.of("E11")), true);
+
+        assertThat(result.totalAdded()).isEqualTo(1);
+        assertThat(result.totalRemoved()).isEqualTo(1);
+        verifyNoInteractions(batchWriter, membershipIndex, auditLogService);
+    }
+
+    @Test
+    void rejectsUnknownGroups() {
+        when(groupRepository.findByLowerNameIn(any())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> service.importMemberships(null, Map.of("Nowhere", List.of("E1")), false))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("nowhere");
+    }
+
+    @Test
+    void parsesCsvWithHeaderAndQuotes() {
+        Map<String, List<String>> parsed = GroupMembershipImportService.parseCsv("""
+                groupName,employeeId
+                Finance,E10
+                "Finance","E11"
+
+                Sales,E12
+                """);
+
+        assertThat(parsed).containsExactly(
+                Map.entry("Finance", List.of("E10", "E11")),
+                Map.entry("Sales", List.of("E12"))
+        );
+    }
+
+    private DepartmentGroup group(Long id, String name) {
+        DepartmentGroup group = new DepartmentGroup(name);
+        ReflectionTestUtils.setField(group, "id", id);
+        return group;
+    }
+
+    private MemberRepository.MemberKey key(Long id, String employeeId) {
+        return new MemberRepository.MemberKey() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmployeeId() {
+                return employeeId;
+            }
+        };
+    }
+
+    private DepartmentGroupMemberRepository.MembershipRow row(Long groupId, Long memberId, boolean supervisor) {
+        return new DepartmentGroupMemberRepository.MembershipRow() {
+            @Override
+            public Long getGroupId() {
+                return groupId;
+            }
+
+            @Override
+            public Long getMemberId() {
+                return memberId;
+            }
+
+            @Override
+            public boolean isSupervisor() {
+                return supervisor;
+            }
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.group;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GroupMembershipIndexTest {
+
+    @Mock
+    private DepartmentGroupMemberRepository groupMemberRepository;
+
+    @Test
+    void answersMembershipAndSupervisorChecksFromLoadedRows() {
+        when(groupMemberRepository.findAllMembershipRows()).thenReturn(List.of(
+                row(1L, 30L, false),
+                row(1L, 10L, true),
+                row(2L, 10L, false)
+        ));
+        GroupMembershipIndex index = new GroupMembershipIndex(groupMemberRepository);
+        index.reload();
+
+        assertThat(index.isMember(1L, 30L)).isTrue();
+        assertThat(index.isMember(2L, 30L)).isFalse();
+        assertThat(index.isSupervisor(1L, 10L)).isTrue();
+        assertThat(index.hasSupervisor(2L)).isFalse();
+        assertThat(index.supervisorOf(1L)).contains(10L);
+        assertThat(index.groupsOf(10L)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void appliesChangesWithoutReloading() {
+        when(groupMemberRepository.findAllMembershipRows()).thenReturn(List.of(row(1L, 10L, true)));
+        GroupMembershipIndex index = new GroupMembershipIndex(groupMemberRepository);
+        index.reload();
+
+        // No transaction is active here, so changes apply immediately.
+        index.addMemberAfterCommit(1L, 5L);
+        index.setSupervisorAfterCommit(1L, 5L);
+        index.removeMemberAfterCommit(1L, 10L);
+
+        assertThat(index.isMember(1L, 5L)).isTrue();
+        assertThat(index.isMember(1L, 10L)).isFalse();
+        assertThat(index.supervisorOf(1L)).contains(5L);
+        assertThat(index.groupsOf(10L)).isEmpty();
+
+        index.removeMemberAfterCommit(1L, 5L);
+        assertThat(index.hasSupervisor(1L)).isFalse();
+    }
+
+    private DepartmentGroupMemberRepository.MembershipRow row(Long groupId, Long memberId, boolean supervisor) {
+        return new DepartmentGroupMemberRepository.MembershipRow() {
+            @Override
+            public Long getGroupId() {
+                return groupId;
+            }
+
+            @Override
+            public Long getMemberId() {
+                return memberId;
+            }
+
+            @Override
+            public boolean isSupervisor() {
+                return supervisor;
+            }
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.helpdesk;
+
+import com.example.demo.auth.Member;
+import com.example.demo.auth.MemberRole;
+import com.example.demo.group.GroupHierarchyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HelpdeskTicketVisibilityServiceTest {
+
+    @Mock
+    private HelpdeskTicketRepository repository;
+    @Mock
+    private GroupHierarchyService hierarchyService;
+
+    private HelpdeskTicketVisibilityService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new HelpdeskTicketVisibilityService(repository, hierarchyService);
+    }
+
+    @Test
+    void staffPageAllTicketsInIdOrderFromTheQuery() {
+        when(repository.findVisibleIdsForStaff(PageRequest.of(0, 100))).thenReturn(new SliceImpl<>(List.of(9L, 4L)));
+        when(repository.findWithDetailsByIdIn(List.of(9L, 4L))).thenReturn(List.of(ticket(4L), ticket(9L)));
+
+        List<HelpdeskTicket> tickets = service.listVisible(member(1L, MemberRole.IT), 0, 500);
+
+        assertThat(tickets).extracting(HelpdeskTicket::getId).containsExactly(9L, 4L);
+        verifyNoInteractions(hierarchyService);
+    }
+
+    @Test
+    void userWithoutSupervisedGroupsSeesOnlyOwnTickets() {
+        when(hierarchyService.supervisedGroupIds(2L)).thenReturn(List.of());
+        when(repository.findVisibleIdsForCreator(2L, PageRequest.of(1, 20))).thenReturn(new SliceImpl<>(List.of()));
+
+        assertThat(service.listVisible(member(2L, MemberRole.USER), 1, 20)).isEmpty();
+    }
+
+    @Test
+    void supervisorAlsoSeesTicketsOfSupervisedSubtree() {
+        when(hierarchyService.supervisedGroupIds(3L)).thenReturn(List.of(10L, 11L));
+        when(repository.findVisibleIdsForCreatorOrGroups(3L, List.of(10L, 11L), PageRequest.of(0, 20)))
+                .thenReturn(new SliceImpl<>(List.of(7L)));
+        when(repository.findWithDetailsByIdIn(any())).thenReturn(List.of(ticket(7L)));
+
+        assertThat(service.listVisible(member(3L, MemberRole.USER), 0, 20)).extracting(HelpdeskTicket::getId).containsExactly(7L);
+        verify(repository).findWithDetailsByIdIn(List.of(7L));
+    }
+
+    private Member member(Long id, MemberRole role) {
+        Member member = new Member("E" + id, "name", "e" + id + "@example.com", "hash", role);
+        ReflectionTestUtils.setField(member, "id", id);
+        return member;
+    }
+
+    private HelpdeskTicket ticket(Long id) {
+        HelpdeskTicket ticket = new HelpdeskTicket("n", "e@example.com", "s", "d", 1L, null, null, HelpdeskTicketPriority.GENERAL);
+        ReflectionTestUtils.setField(ticket, "id", id);
+        return ticket;
+    }
+}
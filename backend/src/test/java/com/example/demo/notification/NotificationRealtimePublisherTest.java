@@ -0,0 +1,67 @@
+package com.example.demo.notification;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRealtimePublisherTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+    @Mock
+    private SimpUserRegistry userRegistry;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void eventsForOneRecipientArriveInPublishOrder() throws Exception {
+        List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            NotificationRealtimePublisher.NotificationRealtimeEvent event = invocation.getArgument(2);
+            // Stall the first push of each recipient so a free pool thread would overtake it if lanes were not serial.
+            if (event.unreadDelta() == -1) Thread.sleep(50);
+            delivered.add(invocation.getArgument(0) + ":" + -event.unreadDelta());
+            return null;
+        }).when(messagingTemplate).convertAndSendToUser(anyString(), eq(NotificationRealtimePublisher.USER_DESTINATION), any(Object.class));
+        NotificationRealtimePublisher publisher = new NotificationRealtimePublisher(messagingTemplate, userRegistry, pool, 2);
+
+        for (long count = 1; count <= 10; count++) {
+            publisher.publishAllRead(1L, count);
+            publisher.publishAllRead(2L, count);
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(delivered).filteredOn(entry -> entry.startsWith("1:")).containsExactlyElementsOf(expectedFor(1));
+        assertThat(delivered).filteredOn(entry -> entry.startsWith("2:")).containsExactlyElementsOf(expectedFor(2));
+    }
+
+    private List<String> expectedFor(long recipientId) {
+        List<String> expected = new ArrayList<>();
+        for (long count = 1; count <= 10; count++) expected.add(recipientId + ":" + count);
+        return expected;
+    }
+}
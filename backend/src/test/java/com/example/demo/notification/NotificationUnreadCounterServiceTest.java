@@ -0,0 +1,66 @@
+package com.example.demo.notification;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationUnreadCounterServiceTest {
+
+    @Mock
+    private NotificationUnreadCounterRepository counterRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private NotificationUnreadCounterService counterService;
+
+    @BeforeEach
+    void setUp() {
+        counterService = new NotificationUnreadCounterService(counterRepository, notificationRepository);
+    }
+
+    @Test
+    void reconcileBatchOverwritesOnlyDriftedCounters() {
+        when(counterRepository.findMemberIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 2L, 3L));
+        when(counterRepository.lockByMemberIds(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                new NotificationUnreadCounter(1L, 4),
+                new NotificationUnreadCounter(2L, 9)
+        ));
+        when(notificationRepository.countUnreadGroupedByRecipient(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                new Object[]{1L, 4L},
+                new Object[]{2L, 7L},
+                new Object[]{3L, 2L}
+        ));
+
+        NotificationUnreadCounterService.ReconcileBatchResult result = counterService.reconcileBatch(0L, 10);
+
+        assertThat(result.repairedCount()).isEqualTo(2);
+        assertThat(result.lastMemberId()).isEqualTo(3L);
+        assertThat(result.done()).isTrue();
+        verify(counterRepository).overwrite(2L, 7L);
+        verify(counterRepository).overwrite(3L, 2L);
+        verify(counterRepository, never()).overwrite(eq(1L), anyLong());
+    }
+
+    @Test
+    void unreadCountDefaultsToZeroWithoutCounterRow() {
+        when(counterRepository.findById(5L)).thenReturn(Optional.empty());
+
+        assertThat(counterService.unreadCount(5L)).isZero();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demo.reference;
+
+import com.example.demo.group.DepartmentGroup;
+import com.example.demo.group.DepartmentGroupRepository;
+import com.example.demo.helpdesk.HelpdeskCategory;
+import com.example.demo.helpdesk.HelpdeskCategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataServiceTest {
+
+    @Mock
+    private HelpdeskCategoryRepository categoryRepository;
+    @Mock
+    private DepartmentGroupRepository groupRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReferenceDataService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReferenceDataService(categoryRepository, groupRepository, transactionManager);
+    }
+
+    @Test
+    void keepsVersionAndEtagWhileContentIsUnchanged() {
+        HelpdeskCategory hardware = category(1L, "Hardware");
+        when(categoryRepository.findAllByOrderByNameAsc()).thenReturn(List.of(hardware));
+        when(groupRepository.findAllByOrderByNameAsc()).thenReturn(List.of(group(5L, "Finance")));
+
+        service.rebuild();
+        ReferenceDataService.Snapshot first = service.snapshot();
+        service.rebuild();
+
+        assertThat(service.snapshot()).isSameAs(first);
+        assertThat(first.version()).isEqualTo(1);
+        assertThat(service.findCategory(1L)).containsSame(hardware);
+        assertThat(service.findGroup(5L)).isPresent();
+        assertThat(service.findGroup(6L)).isEmpty();
+    }
+
+    @Test
+    void renameProducesNewVersionAndEtag() {
+        when(groupRepository.findAllByOrderByNameAsc()).thenReturn(List.of());
+        when(categoryRepository.findAllByOrderByNameAsc())
+                .thenReturn(List.of(category(1L, "Hardware")))
+                .thenReturn(List.of(category(1L, "Devices")));
+
+        service.rebuild();
+        ReferenceDataService.Snapshot first = service.snapshot();
+        service.rebuild();
+
+        assertThat(service.snapshot().version()).isEqualTo(first.version() + 1);
+        assertThat(service.snapshot().etag()).isNotEqualTo(first.etag());
+        assertThat(service.findCategory(1L)).get().extracting(HelpdeskCategory::getName).isEqualTo("Devices");
+    }
+
+    private HelpdeskCategory category(Long id, String name) {
+        HelpdeskCategory category = new HelpdeskCategory(name);
+        ReflectionTestUtils.setField(category, "id", id);
+        ReflectionTestUtils.setField(category, "createdAt", LocalDateTime.of(2026, 1, 1, 0, 0));
+        return category;
+    }
+
+    private DepartmentGroup group(Long id, String name) {
+        DepartmentGroup group = new DepartmentGroup(name);
+        ReflectionTestUtils.setField(group, "id", id);
+        return group;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.demo.retention;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RetentionEngineTest {
+
+    private final RetentionPolicies policies = new RetentionPolicies(180, 90, 60, 90, 7);
+
+    @Test
+    void chunkWalksAgeIdIndexFromCursorAndSkipsLockedRows() {
+        RetentionPolicy notifications = policies.find("notifications").orElseThrow();
+
+        String sql = RetentionEngine.chunkSql(notifications, true);
+
+        assertThat(sql)
+                .contains("WHERE created_at < ?")
+                .contains("AND (created_at, id) > (?, ?)")
+                .contains("AND (is_read = TRUE)")
+                .contains("ORDER BY created_at, id")
+                .contains("FOR UPDATE SKIP LOCKED")
+                .contains("DELETE FROM notifications t");
+        assertThat(RetentionEngine.chunkSql(notifications, false)).doesNotContain("> (?, ?)");
+    }
+
+    @Test
+    void deliveryLogsArePurgedBeforeTheJobsTheyReference() {
+        assertThat(policies.all())
+                .extracting(RetentionPolicy::name)
+                .containsSubsequence("email_delivery_logs", "notification_jobs");
+        assertThat(policies.find("notification_jobs").orElseThrow().predicate()).contains("NOT EXISTS");
+    }
+
+    @Test
+    void purgeDeletesInChunksAndResumesFromTheCheckpointAfterTheDeadline() {
+        RetentionPolicy policy = new RetentionPolicy("audit_logs", "audit_logs", "created_at", null, 180);
+        LocalDateTime expired = LocalDateTime.now().minusDays(200);
+        FakeRetentionJdbc jdbc = new FakeRetentionJdbc();
+        for (long id = 1; id <= 7; id++) jdbc.rows.put(id, expired.plusMinutes(id));
+        jdbc.rows.put(8L, LocalDateTime.now().minusDays(10));
+        jdbc.rows.put(9L, LocalDateTime.now().minusDays(10));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RetentionEngine engine = new RetentionEngine(jdbc, mock(PlatformTransactionManager.class), meterRegistry, 2, 0, 2000);
+
+        // Leave the first chunk ample time; the fake then holds the second chunk until the deadline passes.
+        FakeRetentionJdbc.map((rs, rowNum) -> rs, "age", expired, "id", 0);
+        jdbc.deadline = Instant.now().plusSeconds(1);
+        jdbc.expireDeadlineAfterChunks = 2;
+        RetentionEngine.RetentionReport cutShort = engine.purge(policy, jdbc.deadline, true);
+
+        assertThat(cutShort.deletedCount()).isEqualTo(4);
+        assertThat(cutShort.chunks()).isEqualTo(2);
+        assertThat(cutShort.completed()).isFalse();
+        assertThat(jdbc.rows.keySet()).containsExactly(5L, 6L, 7L, 8L, 9L);
+        assertThat(jdbc.checkpoint).isEqualTo(new Checkpoint(expired.plusMinutes(4), 4L, false, 4));
+
+        // Expired before the saved cursor: a resumed run must not rescan from the start to find it.
+        jdbc.rows.put(10L, expired);
+        jdbc.expireDeadlineAfterChunks = 0;
+        RetentionEngine.RetentionReport resumed = engine.purge(policy, Instant.now().plusSeconds(60), true);
+
+        assertThat(resumed.deletedCount()).isEqualTo(3);
+        assertThat(resumed.chunks()).isEqualTo(2);
+        assertThat(resumed.completed()).isTrue();
+        assertThat(jdbc.rows.keySet()).containsExactly(8L, 9L, 10L);
+        assertThat(jdbc.checkpoint).isEqualTo(new Checkpoint(null, null, true, 3));
+
+        RetentionEngine.RetentionReport adHoc = engine.purge(policy, Instant.now().plusSeconds(60), false);
+
+        assertThat(adHoc.deletedCount()).isEqualTo(1);
+        assertThat(jdbc.rows.keySet()).containsExactly(8L, 9L);
+        assertThat(jdbc.checkpoint).isEqualTo(new Checkpoint(null, null, true, 3));
+        assertThat(meterRegistry.get("retention.rows.deleted").tag("table", "audit_logs").counter().count()).isEqualTo(8);
+    }
+
+    private record Checkpoint(LocalDateTime cursorAge, Long cursorId, boolean completed, long runDeleted) {
+    }
+
+    /**
+     * Plays one table and {@code retention_checkpoints} in memory, since the chunk SQL is PostgreSQL-only. It can
+     * hold a chunk back until the run's deadline has passed, so a run is cut short after an exact chunk count.
+     */
+    private static final class FakeRetentionJdbc extends JdbcTemplate {
+        final TreeMap<Long, LocalDateTime> rows = new TreeMap<>();
+        Checkpoint checkpoint;
+        Instant deadline;
+        int expireDeadlineAfterChunks;
+        private int chunks;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T execute(ConnectionCallback<T> action) {
+            return (T) Boolean.FALSE;
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            if (sql.startsWith("WITH doomed")) return deleteChunk(rowMapper, args);
+            if (checkpoint == null || checkpoint.completed() || checkpoint.cursorId() == null) return List.of();
+            return List.of(map(rowMapper, "cursor_age", checkpoint.cursorAge(), "cursor_id", checkpoint.cursorId()));
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            checkpoint = new Checkpoint(
+                    args[1] == null ? null : ((Timestamp) args[1]).toLocalDateTime(),
+                    (Long) args[2],
+                    (Boolean) args[3],
+                    (Long) args[4]
+            );
+            return 1;
+        }
+
+        private <T> List<T> deleteChunk(RowMapper<T> rowMapper, Object[] args) {
+            LocalDateTime cutoff = ((Timestamp) args[0]).toLocalDateTime();
+            LocalDateTime cursorAge = args.length == 4 ? ((Timestamp) args[1]).toLocalDateTime() : null;
+            long cursorId = args.length == 4 ? (Long) args[2] : 0;
+            int limit = (Integer) args[args.length - 1];
+            List<Long> doomed = rows.entrySet().stream()
+                    .filter(row -> row.getValue().isBefore(cutoff))
+                    .filter(row -> cursorAge == null || row.getValue().isAfter(cursorAge)
+                            || (row.getValue().equals(cursorAge) && row.getKey() > cursorId))
+                    .sorted(Map.Entry.<Long, LocalDateTime>comparingByValue()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            List<T> out = new ArrayList<>();
+            for (Long id : doomed) {
+                out.add(map(rowMapper, "age", rows.remove(id), "id", id));
+            }
+            if (++chunks == expireDeadlineAfterChunks) {
+                while (!Instant.now().isAfter(deadline)) Thread.onSpinWait();
+            }
+            return out;
+        }
+
+        private static <T> T map(RowMapper<T> rowMapper, String ageColumn, LocalDateTime age, String idColumn, long id) {
+            try {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getTimestamp(ageColumn)).thenReturn(Timestamp.valueOf(age));
+                when(rs.getLong(idColumn)).thenReturn(id);
+                return rowMapper.mapRow(rs, 0);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
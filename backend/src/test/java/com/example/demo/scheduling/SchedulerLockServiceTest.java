@@ -0,0 +1,92 @@
+package com.example.demo.scheduling;
+
+import com.example.demo.config.NodeIdentity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulerLockServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-01T03:30:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime NOW = LocalDateTime.now(CLOCK);
+
+    @Mock
+    private SchedulerLockRepository repository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SchedulerLockService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SchedulerLockService(repository, transactionManager, new NodeIdentity("node-b"), CLOCK);
+    }
+
+    @Test
+    void takesExpiredLockWithNextFencingTokenAndReleasesIt() {
+        SchedulerLock lock = new SchedulerLock("retention", null, "node-b", NOW, NOW.plusMinutes(35));
+        ReflectionTestUtils.setField(lock, "fencingToken", 7L);
+        when(repository.acquire("retention", "node-b", NOW.plusMinutes(35), NOW)).thenReturn(1);
+        when(repository.findById("retention")).thenReturn(Optional.of(lock));
+        AtomicBoolean ran = new AtomicBoolean();
+
+        boolean result = service.runExclusively("retention", Duration.ofMinutes(35), lease -> {
+            assertThat(lease.fencingToken()).isEqualTo(7L);
+            ran.set(true);
+        });
+
+        assertThat(result).isTrue();
+        assertThat(ran).isTrue();
+        verify(repository).release("retention", "node-b", 7L, NOW);
+    }
+
+    @Test
+    void skipsWhileAnotherNodeHoldsALiveLease() {
+        when(repository.acquire(eq("retention"), eq("node-b"), any(), any())).thenReturn(0);
+        when(repository.existsById("retention")).thenReturn(true);
+
+        boolean result = service.runExclusively("retention", Duration.ofMinutes(35), lease -> {
+            throw new AssertionError("must not run");
+        });
+
+        assertThat(result).isFalse();
+        verify(repository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void partitionSlotFollowsOrderOfLiveMembers() {
+        when(repository.acquire(eq("email-worker/node-b"), eq("node-b"), any(), any())).thenReturn(0);
+        when(repository.existsById("email-worker/node-b")).thenReturn(false);
+        when(repository.findLiveHolders("email-worker", NOW)).thenReturn(List.of("node-a", "node-b", "node-c"));
+
+        WorkPartition partition = service.partition("email-worker", Duration.ofSeconds(30));
+
+        assertThat(partition).isEqualTo(new WorkPartition(1, 3));
+        assertThat(partition.owns(4)).isTrue();
+        assertThat(partition.owns(5)).isFalse();
+        // Cached until a third of the TTL has passed.
+        assertThat(service.partition("email-worker", Duration.ofSeconds(30))).isSameAs(partition);
+        verify(repository).saveAndFlush(any(SchedulerLock.class));
+    }
+}
@@ -1,7 +1,10 @@
 import { reactive, ref, type Ref } from 'vue';
 import { requestJson } from './useApi';
 import { useTextFeedback } from './useFeedbackState';
-import type { AdminGroup, HelpdeskCategory } from '../types';
+import type { AdminGroup, AdminGroupMember, HelpdeskCategory, PageResponse } from '../types';
+
+const GROUP_PAGE_SIZE = 20;
+const GROUP_MEMBER_PAGE_SIZE = 100;
 
 type UseAdminManagementOptions = {
   isAdmin: Ref<boolean>;
@@ -15,17 +18,28 @@ export function useAdminManagement(options: UseAdminManagementOptions) {
   const { feedback: categoryFeedback, clearFeedback: clearCategoryFeedback } = useTextFeedback();
   const createCategoryName = ref('');
   const adminGroups = ref<AdminGroup[]>([]);
+  const adminGroupsPage = ref(0);
+  const adminGroupsTotalPages = ref(0);
+  const expandedGroupMembers = ref<Record<number, AdminGroupMember[]>>({});
   const loadingGroups = ref(false);
   const { feedback: groupsFeedback, clearFeedback: clearGroupsFeedback } = useTextFeedback();
   const createGroupName = ref('');
+  const createGroupParent = reactive<{ parentId: number | null }>({ parentId: null });
   const groupAssignForm = reactive<{ groupId: number | null; memberId: number | null }>({ groupId: null, memberId: null });
 
-  async function loadAdminGroups(): Promise<void> {
+  async function loadAdminGroups(page = adminGroupsPage.value): Promise<void> {
     if (!options.isAdmin.value) return;
     loadingGroups.value = true;
     groupsFeedback.value = '';
     try {
-      adminGroups.value = await requestJson<AdminGroup[]>('/api/admin/groups', { headers: options.authHeaders() }, '讀取群組失敗');
+      const result = await requestJson<PageResponse<AdminGroup>>(
+        `/api/admin/groups?page=${page}&size=${GROUP_PAGE_SIZE}`,
+        { headers: options.authHeaders() },
+        '讀取群組失敗'
+      );
+      adminGroups.value = result.items;
+      adminGroupsPage.value = result.page;
+      adminGroupsTotalPages.value = result.totalPages;
       if (adminGroups.value.length && !groupAssignForm.groupId) {
         groupAssignForm.groupId = adminGroups.value[0].id;
       }
@@ -36,6 +50,44 @@ export function useAdminManagement(options: UseAdminManagementOptions) {
     }
   }
 
+  async function changeAdminGroupsPage(page: number): Promise<void> {
+    if (page < 0 || (adminGroupsTotalPages.value && page >= adminGroupsTotalPages.value)) return;
+    expandedGroupMembers.value = {};
+    await loadAdminGroups(page);
+  }
+
+  async function loadGroupMembers(groupId: number): Promise<void> {
+    const result = await requestJson<PageResponse<AdminGroupMember>>(
+      `/api/admin/groups/${groupId}/members?size=${GROUP_MEMBER_PAGE_SIZE}`,
+      { headers: options.authHeaders() },
+      '讀取群組成員失敗'
+    );
+    expandedGroupMembers.value = { ...expandedGroupMembers.value, [groupId]: result.items };
+  }
+
+  async function toggleGroupMembers(groupId: number): Promise<void> {
+    if (!options.isAdmin.value) return;
+    if (expandedGroupMembers.value[groupId]) {
+      const next = { ...expandedGroupMembers.value };
+      delete next[groupId];
+      expandedGroupMembers.value = next;
+      return;
+    }
+    groupsFeedback.value = '';
+    try {
+      await loadGroupMembers(groupId);
+    } catch (e) {
+      groupsFeedback.value = e instanceof Error ? e.message : '讀取群組成員失敗';
+    }
+  }
+
+  async function refreshGroup(groupId: number): Promise<void> {
+    await loadAdminGroups();
+    if (expandedGroupMembers.value[groupId]) {
+      await loadGroupMembers(groupId);
+    }
+  }
+
   async function loadAdminHelpdeskCategories(): Promise<void> {
     if (!options.isAdmin.value) return;
     categoryFeedback.value = '';
@@ -131,28 +183,51 @@ export function useAdminManagement(options: UseAdminManagementOptions) {
         {
           method: 'POST',
           headers: { 'Content-Type': 'application/json', ...options.authHeaders() },
-          body: JSON.stringify({ name })
+          body: JSON.stringify({ name, parentId: createGroupParent.parentId })
         },
         '建立群組失敗'
       );
       createGroupName.value = '';
+      createGroupParent.parentId = null;
       await loadAdminGroups();
       await options.loadMyGroups();
+      await options.loadHelpdeskCategories();
     } catch (e) {
       groupsFeedback.value = e instanceof Error ? e.message : '建立群組失敗';
     }
   }
 
+  async function moveAdminGroup(groupId: number, parentId: number | null): Promise<void> {
+    if (!options.isAdmin.value) return;
+    groupsFeedback.value = '';
+    try {
+      await requestJson<AdminGroup>(
+        `/api/admin/groups/${groupId}/parent`,
+        {
+          method: 'PATCH',
+          headers: { 'Content-Type': 'application/json', ...options.authHeaders() },
+          body: JSON.stringify({ parentId })
+        },
+        '移動群組失敗'
+      );
+      await loadAdminGroups();
+      await options.loadHelpdeskCategories();
+    } catch (e) {
+      groupsFeedback.value = e instanceof Error ? e.message : '移動群組失敗';
+    }
+  }
+
   async function addMemberToGroup(): Promise<void> {
-    if (!options.isAdmin.value || !groupAssignForm.groupId || !groupAssignForm.memberId) return;
+    const { groupId, memberId } = groupAssignForm;
+    if (!options.isAdmin.value || !groupId || !memberId) return;
     groupsFeedback.value = '';
     try {
       await requestJson<AdminGroup>(
-        `/api/admin/groups/${groupAssignForm.groupId}/members/${groupAssignForm.memberId}`,
+        `/api/admin/groups/${groupId}/members/${memberId}`,
         { method: 'PATCH', headers: options.authHeaders() },
         '加入群組失敗'
       );
-      await loadAdminGroups();
+      await refreshGroup(groupId);
       await options.loadMyGroups();
     } catch (e) {
       groupsFeedback.value = e instanceof Error ? e.message : '加入群組失敗';
@@ -168,7 +243,7 @@ export function useAdminManagement(options: UseAdminManagementOptions) {
         { method: 'DELETE', headers: options.authHeaders() },
         '移出群組失敗'
       );
-      await loadAdminGroups();
+      await refreshGroup(groupId);
       await options.loadMyGroups();
     } catch (e) {
       groupsFeedback.value = e instanceof Error ? e.message : '移出群組失敗';
@@ -184,7 +259,7 @@ export function useAdminManagement(options: UseAdminManagementOptions) {
         { method: 'PATCH', headers: options.authHeaders() },
         '設定主管失敗'
       );
-      await loadAdminGroups();
+      await refreshGroup(groupId);
       await options.loadMyGroups();
     } catch (e) {
       groupsFeedback.value = e instanceof Error ? e.message : '設定主管失敗';
@@ -196,9 +271,13 @@ export function useAdminManagement(options: UseAdminManagementOptions) {
     clearCategoryFeedback();
     createCategoryName.value = '';
     adminGroups.value = [];
+    adminGroupsPage.value = 0;
+    adminGroupsTotalPages.value = 0;
+    expandedGroupMembers.value = {};
     loadingGroups.value = false;
     clearGroupsFeedback();
     createGroupName.value = '';
+    createGroupParent.parentId = null;
     groupAssignForm.groupId = null;
     groupAssignForm.memberId = null;
   }
@@ -208,16 +287,23 @@ export function useAdminManagement(options: UseAdminManagementOptions) {
     categoryFeedback,
     createCategoryName,
     adminGroups,
+    adminGroupsPage,
+    adminGroupsTotalPages,
+    expandedGroupMembers,
     loadingGroups,
     groupsFeedback,
     createGroupName,
+    createGroupParent,
     groupAssignForm,
     loadAdminGroups,
+    changeAdminGroupsPage,
+    toggleGroupMembers,
     loadAdminHelpdeskCategories,
     createHelpdeskCategory,
     updateHelpdeskCategory,
     deleteHelpdeskCategory,
     createAdminGroup,
+    moveAdminGroup,
     addMemberToGroup,
     removeMemberFromGroup,
     setGroupSupervisor,
@@ -1,6 +1,6 @@
 import { ref, type Ref } from 'vue';
 import { requestJson } from './useApi';
-import type { HelpdeskCategory, MyGroup } from '../types';
+import type { HelpdeskCategory, MyGroup, ReferenceData, ReferenceGroup } from '../types';
 
 type UseBaseDataOptions = {
   token: Ref<string>;
@@ -10,6 +10,7 @@ type UseBaseDataOptions = {
 export function useBaseData(options: UseBaseDataOptions) {
   const myGroups = ref<MyGroup[]>([]);
   const helpdeskCategories = ref<HelpdeskCategory[]>([]);
+  const referenceGroups = ref<ReferenceGroup[]>([]);
 
   async function loadMyGroups(): Promise<void> {
     if (!options.token.value) return;
@@ -20,27 +21,35 @@ export function useBaseData(options: UseBaseDataOptions) {
     }
   }
 
+  // The server answers with an ETag and no-cache, so repeat loads are revalidated by the browser and come
+  // back as 304 until categories or groups change. The full group list feeds pickers that must not depend on
+  // which page of the admin group list is showing.
   async function loadHelpdeskCategories(): Promise<void> {
     if (!options.token.value) return;
     try {
-      helpdeskCategories.value = await requestJson<HelpdeskCategory[]>(
-        '/api/helpdesk/categories',
+      const referenceData = await requestJson<ReferenceData>(
+        '/api/reference-data',
         { headers: options.authHeaders() },
         '讀取分類失敗'
       );
+      helpdeskCategories.value = referenceData.categories;
+      referenceGroups.value = referenceData.groups;
     } catch {
       helpdeskCategories.value = [];
+      referenceGroups.value = [];
     }
   }
 
   function clearBaseDataState(): void {
     myGroups.value = [];
     helpdeskCategories.value = [];
+    referenceGroups.value = [];
   }
 
   return {
     myGroups,
     helpdeskCategories,
+    referenceGroups,
     loadMyGroups,
     loadHelpdeskCategories,
     clearBaseDataState
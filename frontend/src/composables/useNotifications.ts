@@ -1,7 +1,17 @@
 import { ref, type ComputedRef, type Ref } from 'vue';
 import { requestJson } from './useApi';
 import { useTextFeedback } from './useFeedbackState';
-import type { DashboardTab, NotificationItem, NotificationListResponse, Ticket } from '../types';
+import type {
+  DashboardTab,
+  NotificationItem,
+  NotificationListResponse,
+  NotificationRealtimeEvent,
+  Ticket
+} from '../types';
+
+// Notifications are pushed over /user/queue/notifications; polling only repairs missed pushes.
+const NOTIFICATION_FALLBACK_POLL_MS = 120000;
+const NOTIFICATION_LIST_LIMIT = 50;
 
 type UseNotificationsOptions = {
   token: Ref<string>;
@@ -22,6 +32,7 @@ export function useNotifications(options: UseNotificationsOptions) {
   const notificationLoading = ref(false);
   const { feedback: notificationFeedback, clearFeedback: clearNotificationFeedback } = useTextFeedback();
   let notificationTimer: number | null = null;
+  let broadcastCursor = 0;
 
   async function loadNotifications(silent = false): Promise<void> {
     if (!options.token.value) return;
@@ -35,6 +46,9 @@ export function useNotifications(options: UseNotificationsOptions) {
       );
       notifications.value = data.notifications;
       unreadCount.value = data.unreadCount;
+      broadcastCursor = data.notifications
+        .filter((n) => n.source === 'BROADCAST' && n.read)
+        .reduce((max, n) => Math.max(max, n.id), broadcastCursor);
     } catch (e) {
       if (!silent) {
         notificationFeedback.value = e instanceof Error ? e.message : '讀取通知失敗';
@@ -44,10 +58,36 @@ export function useNotifications(options: UseNotificationsOptions) {
     }
   }
 
-  async function markNotificationRead(notificationId: number): Promise<void> {
+  function isSameNotification(a: NotificationItem, b: NotificationItem): boolean {
+    return a.id === b.id && a.source === b.source;
+  }
+
+  // Broadcasts share one read cursor per member: reading one also reads every older broadcast.
+  function applyBroadcastCursor(cursor: number): number {
+    if (cursor <= broadcastCursor) return 0;
+    broadcastCursor = cursor;
+    let newlyRead = 0;
+    for (const n of notifications.value) {
+      if (n.source === 'BROADCAST' && n.id <= cursor && !n.read) {
+        n.read = true;
+        newlyRead += 1;
+      }
+    }
+    return newlyRead;
+  }
+
+  async function markNotificationRead(item: NotificationItem): Promise<void> {
+    const url =
+      item.source === 'BROADCAST'
+        ? `/api/notifications/broadcasts/${item.id}/read`
+        : `/api/notifications/${item.id}/read`;
     try {
-      await fetch(`/api/notifications/${notificationId}/read`, { method: 'PATCH', headers: options.authHeaders() });
-      const target = notifications.value.find((n) => n.id === notificationId);
+      await fetch(url, { method: 'PATCH', headers: options.authHeaders() });
+      if (item.source === 'BROADCAST') {
+        unreadCount.value = Math.max(0, unreadCount.value - applyBroadcastCursor(item.id));
+        return;
+      }
+      const target = notifications.value.find((n) => isSameNotification(n, item));
       if (target && !target.read) {
         target.read = true;
         unreadCount.value = Math.max(0, unreadCount.value - 1);
@@ -62,17 +102,47 @@ export function useNotifications(options: UseNotificationsOptions) {
     try {
       await requestJson('/api/notifications/read-all', { method: 'PATCH', headers: options.authHeaders() }, '全部已讀失敗');
       notifications.value = notifications.value.map((n) => ({ ...n, read: true }));
+      for (const n of notifications.value) {
+        if (n.source === 'BROADCAST') broadcastCursor = Math.max(broadcastCursor, n.id);
+      }
       unreadCount.value = 0;
     } catch (e) {
       notificationFeedback.value = e instanceof Error ? e.message : '全部已讀失敗';
     }
   }
 
+  function applyRealtimeNotification(event: NotificationRealtimeEvent): void {
+    if (!options.token.value) return;
+    if (event.type === 'NOTIFICATION_CREATED' && event.notification) {
+      const created = event.notification;
+      if (notifications.value.some((n) => isSameNotification(n, created))) return;
+      notifications.value = [created, ...notifications.value].slice(0, NOTIFICATION_LIST_LIMIT);
+    } else if (event.type === 'NOTIFICATION_COALESCED' && event.notification) {
+      // Repeated events update the existing unread row in place and move it back to the top.
+      const updated = event.notification;
+      const rest = notifications.value.filter((n) => !isSameNotification(n, updated));
+      notifications.value = [updated, ...rest].slice(0, NOTIFICATION_LIST_LIMIT);
+    } else if (event.type === 'NOTIFICATION_READ' && event.notification) {
+      const readItem = event.notification;
+      const target = notifications.value.find((n) => isSameNotification(n, readItem));
+      if (target) {
+        if (target.read) return;
+        target.read = true;
+      }
+    } else if (event.type === 'NOTIFICATIONS_ALL_READ') {
+      notifications.value = notifications.value.map((n) => (n.source === 'DIRECT' ? { ...n, read: true } : n));
+    } else if (event.type === 'BROADCASTS_READ' && event.broadcastCursor !== null) {
+      if (event.broadcastCursor <= broadcastCursor) return;
+      applyBroadcastCursor(event.broadcastCursor);
+    }
+    unreadCount.value = Math.max(0, unreadCount.value + event.unreadDelta);
+  }
+
   function startNotificationPolling(): void {
     stopNotificationPolling();
     notificationTimer = window.setInterval(() => {
       void loadNotifications(true);
-    }, 15000);
+    }, NOTIFICATION_FALLBACK_POLL_MS);
   }
 
   function stopNotificationPolling(): void {
@@ -84,7 +154,7 @@ export function useNotifications(options: UseNotificationsOptions) {
 
   async function openNotification(item: NotificationItem): Promise<void> {
     if (!item.read) {
-      await markNotificationRead(item.id);
+      await markNotificationRead(item);
     }
     if (item.ticketId) {
       await options.loadTickets();
@@ -104,6 +174,7 @@ export function useNotifications(options: UseNotificationsOptions) {
   function clearNotificationState(): void {
     notifications.value = [];
     unreadCount.value = 0;
+    broadcastCursor = 0;
     notificationsOpen.value = false;
     clearNotificationFeedback();
   }
@@ -117,6 +188,7 @@ export function useNotifications(options: UseNotificationsOptions) {
     loadNotifications,
     markNotificationRead,
     markAllNotificationsRead,
+    applyRealtimeNotification,
     startNotificationPolling,
     stopNotificationPolling,
     openNotification,
@@ -1,5 +1,6 @@
 import { Client } from '@stomp/stompjs';
 import type { Ref } from 'vue';
+import type { NotificationRealtimeEvent } from '../types';
 
 type TicketRealtimeEvent = {
   type: string;
@@ -9,10 +10,11 @@ type TicketRealtimeEvent = {
 };
 
 type UseRealtimeTicketsOptions = {
+  token: Ref<string>;
   isAuthenticated: Ref<boolean>;
   currentMemberId: Ref<number | null>;
   loadTickets: () => Promise<void>;
-  loadNotifications: () => Promise<void>;
+  applyRealtimeNotification: (event: NotificationRealtimeEvent) => void;
   highlightTicket: (ticketId: number, kind: 'new' | 'jump', durationMs: number) => void;
 };
 
@@ -36,7 +38,7 @@ export function useRealtimeTickets(options: UseRealtimeTicketsOptions) {
       pendingTicketId = null;
       refreshTimer = null;
       try {
-        await Promise.all([options.loadTickets(), options.loadNotifications()]);
+        await options.loadTickets();
         if (highlightId) {
           options.highlightTicket(highlightId, 'jump', 3000);
         }
@@ -55,7 +57,21 @@ export function useRealtimeTickets(options: UseRealtimeTicketsOptions) {
       heartbeatOutgoing: 10000
     });
 
+    client.beforeConnect = () => {
+      if (client) {
+        client.connectHeaders = { Authorization: `Bearer ${options.token.value}` };
+      }
+    };
+
     client.onConnect = () => {
+      client?.subscribe('/user/queue/notifications', (message) => {
+        try {
+          options.applyRealtimeNotification(JSON.parse(message.body) as NotificationRealtimeEvent);
+        } catch {
+          // ignore malformed payload; fallback polling will resync
+        }
+      });
+
       client?.subscribe('/topic/tickets', (message) => {
         let payload: TicketRealtimeEvent | null = null;
         try {
@@ -130,6 +130,18 @@ export type HelpdeskCategory = {
   createdAt: string;
 };
 
+export type ReferenceGroup = {
+  id: number;
+  name: string;
+  parentId: number | null;
+};
+
+export type ReferenceData = {
+  version: number;
+  categories: HelpdeskCategory[];
+  groups: ReferenceGroup[];
+};
+
 export type AdminGroupMember = {
   memberId: number;
   employeeId: string;
@@ -142,15 +154,30 @@ export type AdminGroup = {
   id: number;
   name: string;
   createdAt: string;
-  members: AdminGroupMember[];
+  memberCount: number;
+  supervisorMemberId: number | null;
+  supervisorEmployeeId: string | null;
+  supervisorName: string | null;
+  parentId: number | null;
+  parentName: string | null;
+};
+
+export type PageResponse<T> = {
+  items: T[];
+  page: number;
+  size: number;
+  totalElements: number;
+  totalPages: number;
 };
 
 export type NotificationItem = {
   id: number;
+  source: 'DIRECT' | 'BROADCAST';
   type: 'TICKET_CREATED' | 'TICKET_REPLY' | 'TICKET_STATUS';
   message: string;
   ticketId: number | null;
   read: boolean;
+  eventCount: number;
   createdAt: string;
 };
 
@@ -159,6 +186,19 @@ export type NotificationListResponse = {
   unreadCount: number;
 };
 
+export type NotificationRealtimeEvent = {
+  type:
+    | 'NOTIFICATION_CREATED'
+    | 'NOTIFICATION_COALESCED'
+    | 'NOTIFICATION_READ'
+    | 'NOTIFICATIONS_ALL_READ'
+    | 'BROADCASTS_READ';
+  notification: NotificationItem | null;
+  unreadDelta: number;
+  broadcastCursor: number | null;
+  at: string;
+};
+
 export type AuditLogItem = {
   id: number;
   actorMemberId: number | null;